@@ -1360,5 +1360,24 @@ public interface Player extends HumanEntity, Conversable, CommandSender, Offline
      * @return the integer ping of the player
      */
     int getPing();
+
+    /**
+     * Gets the bounding box the player had at the given time, from the history of their recent moves.
+     *
+     * @param time the time in {@link System#currentTimeMillis()} milliseconds
+     * @param box an array of at least 6 elements, filled with minX, minY, minZ, maxX, maxY and maxZ
+     * @return false if the history does not reach back to the given time, in which case the box is unchanged
+     */
+    boolean getHistoricalBoundingBox(long time, double[] box);
+
+    /**
+     * Gets the last bounding box the player had during or before the given server tick, from the history
+     * of their recent moves.
+     *
+     * @param tick the server tick
+     * @param box an array of at least 6 elements, filled with minX, minY, minZ, maxX, maxY and maxZ
+     * @return false if the history does not reach back to the given tick, in which case the box is unchanged
+     */
+    boolean getHistoricalBoundingBoxAtTick(int tick, double[] box);
     // AetherSpigot end
 }
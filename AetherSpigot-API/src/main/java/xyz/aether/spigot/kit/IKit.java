@@ -0,0 +1,15 @@
+package xyz.aether.spigot.kit;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Collection;
+
+public interface IKit {
+
+    Kit compile(ItemStack[] contents, ItemStack[] armor);
+
+    void apply(Player player, Kit kit);
+
+    void apply(Collection<? extends Player> players, Kit kit);
+}
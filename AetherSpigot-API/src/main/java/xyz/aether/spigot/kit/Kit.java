@@ -0,0 +1,20 @@
+package xyz.aether.spigot.kit;
+
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * An inventory layout compiled once by {@link KitAPI#compile(ItemStack[], ItemStack[])}, which can then be
+ * given to any number of players. A kit never changes after it is compiled.
+ */
+public interface Kit {
+
+    /**
+     * @return copies of the 36 main inventory slots, with {@code null} for empty slots
+     */
+    ItemStack[] getContents();
+
+    /**
+     * @return copies of the 4 armor slots, boots first, with {@code null} for empty slots
+     */
+    ItemStack[] getArmorContents();
+}
@@ -0,0 +1,35 @@
+package xyz.aether.spigot.kit;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Collection;
+
+public class KitAPI {
+
+    private static IKit delegate;
+
+    public static void registerDelegate(IKit delegate) {
+        KitAPI.delegate = delegate;
+    }
+
+    /**
+     * Compiles a kit from the given main inventory and armor contents. Arrays shorter than the inventory
+     * leave the remaining slots empty.
+     */
+    public static Kit compile(ItemStack[] contents, ItemStack[] armor) {
+        return delegate.compile(contents, armor);
+    }
+
+    /**
+     * Replaces the player's main inventory and armor with the kit, and sends the whole inventory in
+     * a single window items packet. Must be called from the main thread.
+     */
+    public static void apply(Player player, Kit kit) {
+        delegate.apply(player, kit);
+    }
+
+    public static void apply(Collection<? extends Player> players, Kit kit) {
+        delegate.apply(players, kit);
+    }
+}
@@ -1,5 +1,6 @@
 package xyz.aether.spigot.knockback;
 
+import java.util.Collection;
 import java.util.Set;
 import java.util.UUID;
 
@@ -7,6 +8,8 @@ public interface IKnockback {
 
     boolean setPlayerProfile(UUID playerUUID, String profileName);
 
+    int setPlayersProfile(Collection<UUID> playerUUIDs, String profileName);
+
     String getActiveProfileName();
 
     Set<String> getAvailableProfileNames();
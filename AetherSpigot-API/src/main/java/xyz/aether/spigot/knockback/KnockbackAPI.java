@@ -1,5 +1,6 @@
 package xyz.aether.spigot.knockback;
 
+import java.util.Collection;
 import java.util.Set;
 import java.util.UUID;
 
@@ -21,4 +22,13 @@ public class KnockbackAPI {
     public static boolean setPlayerProfile(UUID playerUUID, String profileName) {
         return delegate.setPlayerProfile(playerUUID, profileName);
     }
+
+    /**
+     * Sets the knockback profile of every online player in the collection, like all players of a match.
+     *
+     * @return the number of players the profile was set for, 0 if the profile doesn't exist
+     */
+    public static int setPlayersProfile(Collection<UUID> playerUUIDs, String profileName) {
+        return delegate.setPlayersProfile(playerUUIDs, profileName);
+    }
 }
\ No newline at end of file
@@ -33,6 +33,11 @@ public class WorldTimingsHandler {
     public final Timing syncChunkLoadTileEntitiesTimer;
     public final Timing syncChunkLoadTileTicksTimer;
     public final Timing syncChunkLoadPostTimer;
+    public final Timing chunkGenerationFinishTimer; // AetherSpigot
+    public final Timing entityQuery; // AetherSpigot
+    public final Timing pathfinding; // AetherSpigot
+    public final Timing pathfindingAsync; // AetherSpigot
+    public final Timing hoppers; // AetherSpigot
 
     public WorldTimingsHandler(World server) {
         String name = server.worldData.getName() +" - ";
@@ -61,6 +66,11 @@ public class WorldTimingsHandler {
         syncChunkLoadTileEntitiesTimer = Timings.ofSafe(name + "chunkLoad - TileEntities");
         syncChunkLoadTileTicksTimer = Timings.ofSafe(name + "chunkLoad - TileTicks");
         syncChunkLoadPostTimer = Timings.ofSafe(name + "chunkLoad - Post");
+        chunkGenerationFinishTimer = Timings.ofSafe(name + "chunkGeneration - Finish"); // AetherSpigot
+        entityQuery = Timings.ofSafe(name + "Entity Query"); // AetherSpigot
+        pathfinding = Timings.ofSafe(name + "Pathfinding"); // AetherSpigot
+        pathfindingAsync = Timings.ofSafe(name + "Pathfinding - Async"); // AetherSpigot
+        hoppers = Timings.ofSafe(name + "Hoppers"); // AetherSpigot
 
         tracker = Timings.ofSafe(name + "tracker");
         doTick = Timings.ofSafe(name + "doTick");
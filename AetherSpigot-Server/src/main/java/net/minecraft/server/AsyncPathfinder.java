@@ -0,0 +1,60 @@
+package net.minecraft.server;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import xyz.aether.spigot.config.AetherConfig;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs path searches for {@link NavigationAbstract} on worker threads.
+ * <p>
+ * The settings of the requesting navigation and everything the search reads from the entity are copied
+ * on the main thread when the search is submitted, so a worker never reads anything the main thread
+ * changes. Every worker keeps its own {@link Pathfinder} per pathfinder type, and copies the submitted
+ * settings into it before each search. The pool is only started once a world enables asynchronous
+ * pathfinding.
+ */
+final class AsyncPathfinder {
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(Math.max(1, AetherConfig.pathfindingThreads), new ThreadFactoryBuilder().setDaemon(true).setNameFormat("AetherSpigot Pathfinder Thread - #%d").build());
+    private static final ThreadLocal<Map<Class<?>, Pathfinder>> PATHFINDERS = new ThreadLocal<Map<Class<?>, Pathfinder>>() {
+        @Override
+        protected Map<Class<?>, Pathfinder> initialValue() {
+            return new IdentityHashMap<Class<?>, Pathfinder>();
+        }
+    };
+
+    private AsyncPathfinder() {}
+
+    static Future<PathEntity> submit(PathfinderAbstract pathfinderabstract, final IBlockAccess iblockaccess, Entity entity, final double d0, final double d1, final double d2, final float f) {
+        final PathfinderAbstract settings = pathfinderabstract.copy();
+        final PathfinderAbstract.EntityState state = new PathfinderAbstract.EntityState(entity);
+
+        return EXECUTOR.submit(new Callable<PathEntity>() {
+            @Override
+            public PathEntity call() throws Exception {
+                Pathfinder pathfinder = getPathfinder(settings);
+
+                return pathfinder.a(iblockaccess, state, d0, d1, d2, f);
+            }
+        });
+    }
+
+    private static Pathfinder getPathfinder(PathfinderAbstract settings) {
+        Map<Class<?>, Pathfinder> pathfinders = PATHFINDERS.get();
+        Pathfinder pathfinder = pathfinders.get(settings.getClass());
+
+        if (pathfinder == null) {
+            pathfinder = new Pathfinder(settings.copy());
+            pathfinders.put(settings.getClass(), pathfinder);
+        }
+
+        pathfinder.getPathfinder().copySettings(settings);
+        return pathfinder;
+    }
+}
@@ -267,6 +267,67 @@ public class AxisAlignedBB {
         }
     }
 
+    // AetherSpigot start
+    /**
+     * Same as {@link #a(Vec3D, Vec3D)} on this box grown by {@code grow} on every side, for a segment given by
+     * its ends, but without allocating. The arithmetic is done in the same order, so the results are identical.
+     *
+     * @return the squared distance from the start of the segment to where it enters the box, or -1 if it misses
+     */
+    public double sweep(double grow, double x0, double y0, double z0, double x1, double y1, double z1) {
+        double minX = this.a - grow;
+        double minY = this.b - grow;
+        double minZ = this.c - grow;
+        double maxX = this.d + grow;
+        double maxY = this.e + grow;
+        double maxZ = this.f + grow;
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+        double dz = z1 - z0;
+        double best = -1.0D;
+
+        if (dx * dx >= 1.0000000116860974E-7D) {
+            best = closest(best, (minX - x0) / dx, 0, x0, y0, z0, dx, dy, dz, minX, minY, minZ, maxX, maxY, maxZ);
+            best = closest(best, (maxX - x0) / dx, 0, x0, y0, z0, dx, dy, dz, minX, minY, minZ, maxX, maxY, maxZ);
+        }
+
+        if (dy * dy >= 1.0000000116860974E-7D) {
+            best = closest(best, (minY - y0) / dy, 1, x0, y0, z0, dx, dy, dz, minX, minY, minZ, maxX, maxY, maxZ);
+            best = closest(best, (maxY - y0) / dy, 1, x0, y0, z0, dx, dy, dz, minX, minY, minZ, maxX, maxY, maxZ);
+        }
+
+        if (dz * dz >= 1.0000000116860974E-7D) {
+            best = closest(best, (minZ - z0) / dz, 2, x0, y0, z0, dx, dy, dz, minX, minY, minZ, maxX, maxY, maxZ);
+            best = closest(best, (maxZ - z0) / dz, 2, x0, y0, z0, dx, dy, dz, minX, minY, minZ, maxX, maxY, maxZ);
+        }
+
+        return best;
+    }
+
+    /**
+     * Tests the point {@code t} along the segment, on the plane of a face crossing the given axis, against the
+     * two other axes of the box, like the face checks of {@link #a(Vec3D, Vec3D)}.
+     */
+    private static double closest(double best, double t, int axis, double x0, double y0, double z0, double dx, double dy, double dz,
+                                  double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        if (!(t >= 0.0D && t <= 1.0D)) {
+            return best;
+        }
+
+        double x = x0 + dx * t;
+        double y = y0 + dy * t;
+        double z = z0 + dz * t;
+
+        if (axis != 0 && !(x >= minX && x <= maxX) || axis != 1 && !(y >= minY && y <= maxY) || axis != 2 && !(z >= minZ && z <= maxZ)) {
+            return best;
+        }
+
+        double distance = (x - x0) * (x - x0) + (y - y0) * (y - y0) + (z - z0) * (z - z0);
+
+        return best < 0.0D || distance < best ? distance : best;
+    }
+    // AetherSpigot end
+
     private boolean b(Vec3D vec3d) {
         return vec3d == null ? false : vec3d.b >= this.b && vec3d.b <= this.e && vec3d.c >= this.c && vec3d.c <= this.f;
     }
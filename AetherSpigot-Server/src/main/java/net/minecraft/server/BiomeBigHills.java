@@ -58,7 +58,7 @@ public class BiomeBigHills extends BiomeBase {
 
     }
 
-    public void a(World world, Random random, ChunkSnapshot chunksnapshot, int i, int j, double d0) {
+    public synchronized void a(World world, Random random, ChunkSnapshot chunksnapshot, int i, int j, double d0) { // AetherSpigot - surface blocks are staged in fields, terrain may be generated on several threads
         this.ak = Blocks.GRASS.getBlockData();
         this.al = Blocks.DIRT.getBlockData();
         if ((d0 < -1.0D || d0 > 2.0D) && this.aI == this.aH) {
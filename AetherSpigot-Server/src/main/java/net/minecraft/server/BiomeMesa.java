@@ -42,7 +42,7 @@ public class BiomeMesa extends BiomeBase {
         super.a(world, random, blockposition);
     }
 
-    public void a(World world, Random random, ChunkSnapshot chunksnapshot, int i, int j, double d0) {
+    public synchronized void a(World world, Random random, ChunkSnapshot chunksnapshot, int i, int j, double d0) { // AetherSpigot - lazily seeded noise, terrain may be generated on several threads
         if (this.aD == null || this.aE != world.getSeed()) {
             this.a(world.getSeed());
         }
@@ -65,7 +65,7 @@ public class BiomeTaiga extends BiomeBase {
         super.a(world, random, blockposition);
     }
 
-    public void a(World world, Random random, ChunkSnapshot chunksnapshot, int i, int j, double d0) {
+    public synchronized void a(World world, Random random, ChunkSnapshot chunksnapshot, int i, int j, double d0) { // AetherSpigot - surface blocks are staged in fields, terrain may be generated on several threads
         if (this.aI == 1 || this.aI == 2) {
             this.ak = Blocks.GRASS.getBlockData();
             this.al = Blocks.DIRT.getBlockData();
@@ -81,6 +81,13 @@ public class Block {
     protected double maxX;
     protected double maxY;
     protected double maxZ;
+    // AetherSpigot start - precomputed collision shape, see computeCollisionShape()
+    public static final int COLLISION_DYNAMIC = 0;
+    public static final int COLLISION_EMPTY = 1;
+    public static final int COLLISION_CUBE = 2;
+    public static final int COLLISION_BOX = 3;
+    private int collisionType = COLLISION_DYNAMIC;
+    // AetherSpigot end
     public Block.StepSound stepSound;
     public float I;
     protected final Material material;
@@ -293,6 +300,58 @@ public class Block {
         return new AxisAlignedBB((double) blockposition.getX() + this.minX, (double) blockposition.getY() + this.minY, (double) blockposition.getZ() + this.minZ, (double) blockposition.getX() + this.maxX, (double) blockposition.getY() + this.maxY, (double) blockposition.getZ() + this.maxZ);
     }
 
+    // AetherSpigot start
+    public int getCollisionType() {
+        return this.collisionType;
+    }
+
+    /**
+     * Adds the collision box of a block with a precomputed shape to the list if it intersects the
+     * given box, without allocating for blocks that miss it. Only valid for {@link #COLLISION_CUBE}
+     * and {@link #COLLISION_BOX}.
+     */
+    public void addCollisionShape(int x, int y, int z, AxisAlignedBB axisalignedbb, List<AxisAlignedBB> list) {
+        double minX = x + this.minX;
+        double minY = y + this.minY;
+        double minZ = z + this.minZ;
+        double maxX = x + this.maxX;
+        double maxY = y + this.maxY;
+        double maxZ = z + this.maxZ;
+
+        if (maxX > axisalignedbb.a && minX < axisalignedbb.d && maxY > axisalignedbb.b && minY < axisalignedbb.e && maxZ > axisalignedbb.c && minZ < axisalignedbb.f) {
+            list.add(new AxisAlignedBB(minX, minY, minZ, maxX, maxY, maxZ));
+        }
+    }
+
+    /**
+     * A block has a fixed collision shape when it keeps the default collision methods and never
+     * changes its bounds after construction, which is the case for every block that does not
+     * override updateShape or the item render bounds.
+     */
+    private void computeCollisionShape() {
+        if (this instanceof BlockAir) {
+            this.collisionType = COLLISION_EMPTY;
+        } else if (this.overrides("a", World.class, BlockPosition.class, IBlockData.class, AxisAlignedBB.class, List.class, Entity.class)
+                || this.overrides("a", World.class, BlockPosition.class, IBlockData.class)
+                || this.overrides("updateShape", IBlockAccess.class, BlockPosition.class)
+                || this.overrides("j")) {
+            this.collisionType = COLLISION_DYNAMIC;
+        } else if (this.minX == 0.0D && this.minY == 0.0D && this.minZ == 0.0D && this.maxX == 1.0D && this.maxY == 1.0D && this.maxZ == 1.0D) {
+            this.collisionType = COLLISION_CUBE;
+        } else {
+            this.collisionType = COLLISION_BOX;
+        }
+    }
+
+    private boolean overrides(String name, Class<?>... parameterTypes) {
+        try {
+            return this.getClass().getMethod(name, parameterTypes).getDeclaringClass() != Block.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+    // AetherSpigot end
+
     public boolean c() {
         return true;
     }
@@ -1042,6 +1101,8 @@ public class Block {
 
                 Block.d.a(iblockdata, i);
             }
+
+            block13.computeCollisionShape(); // AetherSpigot
         }
 
     }
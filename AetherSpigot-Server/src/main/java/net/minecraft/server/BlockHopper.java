@@ -90,6 +90,13 @@ public class BlockHopper extends BlockContainer {
 
     public void doPhysics(World world, BlockPosition blockposition, IBlockData iblockdata, Block block) {
         this.e(world, blockposition, iblockdata);
+        // AetherSpigot start
+        TileEntity tileentity = world.getTileEntity(blockposition);
+
+        if (tileentity instanceof TileEntityHopper) {
+            ((TileEntityHopper) tileentity).onNeighborChange();
+        }
+        // AetherSpigot end
     }
 
     private void e(World world, BlockPosition blockposition, IBlockData iblockdata) {
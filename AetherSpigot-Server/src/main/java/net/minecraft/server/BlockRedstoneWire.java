@@ -19,7 +19,6 @@ public class BlockRedstoneWire extends Block {
     public static final BlockStateInteger POWER = BlockStateInteger.of("power", 0, 15);
     private boolean Q = true;
     private final Set<BlockPosition> R = Sets.newHashSet();
-
     public BlockRedstoneWire() {
         super(Material.ORIENTABLE);
         this.j(this.blockStateList.getBlockData().set(BlockRedstoneWire.NORTH, BlockRedstoneWire.EnumRedstoneWireConnection.NONE).set(BlockRedstoneWire.EAST, BlockRedstoneWire.EnumRedstoneWireConnection.NONE).set(BlockRedstoneWire.SOUTH, BlockRedstoneWire.EnumRedstoneWireConnection.NONE).set(BlockRedstoneWire.WEST, BlockRedstoneWire.EnumRedstoneWireConnection.NONE).set(BlockRedstoneWire.POWER, Integer.valueOf(0)));
@@ -64,10 +63,16 @@ public class BlockRedstoneWire extends Block {
     }
 
     private IBlockData e(World world, BlockPosition blockposition, IBlockData iblockdata) {
+        // AetherSpigot start
+        if (world.paperSpigotConfig.redstoneWireAlgorithm == org.github.paperspigot.PaperSpigotWorldConfig.RedstoneWireAlgorithm.BREADTH_FIRST && world.getType(blockposition) == iblockdata) {
+            return RedstoneWireNetwork.update(world, this, blockposition, iblockdata);
+        }
+        // AetherSpigot end
         iblockdata = this.a(world, blockposition, blockposition, iblockdata);
         ArrayList arraylist = Lists.newArrayList(this.R);
 
         this.R.clear();
+        world.redstoneBlockUpdates += arraylist.size() * 6; // AetherSpigot
         Iterator iterator = arraylist.iterator();
 
         while (iterator.hasNext()) {
@@ -136,6 +141,7 @@ public class BlockRedstoneWire extends Block {
         // CraftBukkit end
 
         if (i != j) {
+            ++world.redstonePowerChanges; // AetherSpigot
             iblockdata = iblockdata.set(BlockRedstoneWire.POWER, Integer.valueOf(j));
             if (world.getType(blockposition) == iblockdata1) {
                 world.setTypeAndData(blockposition, iblockdata, 2);
@@ -265,6 +271,19 @@ public class BlockRedstoneWire extends Block {
         }
     }
 
+    // AetherSpigot start
+    /**
+     * Returns the power the position receives from anything but redstone wire.
+     */
+    int getSourcePower(World world, BlockPosition blockposition) {
+        this.Q = false;
+        int i = world.A(blockposition);
+
+        this.Q = true;
+        return i;
+    }
+    // AetherSpigot end
+
     public int getPower(World world, BlockPosition blockposition, int i) {
         if (world.getType(blockposition).getBlock() != this) {
             return i;
@@ -609,6 +609,7 @@ public class Chunk {
             }
 
             chunksection.setType(i, j & 15, k, iblockdata);
+            ++this.world.blockChanges; // AetherSpigot
             if (block1 != block) {
                 if (!this.world.isClientSide) {
                     block1.remove(this.world, blockposition, iblockdata1);
@@ -754,6 +755,7 @@ public class Chunk {
         entity.af = k;
         entity.ag = this.locZ;
         this.entitySlices[k].add(entity);
+        this.world.entityIndex.add(entity); // AetherSpigot
         // PaperSpigot start - update counts
         if (entity instanceof EntityItem) {
             itemCounts[k]++;
@@ -774,6 +776,7 @@ public class Chunk {
             if ( creatureType.a().isAssignableFrom( entity.getClass() ) )
             {
                 this.entityCount.adjustOrPutValue( creatureType.a(), 1, 1 );
+                if (this.h) this.adjustCreatureCount(creatureType, 1); // AetherSpigot
             }
         }
         // Spigot end
@@ -793,6 +796,7 @@ public class Chunk {
         }
 
         if (!this.entitySlices[i].remove(entity)) return; // PandaSpigot
+        this.world.entityIndex.remove(entity); // AetherSpigot
         // PaperSpigot start - update counts
         if (entity instanceof EntityItem) {
             itemCounts[i]--;
@@ -813,6 +817,7 @@ public class Chunk {
             if ( creatureType.a().isAssignableFrom( entity.getClass() ) )
             {
                 this.entityCount.adjustValue( creatureType.a(), -1 );
+                if (this.h) this.adjustCreatureCount(creatureType, -1); // AetherSpigot
             }
         }
         // Spigot end
@@ -908,6 +913,8 @@ public class Chunk {
     }
 
     public void addEntities() {
+        if (!this.h) this.adjustCreatureCounts(1); // AetherSpigot
+        this.world.invalidateExplosionBlocks(this.locX, this.locZ); // AetherSpigot
         this.h = true;
         this.world.a(this.tileEntities.values());
 
@@ -925,7 +932,23 @@ public class Chunk {
 
     }
 
+    // AetherSpigot start - the world keeps the creature counts of its loaded chunks
+    private void adjustCreatureCounts(int sign) {
+        for (EnumCreatureType creatureType : EnumCreatureType.values()) {
+            this.adjustCreatureCount(creatureType, sign * this.entityCount.get(creatureType.a()));
+        }
+    }
+
+    private void adjustCreatureCount(EnumCreatureType creatureType, int delta) {
+        this.world.creatureCounts[creatureType.ordinal()] += delta;
+        if (this.world.playerMobCaps != null) {
+            this.world.playerMobCaps.adjust(this, creatureType, delta);
+        }
+    }
+    // AetherSpigot end
+
     public void removeEntities() {
+        if (this.h) this.adjustCreatureCounts(-1); // AetherSpigot
         this.h = false;
         Iterator iterator = this.tileEntities.values().iterator();
 
@@ -953,6 +976,7 @@ public class Chunk {
             java.util.Iterator<Entity> iter = newList.iterator();
             while (iter.hasNext()) {
                 Entity entity = iter.next();
+                this.world.entityIndex.remove(entity); // AetherSpigot - unloaded chunks are not searched
                 // Spigot Start
                 if ( entity instanceof IInventory )
                 {
@@ -3,7 +3,7 @@ package net.minecraft.server;
 import java.util.List;
 import java.util.Random;
 
-public class ChunkProviderGenerate implements IChunkProvider {
+public class ChunkProviderGenerate implements IAsyncChunkProvider { // AetherSpigot
 
     private Random h;
     private NoiseGeneratorOctaves i;
@@ -33,8 +33,27 @@ public class ChunkProviderGenerate implements IChunkProvider {
     double[] e;
     double[] f;
     double[] g;
+    // AetherSpigot start - terrain generation workers
+    private final long seed;
+    private final String settings;
+    private WorldChunkManager worldChunkManager; // only set on worker copies
+    private final ThreadLocal<ChunkProviderGenerate> workers = new ThreadLocal<ChunkProviderGenerate>() {
+        @Override
+        protected ChunkProviderGenerate initialValue() {
+            ChunkProviderGenerate worker = new ChunkProviderGenerate(m, seed, n, settings);
+
+            // GenLayers keep per-call state, so every worker needs its own chain
+            worker.worldChunkManager = new WorldChunkManager(m);
+            return worker;
+        }
+    };
+    // AetherSpigot end
 
     public ChunkProviderGenerate(World world, long i, boolean flag, String s) {
+        // AetherSpigot start
+        this.seed = i;
+        this.settings = s;
+        // AetherSpigot end
         this.s = Blocks.WATER;
         this.t = new double[256];
         this.u = new WorldGenCaves();
@@ -75,7 +94,7 @@ public class ChunkProviderGenerate implements IChunkProvider {
     }
 
     public void a(int i, int j, ChunkSnapshot chunksnapshot) {
-        this.B = this.m.getWorldChunkManager().getBiomes(this.B, i * 4 - 2, j * 4 - 2, 10, 10);
+        this.B = this.getWorldChunkManager().getBiomes(this.B, i * 4 - 2, j * 4 - 2, 10, 10); // AetherSpigot
         this.a(i * 4, 0, j * 4);
 
         for (int k = 0; k < 4; ++k) {
@@ -149,13 +168,44 @@ public class ChunkProviderGenerate implements IChunkProvider {
 
     }
 
-    public Chunk getOrCreateChunk(int i, int j) {
+    // AetherSpigot start - split generation into a worker and a main thread stage
+    private WorldChunkManager getWorldChunkManager() {
+        return this.worldChunkManager != null ? this.worldChunkManager : this.m.getWorldChunkManager();
+    }
+
+    @Override
+    public IAsyncChunkProvider.Terrain generateTerrain(int i, int j) {
+        return this.workers.get().createTerrain(i, j);
+    }
+
+    private IAsyncChunkProvider.Terrain createTerrain(int i, int j) {
         this.h.setSeed((long) i * 341873128712L + (long) j * 132897987541L);
         ChunkSnapshot chunksnapshot = new ChunkSnapshot();
 
         this.a(i, j, chunksnapshot);
-        this.B = this.m.getWorldChunkManager().getBiomeBlock(this.B, i * 16, j * 16, 16, 16);
+        if (this.worldChunkManager != null) {
+            // Skip the BiomeCache, as nothing ever trims the caches of worker copies
+            this.B = this.worldChunkManager.a(this.B, i * 16, j * 16, 16, 16, false);
+        } else {
+            this.B = this.m.getWorldChunkManager().getBiomeBlock(this.B, i * 16, j * 16, 16, 16);
+        }
         this.a(i, j, chunksnapshot, this.B);
+
+        byte[] abyte = new byte[256];
+
+        for (int k = 0; k < abyte.length; ++k) {
+            abyte[k] = (byte) this.B[k].id;
+        }
+
+        return new IAsyncChunkProvider.Terrain(i, j, chunksnapshot, abyte);
+    }
+
+    @Override
+    public Chunk finishChunk(IAsyncChunkProvider.Terrain terrain) {
+        int i = terrain.x;
+        int j = terrain.z;
+        ChunkSnapshot chunksnapshot = terrain.snapshot;
+
         if (this.r.r && this.m.paperSpigotConfig.generateCaves) { // PaperSpigot
             this.u.a(this, this.m, i, j, chunksnapshot);
         }
@@ -185,16 +235,17 @@ public class ChunkProviderGenerate implements IChunkProvider {
         }
 
         Chunk chunk = new Chunk(this.m, chunksnapshot, i, j);
-        byte[] abyte = chunk.getBiomeIndex();
-
-        for (int k = 0; k < abyte.length; ++k) {
-            abyte[k] = (byte) this.B[k].id;
-        }
+        System.arraycopy(terrain.biomes, 0, chunk.getBiomeIndex(), 0, terrain.biomes.length);
 
         chunk.initLighting();
         return chunk;
     }
 
+    public Chunk getOrCreateChunk(int i, int j) {
+        return this.finishChunk(this.createTerrain(i, j));
+    }
+    // AetherSpigot end
+
     private void a(int i, int j, int k) {
         this.g = this.b.a(this.g, i, k, 5, 5, (double) this.r.e, (double) this.r.f, (double) this.r.g);
         float f = this.r.a;
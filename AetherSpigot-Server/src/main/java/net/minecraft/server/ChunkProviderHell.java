@@ -3,7 +3,7 @@ package net.minecraft.server;
 import java.util.List;
 import java.util.Random;
 
-public class ChunkProviderHell implements IChunkProvider {
+public class ChunkProviderHell implements IAsyncChunkProvider { // AetherSpigot
 
     private final World h;
     private final boolean i;
@@ -34,8 +34,18 @@ public class ChunkProviderHell implements IChunkProvider {
     double[] e;
     double[] f;
     double[] g;
+    // AetherSpigot start - terrain generation workers
+    private final long seed;
+    private final ThreadLocal<ChunkProviderHell> workers = new ThreadLocal<ChunkProviderHell>() {
+        @Override
+        protected ChunkProviderHell initialValue() {
+            return new ChunkProviderHell(h, i, seed);
+        }
+    };
+    // AetherSpigot end
 
     public ChunkProviderHell(World world, boolean flag, long i) {
+        this.seed = i; // AetherSpigot
         this.w = new WorldGenMinable(Blocks.QUARTZ_ORE.getBlockData(), 14, BlockPredicate.a(Blocks.NETHERRACK));
         this.x = new WorldGenHellLava(Blocks.FLOWING_LAVA, true);
         this.y = new WorldGenHellLava(Blocks.FLOWING_LAVA, false);
@@ -195,12 +205,32 @@ public class ChunkProviderHell implements IChunkProvider {
 
     }
 
-    public Chunk getOrCreateChunk(int i, int j) {
+    // AetherSpigot start - split generation into a worker and a main thread stage
+    @Override
+    public IAsyncChunkProvider.Terrain generateTerrain(int i, int j) {
+        return this.workers.get().createTerrain(i, j);
+    }
+
+    private IAsyncChunkProvider.Terrain createTerrain(int i, int j) {
         this.j.setSeed((long) i * 341873128712L + (long) j * 132897987541L);
         ChunkSnapshot chunksnapshot = new ChunkSnapshot();
 
         this.a(i, j, chunksnapshot);
         this.b(i, j, chunksnapshot);
+        return new IAsyncChunkProvider.Terrain(i, j, chunksnapshot, null);
+    }
+
+    public Chunk getOrCreateChunk(int i, int j) {
+        return this.finishChunk(this.createTerrain(i, j));
+    }
+
+    @Override
+    public Chunk finishChunk(IAsyncChunkProvider.Terrain terrain) {
+        int i = terrain.x;
+        int j = terrain.z;
+        ChunkSnapshot chunksnapshot = terrain.snapshot;
+        // AetherSpigot end
+
         if (this.h.paperSpigotConfig.generateCaves) this.C.a(this, this.h, i, j, chunksnapshot); // PaperSpigot
         if (this.i && this.h.paperSpigotConfig.generateFortress) { // PaperSpigot
             this.B.a(this, this.h, i, j, chunksnapshot);
@@ -4,7 +4,9 @@ import it.unimi.dsi.fastutil.longs.*;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bukkit.Server;
+import org.bukkit.craftbukkit.chunkio.ChunkGenerationExecutor;
 import org.bukkit.craftbukkit.chunkio.ChunkIOExecutor;
+import org.bukkit.craftbukkit.generator.NormalChunkGenerator;
 import org.bukkit.craftbukkit.util.LongHash;
 import org.bukkit.event.world.ChunkUnloadEvent;
 
@@ -147,6 +149,13 @@ public class ChunkProviderServer implements IChunkProvider {
                 chunk = ChunkIOExecutor.syncChunkLoad(world, loader, this, i, j);
             }
         } else if (chunk == null) {
+            // AetherSpigot start - generate the terrain of new chunks on worker threads
+            IAsyncChunkProvider asyncProvider = runnable != null ? this.getAsyncChunkProvider() : null;
+            if (asyncProvider != null) {
+                ChunkGenerationExecutor.queueGeneration(world, asyncProvider, this, i, j, runnable);
+                return null;
+            }
+            // AetherSpigot end
             chunk = originalGetChunkAt(i, j);
         }
 
@@ -159,6 +168,17 @@ public class ChunkProviderServer implements IChunkProvider {
         return chunk;
     }
 
+    // AetherSpigot start
+    private IAsyncChunkProvider getAsyncChunkProvider() {
+        if (!this.world.aetherWorldConfig.asyncTerrainGeneration || !(this.chunkProvider instanceof NormalChunkGenerator)) {
+            return null;
+        }
+
+        IChunkProvider provider = ((NormalChunkGenerator) this.chunkProvider).getProvider();
+        return provider instanceof IAsyncChunkProvider ? (IAsyncChunkProvider) provider : null;
+    }
+    // AetherSpigot end
+
     public Chunk originalGetChunkAt(int i, int j) {
         long key = LongHash.toLong(i, j); // IonSpigot - Only create key once
         Chunk chunk = this.chunks.get(key);
@@ -2,6 +2,7 @@ package net.minecraft.server;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import xyz.aether.spigot.config.AetherConfig;
 
 import java.io.*;
 import java.util.*;
@@ -72,6 +73,11 @@ public class ChunkRegionLoader implements IChunkLoader, IAsyncChunkSaver {
                     return null;
                 }
 
+                // AetherSpigot start - decode sections without building the NBT tree
+                if (AetherConfig.streamChunkLoading) {
+                    return ChunkStreamReader.read(world, i, j, datainputstream);
+                }
+                // AetherSpigot end
                 nbttagcompound = NBTCompressedStreamTools.a(datainputstream);
             }
         }
@@ -32,6 +32,16 @@ public class ChunkSection {
     }
     // CraftBukkit end
 
+    // AetherSpigot start - adopt storage decoded by ChunkStreamReader
+    ChunkSection(int y, char[] blockIds, NibbleArray emittedLight, NibbleArray skyLight) {
+        this.yPos = y;
+        this.blockIds = blockIds;
+        this.emittedLight = emittedLight;
+        this.skyLight = skyLight;
+        recalcBlockCounts();
+    }
+    // AetherSpigot end
+
     public IBlockData getType(int i, int j, int k) {
         IBlockData iblockdata = (IBlockData) Block.d.a(this.blockIds[j << 8 | k << 4 | i]);
 
@@ -0,0 +1,392 @@
+package net.minecraft.server;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+/**
+ * Reads an Anvil chunk straight from its NBT byte stream.
+ * <p>
+ * Block ids, metadata and light are decoded into the {@link ChunkSection} storage as the
+ * tokens are visited, so the section payloads never exist as a {@link NBTTagCompound} tree.
+ * Only the entity, tile entity and tile tick lists are materialized, as they are handed to
+ * {@link ChunkRegionLoader#loadEntities(Chunk, NBTTagCompound, World)} on the main thread.
+ */
+final class ChunkStreamReader {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final int TAG_END = 0;
+    private static final int TAG_BYTE = 1;
+    private static final int TAG_SHORT = 2;
+    private static final int TAG_INT = 3;
+    private static final int TAG_LONG = 4;
+    private static final int TAG_FLOAT = 5;
+    private static final int TAG_DOUBLE = 6;
+    private static final int TAG_BYTE_ARRAY = 7;
+    private static final int TAG_STRING = 8;
+    private static final int TAG_LIST = 9;
+    private static final int TAG_COMPOUND = 10;
+    private static final int TAG_INT_ARRAY = 11;
+
+    private final DataInput in;
+    private final boolean hasSkyLight;
+    // scratch buffers shared by every section of this chunk
+    private final byte[] blockBuffer = new byte[4096];
+    private final byte[] nibbleBuffer = new byte[2048];
+
+    // Level
+    private boolean hasLevel;
+    private boolean hasSections;
+    private int xPos;
+    private int zPos;
+    private int[] heightMap;
+    private boolean terrainPopulated;
+    private boolean lightPopulated;
+    private long inhabitedTime;
+    private byte[] biomes;
+    private final ChunkSection[] sections = new ChunkSection[16];
+    private final NBTTagCompound retained = new NBTTagCompound();
+
+    private ChunkStreamReader(DataInput in, boolean hasSkyLight) {
+        this.in = in;
+        this.hasSkyLight = hasSkyLight;
+    }
+
+    /**
+     * Reads the chunk at the given coordinates.
+     *
+     * @return the same {@code {Chunk, NBTTagCompound}} pair as {@link ChunkRegionLoader#loadChunk(World, int, int)},
+     * where the compound only holds the parts of {@code Level} that still have to be loaded on the main thread,
+     * or {@code null} if the chunk data is unusable.
+     */
+    static Object[] read(World world, int i, int j, DataInput in) throws IOException {
+        ChunkStreamReader reader = new ChunkStreamReader(in, !world.worldProvider.o());
+
+        if (in.readByte() != TAG_COMPOUND) {
+            throw new IOException("Root tag must be a named compound tag");
+        }
+        skipString(in);
+        reader.readRoot();
+
+        return reader.createChunk(world, i, j);
+    }
+
+    private Object[] createChunk(World world, int i, int j) {
+        if (!this.hasLevel) {
+            LOGGER.error("Chunk file at " + i + "," + j + " is missing level data, skipping");
+            return null;
+        }
+        if (!this.hasSections) {
+            LOGGER.error("Chunk file at " + i + "," + j + " is missing block data, skipping");
+            return null;
+        }
+
+        if (this.xPos != i || this.zPos != j) {
+            LOGGER.error("Chunk file at " + i + "," + j + " is in the wrong location; relocating. (Expected " + i + ", " + j + ", got " + this.xPos + ", " + this.zPos + ")");
+
+            // CraftBukkit - Have to move tile entities since we don't load them at this stage
+            NBTTagList tileEntities = this.retained.getList("TileEntities", TAG_COMPOUND);
+            for (int te = 0; te < tileEntities.size(); te++) {
+                NBTTagCompound tileEntity = tileEntities.get(te);
+                int x = tileEntity.getInt("x") - this.xPos * 16;
+                int z = tileEntity.getInt("z") - this.zPos * 16;
+                tileEntity.setInt("x", i * 16 + x);
+                tileEntity.setInt("z", j * 16 + z);
+            }
+        }
+
+        Chunk chunk = new Chunk(world, i, j);
+
+        if (this.heightMap != null) {
+            chunk.a(this.heightMap);
+        }
+        chunk.d(this.terrainPopulated);
+        chunk.e(this.lightPopulated);
+        chunk.c(this.inhabitedTime);
+        chunk.a(this.sections);
+        if (this.biomes != null) {
+            chunk.a(this.biomes);
+        }
+
+        NBTTagCompound root = new NBTTagCompound();
+        root.set("Level", this.retained);
+        return new Object[] { chunk, root };
+    }
+
+    private void readRoot() throws IOException {
+        byte type;
+
+        while ((type = this.in.readByte()) != TAG_END) {
+            String name = this.in.readUTF();
+
+            if (type == TAG_COMPOUND && name.equals("Level")) {
+                this.hasLevel = true;
+                this.readLevel();
+            } else {
+                skip(this.in, type, 1);
+            }
+        }
+    }
+
+    private void readLevel() throws IOException {
+        byte type;
+
+        while ((type = this.in.readByte()) != TAG_END) {
+            String name = this.in.readUTF();
+
+            switch (name) {
+                case "xPos":
+                    this.xPos = (int) this.readNumber(type, name, 2);
+                    break;
+                case "zPos":
+                    this.zPos = (int) this.readNumber(type, name, 2);
+                    break;
+                case "TerrainPopulated":
+                    this.terrainPopulated = (byte) this.readNumber(type, name, 2) != 0;
+                    break;
+                case "LightPopulated":
+                    this.lightPopulated = (byte) this.readNumber(type, name, 2) != 0;
+                    break;
+                case "InhabitedTime":
+                    this.inhabitedTime = this.readNumber(type, name, 2);
+                    break;
+                case "HeightMap":
+                    if (type == TAG_INT_ARRAY) {
+                        int[] aint = new int[this.in.readInt()];
+                        for (int k = 0; k < aint.length; ++k) {
+                            aint[k] = this.in.readInt();
+                        }
+                        this.heightMap = aint;
+                    } else {
+                        skip(this.in, type, 2);
+                    }
+                    break;
+                case "Biomes":
+                    if (type == TAG_BYTE_ARRAY) {
+                        this.biomes = new byte[this.in.readInt()];
+                        this.in.readFully(this.biomes);
+                    } else {
+                        skip(this.in, type, 2);
+                    }
+                    break;
+                case "Sections":
+                    if (type == TAG_LIST) {
+                        this.hasSections = true;
+                        this.readSections();
+                    } else {
+                        skip(this.in, type, 2);
+                    }
+                    break;
+                case "Entities":
+                case "TileEntities":
+                case "TileTicks":
+                    this.retained.set(name, NBTTagCompound.a(type, name, this.in, 2, NBTReadLimiter.a));
+                    break;
+                default:
+                    skip(this.in, type, 2);
+                    break;
+            }
+        }
+    }
+
+    private void readSections() throws IOException {
+        byte type = this.in.readByte();
+        int size = this.in.readInt();
+
+        if (type != TAG_COMPOUND) {
+            // Matches getList("Sections", 10) returning an empty list for any other element type
+            for (int k = 0; k < size; ++k) {
+                skip(this.in, type, 3);
+            }
+            return;
+        }
+
+        for (int k = 0; k < size; ++k) {
+            this.readSection();
+        }
+    }
+
+    private void readSection() throws IOException {
+        char[] blockIds = new char[4096];
+        NibbleArray emittedLight = null;
+        NibbleArray skyLight = null;
+        byte y = 0;
+        byte type;
+
+        while ((type = this.in.readByte()) != TAG_END) {
+            String name = this.in.readUTF();
+
+            if (type == TAG_BYTE_ARRAY) {
+                switch (name) {
+                    case "Blocks":
+                        this.readExact(this.blockBuffer, name);
+                        for (int l = 0; l < 4096; ++l) {
+                            blockIds[l] |= (char) ((this.blockBuffer[l] & 255) << 4);
+                        }
+                        continue;
+                    case "Data":
+                        this.readExact(this.nibbleBuffer, name);
+                        for (int l = 0; l < 4096; ++l) {
+                            blockIds[l] |= (char) (this.nibbleBuffer[l >> 1] >> ((l & 1) << 2) & 15);
+                        }
+                        continue;
+                    case "Add":
+                        this.readExact(this.nibbleBuffer, name);
+                        for (int l = 0; l < 4096; ++l) {
+                            blockIds[l] |= (char) ((this.nibbleBuffer[l >> 1] >> ((l & 1) << 2) & 15) << 12);
+                        }
+                        continue;
+                    case "BlockLight":
+                        emittedLight = new NibbleArray(this.readArray(name));
+                        continue;
+                    case "SkyLight":
+                        if (this.hasSkyLight) {
+                            skyLight = new NibbleArray(this.readArray(name));
+                            continue;
+                        }
+                        break;
+                }
+            } else if (name.equals("Y")) {
+                y = (byte) this.readNumber(type, name, 4);
+                continue;
+            }
+
+            skip(this.in, type, 4);
+        }
+
+        // CraftBukkit start - fix broken blocks
+        for (int l = 0; l < 4096; ++l) {
+            int packed = blockIds[l];
+
+            if (Block.d.a(packed) == null) {
+                Block block = Block.getById(packed >> 4);
+
+                if (block != null) {
+                    int data = packed & 15;
+                    try {
+                        data = block.toLegacyData(block.fromLegacyData(data));
+                    } catch (Exception ignored) {
+                        data = block.toLegacyData(block.getBlockData());
+                    }
+                    blockIds[l] = (char) (packed & ~15 | data);
+                }
+            }
+        }
+        // CraftBukkit end
+
+        if (emittedLight == null) {
+            throw new IOException("Chunk section " + y + " is missing BlockLight");
+        }
+        if (this.hasSkyLight && skyLight == null) {
+            throw new IOException("Chunk section " + y + " is missing SkyLight");
+        }
+
+        this.sections[y] = new ChunkSection(y << 4, blockIds, emittedLight, skyLight);
+    }
+
+    private void readExact(byte[] abyte, String name) throws IOException {
+        int length = this.in.readInt();
+
+        if (length != abyte.length) {
+            throw new IOException("Chunk section " + name + " should be " + abyte.length + " bytes not: " + length);
+        }
+        this.in.readFully(abyte);
+    }
+
+    private byte[] readArray(String name) throws IOException {
+        byte[] abyte = new byte[2048];
+
+        this.readExact(abyte, name);
+        return abyte;
+    }
+
+    private long readNumber(byte type, String name, int depth) throws IOException {
+        switch (type) {
+            case TAG_BYTE:
+                return this.in.readByte();
+            case TAG_SHORT:
+                return this.in.readShort();
+            case TAG_INT:
+                return this.in.readInt();
+            case TAG_LONG:
+                return this.in.readLong();
+            case TAG_FLOAT:
+            case TAG_DOUBLE:
+                return ((NBTBase.NBTNumber) NBTTagCompound.a(type, name, this.in, depth, NBTReadLimiter.a)).c();
+            default:
+                skip(this.in, type, depth);
+                return 0L;
+        }
+    }
+
+    private static void skip(DataInput in, byte type, int depth) throws IOException {
+        if (depth > 512) {
+            throw new RuntimeException("Tried to read NBT tag with too high complexity, depth > 512");
+        }
+
+        switch (type) {
+            case TAG_END:
+                break;
+            case TAG_BYTE:
+                skipFully(in, 1);
+                break;
+            case TAG_SHORT:
+                skipFully(in, 2);
+                break;
+            case TAG_INT:
+            case TAG_FLOAT:
+                skipFully(in, 4);
+                break;
+            case TAG_LONG:
+            case TAG_DOUBLE:
+                skipFully(in, 8);
+                break;
+            case TAG_BYTE_ARRAY:
+                skipFully(in, in.readInt());
+                break;
+            case TAG_STRING:
+                skipString(in);
+                break;
+            case TAG_LIST:
+                byte elementType = in.readByte();
+                int size = in.readInt();
+
+                for (int k = 0; k < size; ++k) {
+                    skip(in, elementType, depth + 1);
+                }
+                break;
+            case TAG_COMPOUND:
+                byte entryType;
+
+                while ((entryType = in.readByte()) != TAG_END) {
+                    skipString(in);
+                    skip(in, entryType, depth + 1);
+                }
+                break;
+            case TAG_INT_ARRAY:
+                skipFully(in, in.readInt() * 4);
+                break;
+            default:
+                throw new IOException("Unknown NBT tag type " + type);
+        }
+    }
+
+    private static void skipString(DataInput in) throws IOException {
+        skipFully(in, in.readUnsignedShort());
+    }
+
+    private static void skipFully(DataInput in, int length) throws IOException {
+        while (length > 0) {
+            int skipped = in.skipBytes(length);
+
+            if (skipped <= 0) {
+                in.readByte();
+                skipped = 1;
+            }
+            length -= skipped;
+        }
+    }
+}
@@ -29,6 +29,7 @@ public abstract class Container {
     protected List<ICrafting> listeners = Lists.newArrayList();
     private Set<EntityHuman> i = Sets.newHashSet();
     private int tickCount; // Spigot
+    private final List<NBTTagCompound> sentTags = Lists.newArrayList(); // AetherSpigot - tag of each live stack when it was last compared
 
     // CraftBukkit start
     public boolean checkReachable = true;
@@ -48,6 +49,7 @@ public abstract class Container {
         slot.rawSlotIndex = this.c.size();
         this.c.add(slot);
         this.b.add(null); // CraftBukkit - fix decompile error
+        this.sentTags.add(null); // AetherSpigot
         return slot;
     }
 
@@ -76,7 +78,19 @@ public abstract class Container {
             ItemStack itemstack = ((Slot) this.c.get(i)).getItem();
             ItemStack itemstack1 = (ItemStack) this.b.get(i);
 
-            if (!ItemStack.fastMatches(itemstack1, itemstack) || (tickCount % 20 == 0 && !ItemStack.matches(itemstack1, itemstack))) { // Spigot
+            // AetherSpigot start - only compare tags that were replaced, and spread the checks for in place edits over 20 ticks
+            boolean changed = !ItemStack.fastMatches(itemstack1, itemstack);
+            NBTTagCompound tag = itemstack == null ? null : itemstack.getReadOnlyTag();
+
+            if (!changed && tag != this.sentTags.get(i)) {
+                changed = !ItemStack.matches(itemstack1, itemstack);
+            } else if (!changed && tag != null && (tickCount + i) % 20 == 0) {
+                changed = !ItemStack.matches(itemstack1, itemstack);
+            }
+            this.sentTags.set(i, tag);
+
+            if (changed) {
+            // AetherSpigot end
                 itemstack1 = itemstack == null ? null : itemstack.cloneItemStack();
                 this.b.set(i, itemstack1);
 
@@ -89,6 +103,27 @@ public abstract class Container {
 
     }
 
+    // AetherSpigot start
+    /**
+     * Sends every slot to the listeners at once and records them as sent, so the next {@link #b()} does
+     * not send the same slots again one by one.
+     */
+    public void sendAll() {
+        for (int i = 0; i < this.c.size(); ++i) {
+            ItemStack itemstack = ((Slot) this.c.get(i)).getItem();
+
+            this.b.set(i, itemstack == null ? null : itemstack.cloneItemStack());
+            this.sentTags.set(i, itemstack == null ? null : itemstack.getReadOnlyTag());
+        }
+
+        List<ItemStack> list = this.a();
+
+        for (int i = 0; i < this.listeners.size(); ++i) {
+            ((ICrafting) this.listeners.get(i)).a(this, list);
+        }
+    }
+    // AetherSpigot end
+
     public boolean a(EntityHuman entityhuman, int i) {
         return false;
     }
@@ -6,7 +6,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 
 import org.bukkit.craftbukkit.event.CraftEventFactory; // CraftBukkit
@@ -14,10 +13,11 @@ import org.bukkit.craftbukkit.event.CraftEventFactory; // CraftBukkit
 public class CraftingManager {
 
     private static final CraftingManager a = new CraftingManager();
-    public List<IRecipe> recipes = Lists.newArrayList();
+    public List<IRecipe> recipes = new RecipeList(); // AetherSpigot
     // CraftBukkit start
     public IRecipe lastRecipe;
     public org.bukkit.inventory.InventoryView lastCraftView;
+    private RecipeIndex index; // AetherSpigot
     // CraftBukkit end
 
     public static CraftingManager getInstance() {
@@ -178,6 +178,7 @@ public class CraftingManager {
 
     // CraftBukkit start
     public void sort() {
+        this.index = null; // AetherSpigot
        Collections.sort(this.recipes, new Comparator() {
             public int a(IRecipe irecipe, IRecipe irecipe1) {
                 return irecipe instanceof ShapelessRecipes && irecipe1 instanceof ShapedRecipes ? 1 : (irecipe1 instanceof ShapelessRecipes && irecipe instanceof ShapedRecipes ? -1 : (irecipe1.a() < irecipe.a() ? -1 : (irecipe1.a() > irecipe.a() ? 1 : 0)));
@@ -279,18 +280,14 @@ public class CraftingManager {
     }
 
     public ItemStack craft(InventoryCrafting inventorycrafting, World world) {
-        Iterator iterator = this.recipes.iterator();
+        // AetherSpigot start - only test the recipes that can match the grid
+        IRecipe irecipe = this.findRecipe(inventorycrafting, world);
 
-        IRecipe irecipe;
-
-        do {
-            if (!iterator.hasNext()) {
-                inventorycrafting.currentRecipe = null; // CraftBukkit - Clear recipe when no recipe is found
-                return null;
-            }
-
-            irecipe = (IRecipe) iterator.next();
-        } while (!irecipe.a(inventorycrafting, world));
+        if (irecipe == null) {
+            inventorycrafting.currentRecipe = null; // CraftBukkit - Clear recipe when no recipe is found
+            return null;
+        }
+        // AetherSpigot end
 
         // CraftBukkit start - INVENTORY_PRE_CRAFT event
         inventorycrafting.currentRecipe = irecipe;
@@ -300,15 +297,13 @@ public class CraftingManager {
     }
 
     public ItemStack[] b(InventoryCrafting inventorycrafting, World world) {
-        Iterator iterator = this.recipes.iterator();
-
-        while (iterator.hasNext()) {
-            IRecipe irecipe = (IRecipe) iterator.next();
+        // AetherSpigot start
+        IRecipe irecipe = this.findRecipe(inventorycrafting, world);
 
-            if (irecipe.a(inventorycrafting, world)) {
-                return irecipe.b(inventorycrafting);
-            }
+        if (irecipe != null) {
+            return irecipe.b(inventorycrafting);
         }
+        // AetherSpigot end
 
         ItemStack[] aitemstack = new ItemStack[inventorycrafting.getSize()];
 
@@ -319,6 +314,45 @@ public class CraftingManager {
         return aitemstack;
     }
 
+    // AetherSpigot start
+    private IRecipe findRecipe(InventoryCrafting inventorycrafting, World world) {
+        if (!(this.recipes instanceof RecipeList)) {
+            // A list set by a plugin can't tell when it changes, so it is scanned in full
+            for (IRecipe irecipe : this.recipes) {
+                if (irecipe.a(inventorycrafting, world)) {
+                    return irecipe;
+                }
+            }
+            return null;
+        }
+
+        // recipes is public and changed by plugins and CraftServer, so a different list or any change to it means a rebuild
+        RecipeList list = (RecipeList) this.recipes;
+
+        if (this.index == null || !this.index.isFor(list)) {
+            this.index = new RecipeIndex(list);
+        }
+
+        return this.index.find(inventorycrafting, world);
+    }
+
+    /**
+     * The recipe list, counting every change to it so {@link RecipeIndex} knows when to rebuild.
+     */
+    static final class RecipeList extends ArrayList<IRecipe> {
+
+        @Override
+        public IRecipe set(int i, IRecipe irecipe) {
+            ++this.modCount; // ArrayList only counts structural changes
+            return super.set(i, irecipe);
+        }
+
+        int getModifications() {
+            return this.modCount;
+        }
+    }
+    // AetherSpigot end
+
     public List<IRecipe> getRecipes() {
         return this.recipes;
     }
@@ -22,6 +22,10 @@ public class DataWatcher {
     private static final Map<Class<?>, Integer> c = gnu.trove.TDecorators.wrap( classToId );
     private final Map<Integer, DataWatcher.WatchableObject> d = gnu.trove.TDecorators.wrap( dataValues );
     // Spigot End
+    // AetherSpigot start - entries by id, and a bit per id for the entries changed since the last b()
+    private final DataWatcher.WatchableObject[] entries = new DataWatcher.WatchableObject[32];
+    private int dirty;
+    // AetherSpigot end
     private boolean e;
     // private ReadWriteLock f = new ReentrantReadWriteLock(); // PandaSpigot - Remove DataWatcher Locking
 
@@ -46,6 +50,10 @@ public class DataWatcher {
             // this.f.writeLock().lock(); // PandaSpigot
             this.dataValues.put(i, datawatcher_watchableobject); // Spigot
             // this.f.writeLock().unlock(); // PandaSpigot
+            // AetherSpigot start
+            this.entries[i] = datawatcher_watchableobject;
+            this.dirty |= 1 << i;
+            // AetherSpigot end
             this.b = false;
         }
     }
@@ -56,6 +64,10 @@ public class DataWatcher {
         // this.f.writeLock().lock(); // PandaSpigot
         this.dataValues.put(i, datawatcher_watchableobject); // Spigot
         // this.f.writeLock().unlock(); // PandaSpigot
+        // AetherSpigot start
+        this.entries[i] = datawatcher_watchableobject;
+        this.dirty |= 1 << i;
+        // AetherSpigot end
         this.b = false;
     }
 
@@ -103,7 +115,7 @@ public class DataWatcher {
         this.f.readLock().unlock();
         return datawatcher_watchableobject;
         */
-        return (WatchableObject) this.dataValues.get(i);
+        return this.entries[i]; // AetherSpigot
         // PandaSpigot end
     }
 
@@ -118,6 +130,7 @@ public class DataWatcher {
             datawatcher_watchableobject.a(t0);
             this.a.i(i);
             datawatcher_watchableobject.a(true);
+            this.dirty |= 1 << i; // AetherSpigot
             this.e = true;
         }
 
@@ -125,6 +138,7 @@ public class DataWatcher {
 
     public void update(int i) {
         this.j(i).d = true;
+        this.dirty |= 1 << i; // AetherSpigot
         this.e = true;
     }
 
@@ -150,34 +164,38 @@ public class DataWatcher {
         ArrayList arraylist = null;
 
         if (this.e) {
-            // this.f.readLock().lock(); // PandaSpigot
-            Iterator iterator = this.dataValues.valueCollection().iterator(); // Spigot
+            // AetherSpigot start - visit only the entries marked as changed
+            int dirty = this.dirty;
 
-            while (iterator.hasNext()) {
-                DataWatcher.WatchableObject datawatcher_watchableobject = (DataWatcher.WatchableObject) iterator.next();
+            this.dirty = 0;
+            while (dirty != 0) {
+                int i = Integer.numberOfTrailingZeros(dirty);
+                DataWatcher.WatchableObject datawatcher_watchableobject = this.entries[i];
 
-                if (datawatcher_watchableobject.d()) {
-                    datawatcher_watchableobject.a(false);
-                    if (arraylist == null) {
-                        arraylist = Lists.newArrayList();
-                    }
-
-                   // Spigot start - copy ItemStacks to prevent ConcurrentModificationExceptions
-                    if ( datawatcher_watchableobject.b() instanceof ItemStack )
-                    {
-                        datawatcher_watchableobject = new WatchableObject(
-                                datawatcher_watchableobject.c(),
-                                datawatcher_watchableobject.a(),
-                                ( (ItemStack) datawatcher_watchableobject.b() ).cloneItemStack()
-                        );
-                    }
-                    // Spigot end
-
-                    arraylist.add(datawatcher_watchableobject);
+                dirty &= dirty - 1;
+                if (datawatcher_watchableobject == null || !datawatcher_watchableobject.d()) {
+                    continue;
                 }
-            }
+                // AetherSpigot end
+
+                datawatcher_watchableobject.a(false);
+                if (arraylist == null) {
+                    arraylist = Lists.newArrayList();
+                }
+
+                // Spigot start - copy ItemStacks to prevent ConcurrentModificationExceptions
+                if ( datawatcher_watchableobject.b() instanceof ItemStack )
+                {
+                    datawatcher_watchableobject = new WatchableObject(
+                            datawatcher_watchableobject.c(),
+                            datawatcher_watchableobject.a(),
+                            ( (ItemStack) datawatcher_watchableobject.b() ).cloneItemStack()
+                    );
+                }
+                // Spigot end
 
-            // this.f.readLock().unlock(); // PandaSpigot
+                arraylist.add(datawatcher_watchableobject);
+            }
         }
 
         this.e = false;
@@ -186,13 +204,13 @@ public class DataWatcher {
 
     public void a(PacketDataSerializer packetdataserializer) throws IOException {
         // this.f.readLock().lock(); // PandaSpigot
-        Iterator iterator = this.dataValues.valueCollection().iterator(); // Spigot
-
-        while (iterator.hasNext()) {
-            DataWatcher.WatchableObject datawatcher_watchableobject = (DataWatcher.WatchableObject) iterator.next();
-
-            a(packetdataserializer, datawatcher_watchableobject);
+        // AetherSpigot start
+        for (DataWatcher.WatchableObject datawatcher_watchableobject : this.entries) {
+            if (datawatcher_watchableobject != null) {
+                a(packetdataserializer, datawatcher_watchableobject);
+            }
         }
+        // AetherSpigot end
 
         // this.f.readLock().unlock(); // PandaSpigot
         packetdataserializer.writeByte(127);
@@ -203,7 +221,13 @@ public class DataWatcher {
 
         // this.f.readLock().lock(); // PandaSpigot
 
-        arraylist.addAll(this.dataValues.valueCollection()); // Spigot
+        // AetherSpigot start
+        for (DataWatcher.WatchableObject datawatcher_watchableobject : this.entries) {
+            if (datawatcher_watchableobject != null) {
+                arraylist.add(datawatcher_watchableobject);
+            }
+        }
+        // AetherSpigot end
         // Spigot start - copy ItemStacks to prevent ConcurrentModificationExceptions
         for ( int i = 0; i < arraylist.size(); i++ )
         {
@@ -22,7 +22,7 @@ public class EnchantmentManager {
         if (itemstack == null) {
             return 0;
         } else {
-            NBTTagList nbttaglist = itemstack.getEnchantments();
+            NBTTagList nbttaglist = itemstack.getReadOnlyEnchantments(); // AetherSpigot
 
             if (nbttaglist == null) {
                 return 0;
@@ -43,7 +43,7 @@ public class EnchantmentManager {
 
     public static Map<Integer, Integer> a(ItemStack itemstack) {
         LinkedHashMap linkedhashmap = Maps.newLinkedHashMap();
-        NBTTagList nbttaglist = itemstack.getItem() == Items.ENCHANTED_BOOK ? Items.ENCHANTED_BOOK.h(itemstack) : itemstack.getEnchantments();
+        NBTTagList nbttaglist = itemstack.getItem() == Items.ENCHANTED_BOOK ? Items.ENCHANTED_BOOK.h(itemstack) : itemstack.getReadOnlyEnchantments(); // AetherSpigot
 
         if (nbttaglist != null) {
             for (int i = 0; i < nbttaglist.size(); ++i) {
@@ -110,7 +110,7 @@ public class EnchantmentManager {
 
     private static void a(EnchantmentManager.EnchantmentModifier enchantmentmanager_enchantmentmodifier, ItemStack itemstack) {
         if (itemstack != null) {
-            NBTTagList nbttaglist = itemstack.getEnchantments();
+            NBTTagList nbttaglist = itemstack.getReadOnlyEnchantments(); // AetherSpigot
 
             if (nbttaglist != null) {
                 for (int i = 0; i < nbttaglist.size(); ++i) {
@@ -28,6 +28,7 @@ import org.spigotmc.event.entity.EntityDismountEvent;
 import xyz.aether.spigot.AetherSpigot;
 import xyz.aether.spigot.knockback.KnockbackProfile;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
@@ -62,6 +63,14 @@ public abstract class Entity implements ICommandListener {
     // PandaSpigot end
 
     private static final AxisAlignedBB a = new AxisAlignedBB(0.0D, 0.0D, 0.0D, 0.0D, 0.0D, 0.0D);
+    // AetherSpigot start - per-thread buffer for the collision boxes gathered in move
+    private static final ThreadLocal<List<AxisAlignedBB>> COLLISION_BUFFER = new ThreadLocal<List<AxisAlignedBB>>() {
+        @Override
+        protected List<AxisAlignedBB> initialValue() {
+            return new ArrayList<AxisAlignedBB>();
+        }
+    };
+    // AetherSpigot end
     private static int entityCount;
     private int id;
     public double j;
@@ -164,12 +173,21 @@ public abstract class Entity implements ICommandListener {
     public boolean forceExplosionKnockback; // CraftBukkit - SPIGOT-949
     public boolean inUnloadedChunk = false; // PaperSpigot - Remove entities in unloaded chunks
     public boolean loadChunks = false; // PaperSpigot - Entities can load chunks they move through and keep them loaded
+    // AetherSpigot start - EntitySpatialIndex bookkeeping
+    EntitySpatialIndex spatialIndex;
+    long spatialCell;
+    int spatialSlot;
+    // AetherSpigot end
 
     // Spigot start
     public Timing tickTimer = SpigotTimings.getEntityTimings(this); // Spigot
     public final byte activationType = org.spigotmc.ActivationRange.initializeEntityActivationType(this);
     public final boolean defaultActivationState;
     public long activatedTick = Integer.MIN_VALUE;
+    // AetherSpigot start - activation tier, only valid in the tick it was assigned
+    public byte activationTier;
+    public int activationTierTick = -1;
+    // AetherSpigot end
     public boolean fromMobSpawner;
 
     public void inactiveTick() {
@@ -494,6 +512,20 @@ public abstract class Entity implements ICommandListener {
     }
 
 
+    // AetherSpigot start
+    private List<AxisAlignedBB> getCollisions(AxisAlignedBB axisalignedbb) {
+        if (this.loadChunks) {
+            // Loading chunks runs plugin code, which may move other entities while this list is being filled
+            return this.world.getCubes(this, axisalignedbb);
+        }
+
+        List<AxisAlignedBB> list = COLLISION_BUFFER.get();
+
+        list.clear();
+        return this.world.getCubes(this, axisalignedbb, list);
+    }
+    // AetherSpigot end
+
     public void move(double d0, double d1, double d2) {
         if (this.loadChunks) loadChunks(); // PaperSpigot - Load chunks
         if (this.noclip) {
@@ -539,7 +571,7 @@ public abstract class Entity implements ICommandListener {
             if (flag) {
                 double d9;
 
-                for (d9 = 0.05D; d0 != 0.0D && this.world.getCubes(this, this.getBoundingBox().c(d0, -1.0D, 0.0D)).isEmpty(); d6 = d0) {
+                for (d9 = 0.05D; d0 != 0.0D && this.getCollisions(this.getBoundingBox().c(d0, -1.0D, 0.0D)).isEmpty(); d6 = d0) {
                     if (d0 < d9 && d0 >= -d9) {
                         d0 = 0.0D;
                     } else if (d0 > 0.0D) {
@@ -549,7 +581,7 @@ public abstract class Entity implements ICommandListener {
                     }
                 }
 
-                for (; d2 != 0.0D && this.world.getCubes(this, this.getBoundingBox().c(0.0D, -1.0D, d2)).isEmpty(); d8 = d2) {
+                for (; d2 != 0.0D && this.getCollisions(this.getBoundingBox().c(0.0D, -1.0D, d2)).isEmpty(); d8 = d2) {
                     if (d2 < d9 && d2 >= -d9) {
                         d2 = 0.0D;
                     } else if (d2 > 0.0D) {
@@ -559,7 +591,7 @@ public abstract class Entity implements ICommandListener {
                     }
                 }
 
-                for (; d0 != 0.0D && d2 != 0.0D && this.world.getCubes(this, this.getBoundingBox().c(d0, -1.0D, d2)).isEmpty(); d8 = d2) {
+                for (; d0 != 0.0D && d2 != 0.0D && this.getCollisions(this.getBoundingBox().c(d0, -1.0D, d2)).isEmpty(); d8 = d2) {
                     if (d0 < d9 && d0 >= -d9) {
                         d0 = 0.0D;
                     } else if (d0 > 0.0D) {
@@ -586,7 +618,7 @@ public abstract class Entity implements ICommandListener {
             double zLength = totalArea.f - totalArea.c;
             boolean axisScan = this.world.pandaSpigotConfig.optimizeTntMovement && xLength * yLength * zLength > 10;
 
-            List list = this.world.getCubes(this, axisScan ? this.getBoundingBox().a(0, d1, 0) : totalArea);
+            List list = this.getCollisions(axisScan ? this.getBoundingBox().a(0, d1, 0) : totalArea);
             // PandaSpigot end
 
             AxisAlignedBB axisalignedbb = this.getBoundingBox();
@@ -601,7 +633,7 @@ public abstract class Entity implements ICommandListener {
             boolean flag1 = this.onGround || d7 != d1 && d7 < 0.0D;
 
             if (axisScan)
-                list = this.world.getCubes(this, this.getBoundingBox().a(d0, 0, 0)); // PandaSpigot - get x axis blocks
+                list = this.getCollisions(this.getBoundingBox().a(d0, 0, 0)); // PandaSpigot - get x axis blocks
 
             AxisAlignedBB axisalignedbb2;
             Iterator iterator1;
@@ -613,7 +645,7 @@ public abstract class Entity implements ICommandListener {
             this.a(this.getBoundingBox().c(d0, 0.0D, 0.0D));
 
             if (axisScan)
-                list = this.world.getCubes(this, this.getBoundingBox().a(0, 0, d2)); // PandaSpigot - get z axis blocks
+                list = this.getCollisions(this.getBoundingBox().a(0, 0, d2)); // PandaSpigot - get z axis blocks
 
             for (iterator1 = list.iterator(); iterator1.hasNext(); d2 = axisalignedbb2.c(this.getBoundingBox(), d2)) {
                 axisalignedbb2 = (AxisAlignedBB) iterator1.next();
@@ -628,7 +660,7 @@ public abstract class Entity implements ICommandListener {
 
                 this.a(axisalignedbb);
                 d1 = (double) this.S;
-                List list1 = this.world.getCubes(this, this.getBoundingBox().a(d6, d1, d8));
+                List list1 = this.getCollisions(this.getBoundingBox().a(d6, d1, d8));
                 AxisAlignedBB axisalignedbb4 = this.getBoundingBox();
                 AxisAlignedBB axisalignedbb5 = axisalignedbb4.a(d6, 0.0D, d8);
                 double d13 = d1;
@@ -2288,6 +2320,7 @@ public abstract class Entity implements ICommandListener {
         if (len > 64) f = c + 64.0;
         this.boundingBox = new AxisAlignedBB(a, b, c, d, e, f);
         // CraftBukkit end
+        if (this.spatialIndex != null) this.spatialIndex.move(this); // AetherSpigot
     }
 
     public float getHeadHeight() {
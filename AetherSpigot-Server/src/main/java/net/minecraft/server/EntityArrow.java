@@ -175,37 +175,47 @@ public class EntityArrow extends Entity implements IProjectile {
             Vec3D vec3d1 = new Vec3D(this.locX + this.motX, this.locY + this.motY, this.locZ + this.motZ);
             MovingObjectPosition movingobjectposition = this.world.rayTrace(vec3d, vec3d1, false, true, false);
 
-            vec3d = new Vec3D(this.locX, this.locY, this.locZ);
-            vec3d1 = new Vec3D(this.locX + this.motX, this.locY + this.motY, this.locZ + this.motZ);
+            // AetherSpigot start - sweep the entities along the segment without allocating per candidate
+            double x1 = vec3d1.a;
+            double y1 = vec3d1.b;
+            double z1 = vec3d1.c;
+
             if (movingobjectposition != null) {
-                vec3d1 = new Vec3D(movingobjectposition.pos.a, movingobjectposition.pos.b, movingobjectposition.pos.c);
+                x1 = movingobjectposition.pos.a;
+                y1 = movingobjectposition.pos.b;
+                z1 = movingobjectposition.pos.c;
             }
+            // AetherSpigot end
 
             Entity entity = null;
-            List list = this.world.getEntities(this, this.getBoundingBox().a(this.motX, this.motY, this.motZ).grow(1.0D, 1.0D, 1.0D));
+            List<Entity> list = this.world.projectileCandidates; // AetherSpigot
             double d0 = 0.0D;
 
             int j;
             float f1;
 
-            for (j = 0; j < list.size(); ++j) {
-                Entity entity1 = (Entity) list.get(j);
-
-                if (entity1.ad() && (entity1 != this.shooter || this.as >= 5)) {
-                    f1 = 0.3F;
-                    AxisAlignedBB axisalignedbb1 = entity1.getBoundingBox().grow((double) f1, (double) f1, (double) f1);
-                    MovingObjectPosition movingobjectposition1 = axisalignedbb1.a(vec3d, vec3d1);
+            // AetherSpigot start - the list is shared, leave it empty even if the sweep fails
+            try {
+                this.world.getEntities(this, this.getBoundingBox().a(this.motX, this.motY, this.motZ).grow(1.0D, 1.0D, 1.0D), IEntitySelector.d, list);
+                for (j = 0; j < list.size(); ++j) {
+                    Entity entity1 = (Entity) list.get(j);
 
-                    if (movingobjectposition1 != null) {
-                        double d1 = vec3d.distanceSquared(movingobjectposition1.pos);
+                    if (entity1.ad() && (entity1 != this.shooter || this.as >= 5)) {
+                        f1 = 0.3F;
+                        double d1 = entity1.getBoundingBox().sweep((double) f1, vec3d.a, vec3d.b, vec3d.c, x1, y1, z1); // AetherSpigot
 
-                        if (d1 < d0 || d0 == 0.0D) {
-                            entity = entity1;
-                            d0 = d1;
+                        if (d1 >= 0.0D) { // AetherSpigot
+                            if (d1 < d0 || d0 == 0.0D) {
+                                entity = entity1;
+                                d0 = d1;
+                            }
                         }
                     }
                 }
+            } finally {
+                list.clear();
             }
+            // AetherSpigot end
 
             if (entity != null) {
                 movingobjectposition = new MovingObjectPosition(entity);
@@ -1066,6 +1066,7 @@ public abstract class EntityHuman extends EntityLiving {
                     double d0 = entity.motX;
                     double d1 = entity.motY;
                     double d2 = entity.motZ;
+                    long hitNanos = System.nanoTime(); // AetherSpigot
                     boolean flag2 = entity.damageEntity(DamageSource.playerAttack(this), f);
 
                     // AetherSpigot start
@@ -1075,6 +1076,11 @@ public abstract class EntityHuman extends EntityLiving {
                     // AetherSpigot end
 
                     if (flag2) {
+                        // AetherSpigot start - only hits that landed send knockback to time
+                        if (entity instanceof EntityLiving) {
+                            ((EntityLiving) entity).combatHitNanos = hitNanos;
+                        }
+                        // AetherSpigot end
                         if (entity instanceof EntityPlayer) {
                             if (((EntityPlayer) entity).knockbackProfile == null)
                                 ((EntityPlayer) entity).knockbackProfile = AetherSpigot.get().getKnockbackHandler().getActiveProfile();;
@@ -34,6 +34,7 @@ public abstract class EntityInsentient extends EntityLiving {
     private Entity bp;
     private NBTTagCompound bq;
     public PathfinderGoalFloat goalFloat; // PaperSpigot
+    private int goalRate = 1; // AetherSpigot - the rate multiplier last given to the goal selectors
 
     public EntityInsentient(World world) {
         super(world);
@@ -483,6 +484,14 @@ public abstract class EntityInsentient extends EntityLiving {
             return;
         }
         // Spigot End
+        // AetherSpigot start - the reduced activation tier looks for new goals less often
+        int goalRate = org.spigotmc.ActivationRange.getActivationTier(this) == org.spigotmc.ActivationRange.TIER_REDUCED ? this.world.spigotConfig.reducedGoalSelectorRate : 1;
+        if (goalRate != this.goalRate) {
+            this.goalRate = goalRate;
+            this.targetSelector.setRateMultiplier(goalRate);
+            this.goalSelector.setRateMultiplier(goalRate);
+        }
+        // AetherSpigot end
         this.world.methodProfiler.a("sensing");
         this.bk.a();
         this.world.methodProfiler.b();
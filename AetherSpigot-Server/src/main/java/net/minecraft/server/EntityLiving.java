@@ -35,6 +35,10 @@ public abstract class EntityLiving extends Entity {
     public CombatTracker combatTracker = new CombatTracker(this);
     public final Map<Integer, MobEffect> effects = Maps.newHashMap();
     private final ItemStack[] h = new ItemStack[5];
+    // AetherSpigot start - the equipment last found equal to what was sent, and its tag version then
+    private final ItemStack[] checkedEquipment = new ItemStack[5];
+    private final int[] checkedTagVersions = new int[5];
+    // AetherSpigot end
     public boolean ar;
     public int as;
     public int at;
@@ -81,6 +85,7 @@ public abstract class EntityLiving extends Entity {
     public boolean updateEffects = true;
     public EntityLiving lastDamager;
     public int hurtTimestamp;
+    public long combatHitNanos; // AetherSpigot - when this entity was last hit by a player, for packet latency metrics
     private EntityLiving bk;
     private int bl;
     private float bm;
@@ -1530,7 +1535,7 @@ public abstract class EntityLiving extends Entity {
                 ItemStack itemstack = this.h[j];
                 ItemStack itemstack1 = this.getEquipment(j);
 
-                if (!ItemStack.matches(itemstack1, itemstack)) {
+                if (!this.equipmentMatches(j, itemstack1, itemstack)) { // AetherSpigot
                     ((WorldServer) this.world).getTracker().a((Entity) this, (Packet) (new PacketPlayOutEntityEquipment(this.getId(), j, itemstack1)));
                     if (itemstack != null) {
                         this.c.a(itemstack.B());
@@ -1540,7 +1545,10 @@ public abstract class EntityLiving extends Entity {
                         this.c.b(itemstack1.B());
                     }
 
-                    this.h[j] = itemstack1 == null ? null : itemstack1.cloneItemStack();
+                    // AetherSpigot start - a shared tag would follow changes made to the equipment in place
+                    this.h[j] = itemstack1 == null ? null : itemstack1.cloneItemStackWithOwnTag();
+                    this.checkedEquipment[j] = null;
+                    // AetherSpigot end
                 }
             }
 
@@ -1616,6 +1624,34 @@ public abstract class EntityLiving extends Entity {
         this.aT += f2;
     }
 
+    // AetherSpigot start
+    /**
+     * Same as {@link ItemStack#matches(ItemStack, ItemStack)}, but the tags are only compared in depth when
+     * the stack's tag may have changed since they were last found equal. The sent stacks own their tags.
+     */
+    private boolean equipmentMatches(int slot, ItemStack itemstack, ItemStack sent) {
+        if (!ItemStack.fastMatches(itemstack, sent)) {
+            return false;
+        }
+
+        if (itemstack == null) {
+            return true;
+        }
+
+        if (this.checkedEquipment[slot] == itemstack && this.checkedTagVersions[slot] == itemstack.getTagVersion()) {
+            return true;
+        }
+
+        if (!ItemStack.matches(itemstack, sent)) {
+            return false;
+        }
+
+        this.checkedEquipment[slot] = itemstack;
+        this.checkedTagVersions[slot] = itemstack.getTagVersion();
+        return true;
+    }
+    // AetherSpigot end
+
     protected float h(float f, float f1) {
         float f2 = MathHelper.g(f - this.aI);
 
@@ -1678,7 +1714,7 @@ public abstract class EntityLiving extends Entity {
         }
 
         this.world.methodProfiler.a("ai");
-        if (this.bD()) {
+        if (this.bD() || org.spigotmc.ActivationRange.getActivationTier(this) == org.spigotmc.ActivationRange.TIER_MOVEMENT) { // AetherSpigot - movement only activation tier
             this.aY = false;
             this.aZ = 0.0F;
             this.ba = 0.0F;
@@ -1736,17 +1772,18 @@ public abstract class EntityLiving extends Entity {
 
     protected void doTick() {}
 
-    protected void bL() {
-        List list = this.world.a((Entity) this, this.getBoundingBox().grow(0.20000000298023224D, 0.0D, 0.20000000298023224D), Predicates.and(IEntitySelector.d, new Predicate() {
-            public boolean a(Entity entity) {
-                return entity.ae();
-            }
+    // AetherSpigot start - shared collision predicate
+    private static final Predicate<Entity> COLLISION_PREDICATE = Predicates.and(IEntitySelector.d, new Predicate<Entity>() {
+        @Override
+        public boolean apply(Entity entity) {
+            return entity.ae();
+        }
+    });
+    // AetherSpigot end
 
-            @Override
-            public boolean apply(Object object) {
-                return this.a((Entity) object);
-            }
-        }));
+    protected void bL() {
+        if (!this.ad()) return; // AetherSpigot - don't query for entities that can't collide
+        List list = this.world.a((Entity) this, this.getBoundingBox().grow(0.20000000298023224D, 0.0D, 0.20000000298023224D), COLLISION_PREDICATE); // AetherSpigot
 
         if (this.ad() && !list.isEmpty()) { // Spigot: Add this.ad() condition
             numCollisions -= world.spigotConfig.maxCollisionsPerEntity; // Spigot
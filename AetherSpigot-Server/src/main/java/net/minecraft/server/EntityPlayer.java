@@ -48,6 +48,9 @@ public class EntityPlayer extends EntityHuman implements ICrafting {
     private int containerCounter;
     public boolean g;
     public int ping;
+    public int lastSentPing; // AetherSpigot - latency last sent to the tab list
+    public long timedCombatHitNanos; // AetherSpigot - the last hit this player received a timed knockback packet for
+    public final xyz.aether.spigot.combat.data.PositionHistory positionHistory = new xyz.aether.spigot.combat.data.PositionHistory(); // AetherSpigot
     public boolean viewingCredits;
 
     // CraftBukkit start
@@ -0,0 +1,271 @@
+package net.minecraft.server;
+
+import com.google.common.base.Predicate;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * World-wide spatial hash of the entities registered in loaded chunks, used for bounding box queries.
+ * <p>
+ * Entities are bucketed into 8x8 block columns by the minimum corner of their bounding box, and moved
+ * between columns whenever their bounding box is set. Entities wider than {@link #MAX_WIDTH} are kept in
+ * a separate list that every query scans. Membership mirrors {@link Chunk#entitySlices}: entities are
+ * added and removed together with their chunk slice.
+ */
+final class EntitySpatialIndex {
+
+    private static final int CELL_SHIFT = 3;
+    private static final double MAX_WIDTH = 4.0D;
+    private static final long LARGE = ChunkCoordIntPair.a(Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    private final Long2ObjectOpenHashMap<Cell> cells = new Long2ObjectOpenHashMap<Cell>();
+    private final Cell large = new Cell();
+
+    void add(Entity entity) {
+        if (entity.spatialIndex == this) {
+            this.move(entity);
+            return;
+        }
+        if (entity.spatialIndex != null) {
+            entity.spatialIndex.remove(entity);
+        }
+
+        entity.spatialIndex = this;
+        this.insert(entity, key(entity.getBoundingBox()));
+    }
+
+    void remove(Entity entity) {
+        if (entity.spatialIndex != this) {
+            return;
+        }
+
+        this.unlink(entity);
+        entity.spatialIndex = null;
+    }
+
+    void move(Entity entity) {
+        long key = key(entity.getBoundingBox());
+
+        if (key != entity.spatialCell) {
+            this.unlink(entity);
+            this.insert(entity, key);
+        }
+    }
+
+    /**
+     * Adds the entities whose bounding box intersects the box, and the parts of those entities that do
+     * too, matching {@link Chunk#a(Entity, AxisAlignedBB, List, Predicate)}.
+     */
+    void getEntities(Entity except, AxisAlignedBB axisalignedbb, List<Entity> list, Predicate<? super Entity> predicate) {
+        int minX = MathHelper.floor(axisalignedbb.a - MAX_WIDTH) >> CELL_SHIFT;
+        int maxX = MathHelper.floor(axisalignedbb.d) >> CELL_SHIFT;
+        int minZ = MathHelper.floor(axisalignedbb.c - MAX_WIDTH) >> CELL_SHIFT;
+        int maxZ = MathHelper.floor(axisalignedbb.f) >> CELL_SHIFT;
+
+        boolean inventories = predicate == IEntitySelector.c;
+
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > this.cells.size()) {
+            for (Cell cell : this.getCells(minX, maxX, minZ, maxZ)) {
+                // Only inventory entities can match, see Chunk#a(Entity, AxisAlignedBB, List, Predicate)
+                if (!inventories || cell.inventoryEntities > 0) {
+                    cell.getEntities(except, axisalignedbb, list, predicate);
+                }
+            }
+        } else {
+            for (int x = minX; x <= maxX; ++x) {
+                for (int z = minZ; z <= maxZ; ++z) {
+                    Cell cell = this.cells.get(ChunkCoordIntPair.a(x, z));
+
+                    if (cell != null && (!inventories || cell.inventoryEntities > 0)) {
+                        cell.getEntities(except, axisalignedbb, list, predicate);
+                    }
+                }
+            }
+        }
+
+        this.large.getEntities(except, axisalignedbb, list, predicate);
+    }
+
+    /**
+     * Adds the entities of the given type whose bounding box intersects the box, matching
+     * {@link Chunk#a(Class, AxisAlignedBB, List, Predicate)}.
+     */
+    <T extends Entity> void getEntities(Class<? extends T> oclass, AxisAlignedBB axisalignedbb, List<T> list, Predicate<? super T> predicate) {
+        int minX = MathHelper.floor(axisalignedbb.a - MAX_WIDTH) >> CELL_SHIFT;
+        int maxX = MathHelper.floor(axisalignedbb.d) >> CELL_SHIFT;
+        int minZ = MathHelper.floor(axisalignedbb.c - MAX_WIDTH) >> CELL_SHIFT;
+        int maxZ = MathHelper.floor(axisalignedbb.f) >> CELL_SHIFT;
+
+        boolean items = EntityItem.class.isAssignableFrom(oclass);
+        boolean inventories = IInventory.class.isAssignableFrom(oclass);
+
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > this.cells.size()) {
+            for (Cell cell : this.getCells(minX, maxX, minZ, maxZ)) {
+                // Don't check a column if it doesn't have the type we are looking for
+                if ((!items || cell.items > 0) && (!inventories || cell.inventoryEntities > 0)) {
+                    cell.getEntities(oclass, axisalignedbb, list, predicate);
+                }
+            }
+        } else {
+            for (int x = minX; x <= maxX; ++x) {
+                for (int z = minZ; z <= maxZ; ++z) {
+                    Cell cell = this.cells.get(ChunkCoordIntPair.a(x, z));
+
+                    if (cell != null && (!items || cell.items > 0) && (!inventories || cell.inventoryEntities > 0)) {
+                        cell.getEntities(oclass, axisalignedbb, list, predicate);
+                    }
+                }
+            }
+        }
+
+        this.large.getEntities(oclass, axisalignedbb, list, predicate);
+    }
+
+    /**
+     * The columns in the range that have entities, found by scanning the index when the range covers more
+     * columns than it has. They are ordered by x and then z, the same order walking the range visits them in.
+     */
+    private Cell[] getCells(int minX, int maxX, int minZ, int maxZ) {
+        long[] order = new long[this.cells.size()];
+        int size = 0;
+        LongIterator iterator = this.cells.keySet().iterator();
+
+        while (iterator.hasNext()) {
+            long key = iterator.nextLong();
+            int x = (int) key;
+            int z = (int) (key >> 32);
+
+            if (x >= minX && x <= maxX && z >= minZ && z <= maxZ) {
+                // Flip the sign bits so the signed comparison of the packed coordinates sorts by x, then z
+                order[size++] = (long) (x ^ Integer.MIN_VALUE) << 32 | (z ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+            }
+        }
+
+        Arrays.sort(order, 0, size);
+
+        Cell[] result = new Cell[size];
+
+        for (int i = 0; i < size; ++i) {
+            int x = (int) (order[i] >> 32) ^ Integer.MIN_VALUE;
+            int z = (int) order[i] ^ Integer.MIN_VALUE;
+
+            result[i] = this.cells.get(ChunkCoordIntPair.a(x, z));
+        }
+
+        return result;
+    }
+
+    private static long key(AxisAlignedBB axisalignedbb) {
+        if (axisalignedbb.d - axisalignedbb.a > MAX_WIDTH || axisalignedbb.f - axisalignedbb.c > MAX_WIDTH) {
+            return LARGE;
+        }
+
+        return ChunkCoordIntPair.a(MathHelper.floor(axisalignedbb.a) >> CELL_SHIFT, MathHelper.floor(axisalignedbb.c) >> CELL_SHIFT);
+    }
+
+    private void insert(Entity entity, long key) {
+        Cell cell;
+
+        if (key == LARGE) {
+            cell = this.large;
+        } else {
+            cell = this.cells.get(key);
+            if (cell == null) {
+                cell = new Cell();
+                this.cells.put(key, cell);
+            }
+        }
+
+        entity.spatialCell = key;
+        cell.add(entity);
+    }
+
+    private void unlink(Entity entity) {
+        long key = entity.spatialCell;
+        Cell cell = key == LARGE ? this.large : this.cells.get(key);
+
+        cell.remove(entity);
+        if (cell.size == 0 && key != LARGE) {
+            this.cells.remove(key);
+        }
+    }
+
+    private static final class Cell {
+
+        private Entity[] entities = new Entity[4];
+        private int size;
+        // PaperSpigot's per chunk section counts, kept per column
+        private int items;
+        private int inventoryEntities;
+
+        void add(Entity entity) {
+            if (this.size == this.entities.length) {
+                this.entities = Arrays.copyOf(this.entities, this.size << 1);
+            }
+
+            entity.spatialSlot = this.size;
+            this.entities[this.size++] = entity;
+            if (entity instanceof EntityItem) {
+                ++this.items;
+            } else if (entity instanceof IInventory) {
+                ++this.inventoryEntities;
+            }
+        }
+
+        void remove(Entity entity) {
+            if (entity instanceof EntityItem) {
+                --this.items;
+            } else if (entity instanceof IInventory) {
+                --this.inventoryEntities;
+            }
+
+            int slot = entity.spatialSlot;
+            Entity last = this.entities[--this.size];
+
+            this.entities[slot] = last;
+            last.spatialSlot = slot;
+            this.entities[this.size] = null;
+        }
+
+        void getEntities(Entity except, AxisAlignedBB axisalignedbb, List<Entity> list, Predicate<? super Entity> predicate) {
+            for (int i = 0; i < this.size; ++i) {
+                Entity entity = this.entities[i];
+
+                if (entity.getBoundingBox().b(axisalignedbb) && entity != except) {
+                    if (predicate == null || predicate.apply(entity)) {
+                        list.add(entity);
+                    }
+
+                    Entity[] aentity = entity.aB();
+
+                    if (aentity != null) {
+                        for (int j = 0; j < aentity.length; ++j) {
+                            Entity part = aentity[j];
+
+                            if (part != except && part.getBoundingBox().b(axisalignedbb) && (predicate == null || predicate.apply(part))) {
+                                list.add(part);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        <T extends Entity> void getEntities(Class<? extends T> oclass, AxisAlignedBB axisalignedbb, List<T> list, Predicate<? super T> predicate) {
+            for (int i = 0; i < this.size; ++i) {
+                Entity entity = this.entities[i];
+
+                if (oclass.isInstance(entity) && entity.getBoundingBox().b(axisalignedbb)) {
+                    T t = oclass.cast(entity);
+
+                    if (predicate == null || predicate.apply(t)) {
+                        list.add(t);
+                    }
+                }
+            }
+        }
+    }
+}
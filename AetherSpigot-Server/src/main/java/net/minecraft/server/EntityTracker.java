@@ -212,6 +212,16 @@ public class EntityTracker {
 
     }
 
+    // AetherSpigot start
+    public void relayMovement(EntityPlayer entityplayer) {
+        EntityTrackerEntry entitytrackerentry = this.trackedEntities.get(entityplayer.getId());
+
+        if (entitytrackerentry != null) {
+            entitytrackerentry.relayMovement();
+        }
+    }
+    // AetherSpigot end
+
     public void sendPacketToEntity(Entity entity, Packet packet) {
         EntityTrackerEntry entitytrackerentry = (EntityTrackerEntry) this.trackedEntities.get(entity.getId());
 
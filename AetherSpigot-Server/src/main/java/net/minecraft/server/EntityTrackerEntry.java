@@ -40,6 +40,7 @@ public class EntityTrackerEntry {
     private boolean ridingEntity;
     private boolean onGround;
     public boolean n;
+    private int relayedTick = -1; // AetherSpigot
     // PaperSpigot start
     // Replace trackedPlayers Set with a Map. The value is true until the player receives
     // their first update (which is forced to have absolute coordinates), false afterward.
@@ -116,94 +117,12 @@ public class EntityTrackerEntry {
             int j;
 
             if (this.tracker.vehicle == null) {
+                // AetherSpigot start - moved into sendMovement, skipped if the movement was already relayed this tick
                 ++this.ticksSinceLastForcedTeleport;
-                // AetherSpigot start
-                i = (int) Math.round(this.tracker.locX * 32.0D);
-                j = (int) Math.round(this.tracker.locY * 32.0D);
-                int k = (int) Math.round(this.tracker.locZ * 32.0D);
-                int l = Math.round(this.tracker.yaw * 256.0F / 360.0F);
-                int i1 = Math.round(this.tracker.pitch * 256.0F / 360.0F);
-                // AetherSpigot end
-                int j1 = i - this.xLoc;
-                int k1 = j - this.yLoc;
-                int l1 = k - this.zLoc;
-                Packet<PacketListenerPlayOut> packet = null;
-                boolean flag = Math.abs(j1) >= 4 || Math.abs(k1) >= 4 || Math.abs(l1) >= 4 || this.updateCounter % 60 == 0;
-                boolean flag1 = Math.abs(l - this.yRot) >= 4 || Math.abs(i1 - this.xRot) >= 4;
-
-                if (this.updateCounter > 0 || this.tracker instanceof EntityArrow) { // PaperSpigot - Moved up
-                    // CraftBukkit start - Code moved from below
-                    if (flag) {
-                        this.xLoc = i;
-                        this.yLoc = j;
-                        this.zLoc = k;
-                    }
-
-                    if (flag1) {
-                        this.yRot = l;
-                        this.xRot = i1;
-                    }
-                    // CraftBukkit end
-
-                    if (j1 >= -128 && j1 < 128 && k1 >= -128 && k1 < 128 && l1 >= -128 && l1 < 128 && this.ticksSinceLastForcedTeleport <= 400 && !this.ridingEntity && this.onGround == this.tracker.onGround) {
-                        if ((!flag || !flag1) && !(this.tracker instanceof EntityArrow)) {
-                            if (flag) {
-                                packet = new PacketPlayOutEntity.PacketPlayOutRelEntityMove(this.tracker.getId(), (byte) j1, (byte) k1, (byte) l1, this.tracker.onGround);
-                            } else if (flag1) {
-                                packet = new PacketPlayOutEntity.PacketPlayOutEntityLook(this.tracker.getId(), (byte) l, (byte) i1, this.tracker.onGround);
-                            }
-                        } else {
-                            packet = new PacketPlayOutEntity.PacketPlayOutRelEntityMoveLook(this.tracker.getId(), (byte) j1, (byte) k1, (byte) l1, (byte) l, (byte) i1, this.tracker.onGround);
-                        }
-                    } else {
-                        this.onGround = this.tracker.onGround;
-                        this.ticksSinceLastForcedTeleport = 0;
-                        // CraftBukkit start - Refresh list of who can see a player before sending teleport packet
-                        if (this.tracker instanceof EntityPlayer) {
-                            this.scanPlayers(new java.util.ArrayList(this.trackedPlayers));
-                        }
-                        // CraftBukkit end
-                        packet = new PacketPlayOutEntityTeleport(this.tracker.getId(), i, j, k, (byte) l, (byte) i1, this.tracker.onGround);
-                    }
-                }
-
-                if (this.sendVelocityUpdates) {
-                    double d0 = this.tracker.motX - this.j;
-                    double d1 = this.tracker.motY - this.k;
-                    double d2 = this.tracker.motZ - this.l;
-                    double d3 = 0.02D;
-                    double d4 = d0 * d0 + d1 * d1 + d2 * d2;
-
-                    if (d4 > d3 * d3 || d4 > 0.0D && this.tracker.motX == 0.0D && this.tracker.motY == 0.0D && this.tracker.motZ == 0.0D) {
-                        this.j = this.tracker.motX;
-                        this.k = this.tracker.motY;
-                        this.l = this.tracker.motZ;
-                        this.broadcast(new PacketPlayOutEntityVelocity(this.tracker.getId(), this.j, this.k, this.l));
-                    }
-                }
-
-                if (packet != null) {
-                    // PaperSpigot start - ensure fresh viewers get an absolute position on their first update,
-                    // since we can't be certain what position they received in the spawn packet.
-                    if (packet instanceof PacketPlayOutEntityTeleport) {
-                        this.broadcast((Packet) packet);
-                    } else {
-                        PacketPlayOutEntityTeleport teleportPacket = null;
-
-                        for (java.util.Map.Entry<EntityPlayer, Boolean> viewer : trackedPlayerMap.entrySet()) {
-                            if (viewer.getValue()) {
-                                viewer.setValue(false);
-                                if (teleportPacket == null) {
-                                    teleportPacket = new PacketPlayOutEntityTeleport(this.tracker.getId(), i, j, k, (byte) l, (byte) i1, this.tracker.onGround);
-                                }
-                                viewer.getKey().playerConnection.sendPacket(teleportPacket);
-                            } else {
-                                viewer.getKey().playerConnection.sendPacket((Packet) packet);
-                            }
-                        }
-                    }
-                    // PaperSpigot end
+                if (this.relayedTick != MinecraftServer.currentTick) {
+                    this.sendMovement();
                 }
+                // AetherSpigot end
 
                 this.sendMetadataToAllAssociatedPlayers();
                 /* CraftBukkit start - Code moved up
@@ -281,6 +200,131 @@ public class EntityTrackerEntry {
 
     }
 
+    // AetherSpigot start
+    /**
+     * Sends the movement of a player who is not riding anything to the viewers right away, instead of at the
+     * end of the tick. The end of tick update then skips the movement packets of this entry.
+     * <p>
+     * The packets of a relay are flushed once per viewer, like the tracker flushes once per tick.
+     */
+    public void relayMovement() {
+        if (this.tracker.vehicle != null || this.ridingEntity || this.updateCounter == 0) {
+            return;
+        }
+
+        List<NetworkManager> disabledFlushes = new java.util.ArrayList<NetworkManager>(this.trackedPlayers.size());
+        for (EntityPlayer viewer : this.trackedPlayers) {
+            if (viewer.playerConnection != null) {
+                viewer.playerConnection.networkManager.disableAutomaticFlush();
+                disabledFlushes.add(viewer.playerConnection.networkManager);
+            }
+        }
+
+        try {
+            this.sendMovement();
+            this.relayedTick = MinecraftServer.currentTick;
+
+            int i = Math.round(this.tracker.getHeadRotation() * 256.0F / 360.0F);
+            if (Math.abs(i - this.lastHeadMotion) >= 4) {
+                this.broadcast(new PacketPlayOutEntityHeadRotation(this.tracker, (byte) i));
+                this.lastHeadMotion = i;
+            }
+        } finally {
+            for (NetworkManager networkManager : disabledFlushes) {
+                networkManager.enableAutomaticFlush();
+            }
+        }
+    }
+
+    private void sendMovement() {
+        int i = (int) Math.round(this.tracker.locX * 32.0D);
+        int j = (int) Math.round(this.tracker.locY * 32.0D);
+        int k = (int) Math.round(this.tracker.locZ * 32.0D);
+        int l = Math.round(this.tracker.yaw * 256.0F / 360.0F);
+        int i1 = Math.round(this.tracker.pitch * 256.0F / 360.0F);
+        int j1 = i - this.xLoc;
+        int k1 = j - this.yLoc;
+        int l1 = k - this.zLoc;
+        Packet<PacketListenerPlayOut> packet = null;
+        boolean flag = Math.abs(j1) >= 4 || Math.abs(k1) >= 4 || Math.abs(l1) >= 4 || this.updateCounter % 60 == 0;
+        boolean flag1 = Math.abs(l - this.yRot) >= 4 || Math.abs(i1 - this.xRot) >= 4;
+
+        if (this.updateCounter > 0 || this.tracker instanceof EntityArrow) { // PaperSpigot - Moved up
+            // CraftBukkit start - Code moved from below
+            if (flag) {
+                this.xLoc = i;
+                this.yLoc = j;
+                this.zLoc = k;
+            }
+
+            if (flag1) {
+                this.yRot = l;
+                this.xRot = i1;
+            }
+            // CraftBukkit end
+
+            if (j1 >= -128 && j1 < 128 && k1 >= -128 && k1 < 128 && l1 >= -128 && l1 < 128 && this.ticksSinceLastForcedTeleport <= 400 && !this.ridingEntity && this.onGround == this.tracker.onGround) {
+                if ((!flag || !flag1) && !(this.tracker instanceof EntityArrow)) {
+                    if (flag) {
+                        packet = new PacketPlayOutEntity.PacketPlayOutRelEntityMove(this.tracker.getId(), (byte) j1, (byte) k1, (byte) l1, this.tracker.onGround);
+                    } else if (flag1) {
+                        packet = new PacketPlayOutEntity.PacketPlayOutEntityLook(this.tracker.getId(), (byte) l, (byte) i1, this.tracker.onGround);
+                    }
+                } else {
+                    packet = new PacketPlayOutEntity.PacketPlayOutRelEntityMoveLook(this.tracker.getId(), (byte) j1, (byte) k1, (byte) l1, (byte) l, (byte) i1, this.tracker.onGround);
+                }
+            } else {
+                this.onGround = this.tracker.onGround;
+                this.ticksSinceLastForcedTeleport = 0;
+                // CraftBukkit start - Refresh list of who can see a player before sending teleport packet
+                if (this.tracker instanceof EntityPlayer) {
+                    this.scanPlayers(new java.util.ArrayList(this.trackedPlayers));
+                }
+                // CraftBukkit end
+                packet = new PacketPlayOutEntityTeleport(this.tracker.getId(), i, j, k, (byte) l, (byte) i1, this.tracker.onGround);
+            }
+        }
+
+        if (this.sendVelocityUpdates) {
+            double d0 = this.tracker.motX - this.j;
+            double d1 = this.tracker.motY - this.k;
+            double d2 = this.tracker.motZ - this.l;
+            double d3 = 0.02D;
+            double d4 = d0 * d0 + d1 * d1 + d2 * d2;
+
+            if (d4 > d3 * d3 || d4 > 0.0D && this.tracker.motX == 0.0D && this.tracker.motY == 0.0D && this.tracker.motZ == 0.0D) {
+                this.j = this.tracker.motX;
+                this.k = this.tracker.motY;
+                this.l = this.tracker.motZ;
+                this.broadcast(new PacketPlayOutEntityVelocity(this.tracker.getId(), this.j, this.k, this.l));
+            }
+        }
+
+        if (packet != null) {
+            // PaperSpigot start - ensure fresh viewers get an absolute position on their first update,
+            // since we can't be certain what position they received in the spawn packet.
+            if (packet instanceof PacketPlayOutEntityTeleport) {
+                this.broadcast((Packet) packet);
+            } else {
+                PacketPlayOutEntityTeleport teleportPacket = null;
+
+                for (java.util.Map.Entry<EntityPlayer, Boolean> viewer : trackedPlayerMap.entrySet()) {
+                    if (viewer.getValue()) {
+                        viewer.setValue(false);
+                        if (teleportPacket == null) {
+                            teleportPacket = new PacketPlayOutEntityTeleport(this.tracker.getId(), i, j, k, (byte) l, (byte) i1, this.tracker.onGround);
+                        }
+                        viewer.getKey().playerConnection.sendPacket(teleportPacket);
+                    } else {
+                        viewer.getKey().playerConnection.sendPacket((Packet) packet);
+                    }
+                }
+            }
+            // PaperSpigot end
+        }
+    }
+    // AetherSpigot end
+
     private void sendMetadataToAllAssociatedPlayers() { // AetherSpigot
         DataWatcher datawatcher = this.tracker.getDataWatcher();
 
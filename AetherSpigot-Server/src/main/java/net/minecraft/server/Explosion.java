@@ -3,11 +3,19 @@ package net.minecraft.server;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import xyz.aether.spigot.config.AetherConfig;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 // CraftBukkit start
 import org.bukkit.craftbukkit.event.CraftEventFactory;
@@ -29,6 +37,17 @@ public class Explosion {
     private final float size;
     private final List<BlockPosition> blocks = Lists.newArrayList();
     private final Map<EntityHuman, Vec3D> k = Maps.newHashMap();
+    // AetherSpigot start - the 1352 ray directions on the surface of a 16x16x16 cube
+    private static final int RAY_COUNT = 1352;
+    private static final double[] RAYS = computeRays();
+    // Sources with their own resistance rules may look at the world, so they are marched on the main thread
+    private static final ClassValue<Boolean> OVERRIDES_RESISTANCE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> oclass) {
+            return overridesResistance(oclass);
+        }
+    };
+    // AetherSpigot end
     public boolean wasCanceled = false; // CraftBukkit - add field
 
     public Explosion(World world, Entity entity, double d0, double d1, double d2, float f, boolean flag, boolean flag1) {
@@ -48,7 +67,7 @@ public class Explosion {
             return;
         }
         // CraftBukkit end
-        HashSet hashset = Sets.newHashSet();
+        HashSet<BlockPosition> hashset = Sets.newHashSet(); // AetherSpigot - typed for march
         boolean flag = true;
 
         int i;
@@ -57,45 +76,17 @@ public class Explosion {
         Block block = world.getChunkAt((int) posX >> 4, (int) posZ >> 4).getBlockData(new BlockPosition(posX, posY, posZ)).getBlock(); // PandaSpigot - get block of the explosion
 
         if (!this.world.pandaSpigotConfig.optimizeLiquidExplosions || !block.getMaterial().isLiquid()) { // PandaSpigot - skip calculating what blocks to blow up in water/lava
-        for (int k = 0; k < 16; ++k) {
-            for (i = 0; i < 16; ++i) {
-                for (j = 0; j < 16; ++j) {
-                    if (k == 0 || k == 15 || i == 0 || i == 15 || j == 0 || j == 15) {
-                        double d0 = (double) ((float) k / 15.0F * 2.0F - 1.0F);
-                        double d1 = (double) ((float) i / 15.0F * 2.0F - 1.0F);
-                        double d2 = (double) ((float) j / 15.0F * 2.0F - 1.0F);
-                        double d3 = Math.sqrt(d0 * d0 + d1 * d1 + d2 * d2);
+        // AetherSpigot start - draw the ray strengths up front, in the original order, then march the rays
+        float[] strengths = new float[RAY_COUNT];
 
-                        d0 /= d3;
-                        d1 /= d3;
-                        d2 /= d3;
-                        float f = this.size * (0.7F + this.world.random.nextFloat() * 0.6F);
-                        double d4 = this.posX;
-                        double d5 = this.posY;
-                        double d6 = this.posZ;
-
-                        for (float f1 = 0.3F; f > 0.0F; f -= 0.22500001F) {
-                            BlockPosition blockposition = new BlockPosition(d4, d5, d6);
-                            IBlockData iblockdata = this.world.getType(blockposition);
-
-                            if (iblockdata.getBlock().getMaterial() != Material.AIR) {
-                                float f2 = this.source != null ? this.source.a(this, this.world, blockposition, iblockdata) : iblockdata.getBlock().a((Entity) null);
-
-                                f -= (f2 + 0.3F) * 0.3F;
-                            }
-
-                            if (f > 0.0F && (this.source == null || this.source.a(this, this.world, blockposition, iblockdata, f)) && blockposition.getY() < 256 && blockposition.getY() >= 0) { // CraftBukkit - don't wrap explosions
-                                hashset.add(blockposition);
-                            }
+        for (int k = 0; k < RAY_COUNT; ++k) {
+            strengths[k] = this.size * (0.7F + this.world.random.nextFloat() * 0.6F);
+        }
 
-                            d4 += d0 * 0.30000001192092896D;
-                            d5 += d1 * 0.30000001192092896D;
-                            d6 += d2 * 0.30000001192092896D;
-                        }
-                    }
-                }
-            }
+        if (!this.world.aetherWorldConfig.parallelExplosions || !this.marchParallel(strengths, hashset)) {
+            this.march(strengths, 0, RAY_COUNT, null, hashset);
         }
+        // AetherSpigot end
         } // PandaSpigot
 
         this.blocks.addAll(hashset);
@@ -167,6 +158,135 @@ public class Explosion {
 
     }
 
+    // AetherSpigot start
+    /**
+     * Marches the rays in the range, adding the blocks they destroy. Blocks are read through the world's
+     * per-tick explosion cache, or from the snapshot when running on an explosion worker.
+     */
+    private void march(float[] strengths, int from, int to, SectionSnapshot snapshot, Set<BlockPosition> out) {
+        for (int r = from; r < to; ++r) {
+            double d0 = RAYS[r * 3];
+            double d1 = RAYS[r * 3 + 1];
+            double d2 = RAYS[r * 3 + 2];
+            float f = strengths[r];
+            double d4 = this.posX;
+            double d5 = this.posY;
+            double d6 = this.posZ;
+
+            for (float f1 = 0.3F; f > 0.0F; f -= 0.22500001F) {
+                BlockPosition blockposition = new BlockPosition(d4, d5, d6);
+                IBlockData iblockdata = snapshot == null ? this.world.getExplosionBlock(blockposition) : snapshot.getType(blockposition);
+
+                if (iblockdata.getBlock().getMaterial() != Material.AIR) {
+                    float f2 = this.source != null ? this.source.a(this, this.world, blockposition, iblockdata) : iblockdata.getBlock().a((Entity) null);
+
+                    f -= (f2 + 0.3F) * 0.3F;
+                }
+
+                if (f > 0.0F && (this.source == null || this.source.a(this, this.world, blockposition, iblockdata, f)) && blockposition.getY() < 256 && blockposition.getY() >= 0) { // CraftBukkit - don't wrap explosions
+                    out.add(blockposition);
+                }
+
+                d4 += d0 * 0.30000001192092896D;
+                d5 += d1 * 0.30000001192092896D;
+                d6 += d2 * 0.30000001192092896D;
+            }
+        }
+    }
+
+    /**
+     * Splits the rays between the explosion workers and the main thread, against a snapshot of the chunks in
+     * reach. The destroyed blocks are merged into one set, so the result does not depend on which thread
+     * marched which ray.
+     *
+     * @return false if the explosion can't be evaluated off the main thread
+     */
+    private boolean marchParallel(final float[] strengths, Set<BlockPosition> out) {
+        if (this.source != null && OVERRIDES_RESISTANCE.get(this.source.getClass())) {
+            return false;
+        }
+
+        int reach = MathHelper.f(this.size * 1.8F) + 1;
+        BlockPosition center = new BlockPosition(this.posX, this.posY, this.posZ);
+        final SectionSnapshot snapshot = new SectionSnapshot(this.world, center.a(-reach, -reach, -reach), center.a(reach, reach, reach));
+
+        if (!snapshot.isComplete()) {
+            return false;
+        }
+
+        int parts = Workers.THREADS + 1;
+        List<Future<Set<BlockPosition>>> futures = Lists.newArrayListWithCapacity(Workers.THREADS);
+
+        for (int part = 1; part < parts; ++part) {
+            final int from = RAY_COUNT * part / parts;
+            final int to = RAY_COUNT * (part + 1) / parts;
+
+            futures.add(Workers.EXECUTOR.submit(new Callable<Set<BlockPosition>>() {
+                @Override
+                public Set<BlockPosition> call() {
+                    Set<BlockPosition> set = new HashSet<BlockPosition>();
+
+                    Explosion.this.march(strengths, from, to, snapshot, set);
+                    return set;
+                }
+            }));
+        }
+
+        this.march(strengths, 0, RAY_COUNT / parts, snapshot, out);
+        try {
+            for (Future<Set<BlockPosition>> future : futures) {
+                out.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+
+        return true;
+    }
+
+    private static double[] computeRays() {
+        double[] rays = new double[RAY_COUNT * 3];
+        int n = 0;
+
+        for (int k = 0; k < 16; ++k) {
+            for (int i = 0; i < 16; ++i) {
+                for (int j = 0; j < 16; ++j) {
+                    if (k == 0 || k == 15 || i == 0 || i == 15 || j == 0 || j == 15) {
+                        double d0 = (double) ((float) k / 15.0F * 2.0F - 1.0F);
+                        double d1 = (double) ((float) i / 15.0F * 2.0F - 1.0F);
+                        double d2 = (double) ((float) j / 15.0F * 2.0F - 1.0F);
+                        double d3 = Math.sqrt(d0 * d0 + d1 * d1 + d2 * d2);
+
+                        rays[n++] = d0 / d3;
+                        rays[n++] = d1 / d3;
+                        rays[n++] = d2 / d3;
+                    }
+                }
+            }
+        }
+
+        return rays;
+    }
+
+    private static boolean overridesResistance(Class<?> oclass) {
+        try {
+            return oclass.getMethod("a", Explosion.class, World.class, BlockPosition.class, IBlockData.class).getDeclaringClass() != Entity.class
+                    || oclass.getMethod("a", Explosion.class, World.class, BlockPosition.class, IBlockData.class, float.class).getDeclaringClass() != Entity.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    private static final class Workers {
+
+        static final int THREADS = Math.max(1, AetherConfig.explosionThreads);
+        static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, new ThreadFactoryBuilder().setDaemon(true).setNameFormat("AetherSpigot Explosion Thread - #%d").build());
+    }
+    // AetherSpigot end
+
     public void a(boolean flag) {
         // PaperSpigot start - Configurable TNT explosion volume.
         float volume = source instanceof EntityTNTPrimed ? world.paperSpigotConfig.tntExplosionVolume : 4.0F;
@@ -0,0 +1,37 @@
+package net.minecraft.server;
+
+/**
+ * A chunk provider whose generation is split into a thread-safe terrain stage and a main thread stage.
+ * <p>
+ * The terrain stage covers noise, biome lookup and surface building, and may run on any thread.
+ * Carving, structure placement and building the {@link Chunk} happen in {@link #finishChunk(Terrain)},
+ * which must be called on the main thread. Population is unchanged and still driven by
+ * {@link Chunk#loadNearby(IChunkProvider, IChunkProvider, int, int)}.
+ */
+public interface IAsyncChunkProvider extends IChunkProvider {
+
+    /**
+     * Generates the base terrain of a chunk. Safe to call from any thread.
+     */
+    Terrain generateTerrain(int i, int j);
+
+    /**
+     * Carves the terrain, places structures and creates the chunk. Main thread only.
+     */
+    Chunk finishChunk(Terrain terrain);
+
+    class Terrain {
+
+        public final int x;
+        public final int z;
+        final ChunkSnapshot snapshot;
+        final byte[] biomes;
+
+        Terrain(int x, int z, ChunkSnapshot snapshot, byte[] biomes) {
+            this.x = x;
+            this.z = z;
+            this.snapshot = snapshot;
+            this.biomes = biomes;
+        }
+    }
+}
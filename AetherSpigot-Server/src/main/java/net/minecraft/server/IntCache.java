@@ -5,59 +5,83 @@ import java.util.List;
 
 public class IntCache {
 
-    private static int a = 256;
-    private static List<int[]> b = Lists.newArrayList();
-    private static List<int[]> c = Lists.newArrayList();
-    private static List<int[]> d = Lists.newArrayList();
-    private static List<int[]> e = Lists.newArrayList();
+    // AetherSpigot start - one cache per thread, so GenLayers can run on terrain generation workers
+    private static final ThreadLocal<IntCache> CACHE = new ThreadLocal<IntCache>() {
+        @Override
+        protected IntCache initialValue() {
+            return new IntCache();
+        }
+    };
+
+    private int a = 256;
+    private final List<int[]> b = Lists.newArrayList();
+    private final List<int[]> c = Lists.newArrayList();
+    private final List<int[]> d = Lists.newArrayList();
+    private final List<int[]> e = Lists.newArrayList();
+
+    private IntCache() {}
+
+    public static int[] a(int i) {
+        return CACHE.get().get(i);
+    }
+
+    public static void a() {
+        CACHE.get().reset();
+    }
+
+    public static String b() {
+        return CACHE.get().toString();
+    }
 
-    public static synchronized int[] a(int i) {
+    private int[] get(int i) {
+    // AetherSpigot end
         int[] aint;
 
         if (i <= 256) {
-            if (IntCache.b.isEmpty()) {
+            if (this.b.isEmpty()) {
                 aint = new int[256];
-                if (c.size() < org.spigotmc.SpigotConfig.intCacheLimit) IntCache.c.add(aint);
+                if (c.size() < org.spigotmc.SpigotConfig.intCacheLimit) this.c.add(aint);
                 return aint;
             } else {
-                aint = (int[]) IntCache.b.remove(IntCache.b.size() - 1);
-                if (c.size() < org.spigotmc.SpigotConfig.intCacheLimit) IntCache.c.add(aint);
+                aint = (int[]) this.b.remove(this.b.size() - 1);
+                if (c.size() < org.spigotmc.SpigotConfig.intCacheLimit) this.c.add(aint);
                 return aint;
             }
-        } else if (i > IntCache.a) {
-            IntCache.a = i;
-            IntCache.d.clear();
-            IntCache.e.clear();
-            aint = new int[IntCache.a];
-            if (e.size() < org.spigotmc.SpigotConfig.intCacheLimit) IntCache.e.add(aint);
+        } else if (i > this.a) {
+            this.a = i;
+            this.d.clear();
+            this.e.clear();
+            aint = new int[this.a];
+            if (e.size() < org.spigotmc.SpigotConfig.intCacheLimit) this.e.add(aint);
             return aint;
-        } else if (IntCache.d.isEmpty()) {
-            aint = new int[IntCache.a];
-            if (e.size() < org.spigotmc.SpigotConfig.intCacheLimit) IntCache.e.add(aint);
+        } else if (this.d.isEmpty()) {
+            aint = new int[this.a];
+            if (e.size() < org.spigotmc.SpigotConfig.intCacheLimit) this.e.add(aint);
             return aint;
         } else {
-            aint = (int[]) IntCache.d.remove(IntCache.d.size() - 1);
-            if (e.size() < org.spigotmc.SpigotConfig.intCacheLimit) IntCache.e.add(aint);
+            aint = (int[]) this.d.remove(this.d.size() - 1);
+            if (e.size() < org.spigotmc.SpigotConfig.intCacheLimit) this.e.add(aint);
             return aint;
         }
     }
 
-    public static synchronized void a() {
-        if (!IntCache.d.isEmpty()) {
-            IntCache.d.remove(IntCache.d.size() - 1);
+    private void reset() { // AetherSpigot - instance method
+        if (!this.d.isEmpty()) {
+            this.d.remove(this.d.size() - 1);
         }
 
-        if (!IntCache.b.isEmpty()) {
-            IntCache.b.remove(IntCache.b.size() - 1);
+        if (!this.b.isEmpty()) {
+            this.b.remove(this.b.size() - 1);
         }
 
-        IntCache.d.addAll(IntCache.e);
-        IntCache.b.addAll(IntCache.c);
-        IntCache.e.clear();
-        IntCache.c.clear();
+        this.d.addAll(this.e);
+        this.b.addAll(this.c);
+        this.e.clear();
+        this.c.clear();
     }
 
-    public static synchronized String b() {
-        return "cache: " + IntCache.d.size() + ", tcache: " + IntCache.b.size() + ", allocated: " + IntCache.e.size() + ", tallocated: " + IntCache.c.size();
+    @Override
+    public String toString() { // AetherSpigot - instance method
+        return "cache: " + this.d.size() + ", tcache: " + this.b.size() + ", allocated: " + this.e.size() + ", tallocated: " + this.c.size();
     }
 }
@@ -27,6 +27,8 @@ public final class ItemStack {
     public int c;
     private Item item;
     private NBTTagCompound tag;
+    private boolean tagShared; // AetherSpigot - tag may also belong to a clone, copy it before changing it
+    private int tagVersion; // AetherSpigot - bumped whenever the tag is replaced or handed out for changes
     private int damage;
     private EntityItemFrame g;
     private Block h;
@@ -89,9 +91,7 @@ public final class ItemStack {
     public ItemStack cloneAndSubtract(int i) {
         ItemStack itemstack = new ItemStack(this.item, i, this.damage);
 
-        if (this.tag != null) {
-            itemstack.tag = (NBTTagCompound) this.tag.clone();
-        }
+        this.shareTag(itemstack); // AetherSpigot
 
         this.count -= i;
         return itemstack;
@@ -273,6 +273,8 @@ public final class ItemStack {
         if (nbttagcompound.hasKeyOfType("tag", 10)) {
             // CraftBukkit - make defensive copy as this data may be coming from the save thread
             this.tag = (NBTTagCompound) nbttagcompound.getCompound("tag").clone();
+            this.tagShared = false; // AetherSpigot
+            ++this.tagVersion; // AetherSpigot
             if (this.item != null) {
                 this.item.a(this.tag);
             }
@@ -294,7 +296,7 @@ public final class ItemStack {
         {
             return false;
         }
-        return ( !hasTag() ) || ( !getTag().getBoolean( "Unbreakable" ) );
+        return ( !hasTag() ) || ( !this.tag.getBoolean( "Unbreakable" ) ); // AetherSpigot - read the tag without copying it
         // Spigot End
     }
 
@@ -450,15 +452,50 @@ public final class ItemStack {
     public ItemStack cloneItemStack() {
         ItemStack itemstack = new ItemStack(this.item, this.count, this.damage);
 
+        this.shareTag(itemstack); // AetherSpigot
+        return itemstack;
+    }
+
+    // AetherSpigot start
+    /**
+     * Returns a clone with its own copy of the tag, for snapshots that must not see the tag of this stack
+     * being changed in place.
+     */
+    public ItemStack cloneItemStackWithOwnTag() {
+        ItemStack itemstack = new ItemStack(this.item, this.count, this.damage);
+
         if (this.tag != null) {
             itemstack.tag = (NBTTagCompound) this.tag.clone();
         }
-
         return itemstack;
     }
 
+    private void shareTag(ItemStack itemstack) {
+        if (this.tag != null) {
+            itemstack.tag = this.tag;
+            itemstack.tagShared = true;
+            this.tagShared = true;
+        }
+    }
+
+    private void unshareTag() {
+        ++this.tagVersion;
+        if (this.tagShared) {
+            this.tag = (NBTTagCompound) this.tag.clone();
+            this.tagShared = false;
+        }
+    }
+
+    /**
+     * @return a number that changes whenever the tag may have changed
+     */
+    public int getTagVersion() {
+        return this.tagVersion;
+    }
+    // AetherSpigot end
+
     public static boolean equals(ItemStack itemstack, ItemStack itemstack1) {
-        return itemstack == null && itemstack1 == null ? true : (itemstack != null && itemstack1 != null ? (itemstack.tag == null && itemstack1.tag != null ? false : itemstack.tag == null || itemstack.tag.equals(itemstack1.tag)) : false);
+        return itemstack == null && itemstack1 == null ? true : (itemstack != null && itemstack1 != null ? (itemstack.tag == null && itemstack1.tag != null ? false : itemstack.tag == null || itemstack.tag == itemstack1.tag || itemstack.tag.equals(itemstack1.tag)) : false); // AetherSpigot - shared tags are equal
     }
 
     // Spigot Start
@@ -478,7 +515,7 @@ public final class ItemStack {
     }
 
     private boolean d(ItemStack itemstack) {
-        return this.count != itemstack.count ? false : (this.item != itemstack.item ? false : (this.damage != itemstack.damage ? false : (this.tag == null && itemstack.tag != null ? false : this.tag == null || this.tag.equals(itemstack.tag))));
+        return this.count != itemstack.count ? false : (this.item != itemstack.item ? false : (this.damage != itemstack.damage ? false : (this.tag == null && itemstack.tag != null ? false : this.tag == null || this.tag == itemstack.tag || this.tag.equals(itemstack.tag)))); // AetherSpigot - shared tags are equal
     }
 
     public static boolean c(ItemStack itemstack, ItemStack itemstack1) {
@@ -531,10 +568,28 @@ public final class ItemStack {
     }
 
     public NBTTagCompound getTag() {
+        this.unshareTag(); // AetherSpigot - the caller may change it
         return this.tag;
     }
 
+    // AetherSpigot start
+    /**
+     * Returns the tag without copying it if it is shared with a clone. The tag must not be changed.
+     */
+    public NBTTagCompound getReadOnlyTag() {
+        return this.tag;
+    }
+
+    /**
+     * Returns the enchantment list without copying the tag if it is shared with a clone. The list must not be changed.
+     */
+    public NBTTagList getReadOnlyEnchantments() {
+        return this.tag == null ? null : this.tag.getList("ench", 10);
+    }
+    // AetherSpigot end
+
     public NBTTagCompound a(String s, boolean flag) {
+        this.unshareTag(); // AetherSpigot
         if (this.tag != null && this.tag.hasKeyOfType(s, 10)) {
             return this.tag.getCompound(s);
         } else if (flag) {
@@ -548,11 +603,14 @@ public final class ItemStack {
     }
 
     public NBTTagList getEnchantments() {
+        this.unshareTag(); // AetherSpigot
         return this.tag == null ? null : this.tag.getList("ench", 10);
     }
 
     public void setTag(NBTTagCompound nbttagcompound) {
         this.tag = nbttagcompound;
+        this.tagShared = false; // AetherSpigot
+        ++this.tagVersion; // AetherSpigot
     }
 
     public String getName() {
@@ -570,6 +628,7 @@ public final class ItemStack {
     }
 
     public ItemStack c(String s) {
+        this.unshareTag(); // AetherSpigot
         if (this.tag == null) {
             this.tag = new NBTTagCompound();
         }
@@ -583,6 +642,7 @@ public final class ItemStack {
     }
 
     public void r() {
+        this.unshareTag(); // AetherSpigot
         if (this.tag != null) {
             if (this.tag.hasKeyOfType("display", 10)) {
                 NBTTagCompound nbttagcompound = this.tag.getCompound("display");
@@ -612,6 +672,7 @@ public final class ItemStack {
     }
 
     public void addEnchantment(Enchantment enchantment, int i) {
+        this.unshareTag(); // AetherSpigot
         if (this.tag == null) {
             this.setTag(new NBTTagCompound());
         }
@@ -633,6 +694,7 @@ public final class ItemStack {
     }
 
     public void a(String s, NBTBase nbtbase) {
+        this.unshareTag(); // AetherSpigot
         if (this.tag == null) {
             this.setTag(new NBTTagCompound());
         }
@@ -661,6 +723,7 @@ public final class ItemStack {
     }
 
     public void setRepairCost(int i) {
+        this.unshareTag(); // AetherSpigot
         if (!this.hasTag()) {
             this.tag = new NBTTagCompound();
         }
@@ -835,6 +835,7 @@ public abstract class MinecraftServer implements Runnable, ICommandListener, IAs
 
         SpigotTimings.chunkIOTickTimer.startTiming(); // Spigot
         org.bukkit.craftbukkit.chunkio.ChunkIOExecutor.tick();
+        org.bukkit.craftbukkit.chunkio.ChunkGenerationExecutor.tick(); // AetherSpigot
         SpigotTimings.chunkIOTickTimer.stopTiming(); // Spigot
 
         SpigotTimings.timeUpdateTimer.startTiming(); // Spigot
@@ -943,6 +944,7 @@ public abstract class MinecraftServer implements Runnable, ICommandListener, IAs
             this.methodProfiler.b();
             this.methodProfiler.b();
             worldserver.explosionDensityCache.clear(); // PaperSpigot - Optimize explosions
+            worldserver.explosionBlockCache.clear(); // AetherSpigot
             // } // CraftBukkit
 
             // this.i[i][this.ticks % 100] = System.nanoTime() - j; // CraftBukkit
@@ -964,6 +966,8 @@ public abstract class MinecraftServer implements Runnable, ICommandListener, IAs
         }
         SpigotTimings.tickablesTimer.stopTiming(); // Spigot
 
+        this.v.flushScoreboardViews(); // AetherSpigot
+
         this.methodProfiler.b();
     }
 
@@ -2,6 +2,8 @@ package net.minecraft.server;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 public abstract class NavigationAbstract {
 
@@ -15,6 +17,18 @@ public abstract class NavigationAbstract {
     private Vec3D h = new Vec3D(0.0D, 0.0D, 0.0D);
     private float i = 1.0F;
     private final Pathfinder j;
+    // AetherSpigot start - asynchronous pathfinding and path cache
+    private Future<PathEntity> pendingPath;
+    private double pendingSpeed;
+    private boolean pendingEntityTarget;
+    private long pendingStart;
+    private long pendingTarget;
+    private long cachedStart = Long.MIN_VALUE;
+    private long cachedTarget;
+    private int cachedTick;
+    private PathEntity cachedPath;
+    private long failedTarget = Long.MIN_VALUE;
+    // AetherSpigot end
 
     public NavigationAbstract(EntityInsentient entityinsentient, World world) {
         this.b = entityinsentient;
@@ -45,16 +59,35 @@ public abstract class NavigationAbstract {
 
             this.c.methodProfiler.a("pathfind");
             BlockPosition blockposition1 = new BlockPosition(this.b);
+            // AetherSpigot start
+            long start = blockposition1.asLong();
+            long target = blockposition.asLong();
+
+            if (this.isCached(start, target)) {
+                this.c.methodProfiler.b();
+                return this.getCachedPath();
+            }
+            this.c.timings.pathfinding.startTiming();
+            // AetherSpigot end
             int i = (int) (f + 8.0F);
             ChunkCache chunkcache = new ChunkCache(this.c, blockposition1.a(-i, -i, -i), blockposition1.a(i, i, i), 0);
             PathEntity pathentity = this.j.a((IBlockAccess) chunkcache, (Entity) this.b, blockposition, f);
 
+            // AetherSpigot start
+            this.c.timings.pathfinding.stopTiming();
+            this.cachePath(start, target, pathentity);
+            // AetherSpigot end
             this.c.methodProfiler.b();
             return pathentity;
         }
     }
 
     public boolean a(double d0, double d1, double d2, double d3) {
+        // AetherSpigot start
+        if (this.c.aetherWorldConfig.asyncPathfinding) {
+            return this.requestPath(new BlockPosition(MathHelper.floor(d0), (int) d1, MathHelper.floor(d2)), null, d3);
+        }
+        // AetherSpigot end
         PathEntity pathentity = this.a((double) MathHelper.floor(d0), (double) ((int) d1), (double) MathHelper.floor(d2));
 
         return this.a(pathentity, d3);
@@ -72,10 +105,24 @@ public abstract class NavigationAbstract {
 
             this.c.methodProfiler.a("pathfind");
             BlockPosition blockposition = (new BlockPosition(this.b)).up();
+            // AetherSpigot start
+            long start = new BlockPosition(this.b).asLong();
+            long target = new BlockPosition(entity).asLong();
+
+            if (this.isCached(start, target)) {
+                this.c.methodProfiler.b();
+                return this.getCachedPath();
+            }
+            this.c.timings.pathfinding.startTiming();
+            // AetherSpigot end
             int i = (int) (f + 16.0F);
             ChunkCache chunkcache = new ChunkCache(this.c, blockposition.a(-i, -i, -i), blockposition.a(i, i, i), 0);
             PathEntity pathentity = this.j.a((IBlockAccess) chunkcache, (Entity) this.b, entity, f);
 
+            // AetherSpigot start
+            this.c.timings.pathfinding.stopTiming();
+            this.cachePath(start, target, pathentity);
+            // AetherSpigot end
             this.c.methodProfiler.b();
             return pathentity;
         }
@@ -86,6 +133,11 @@ public abstract class NavigationAbstract {
         if (this.pathfindFailures > 10 && this.d == null && MinecraftServer.currentTick < this.lastFailure + 40) {
             return false;
         }
+        // AetherSpigot start
+        if (this.c.aetherWorldConfig.asyncPathfinding) {
+            return this.requestPath(null, entity, d0);
+        }
+        // AetherSpigot end
         PathEntity pathentity = this.a(entity);
 
         if (pathentity != null && this.a(pathentity, d0)) {
@@ -102,7 +154,140 @@ public abstract class NavigationAbstract {
     private int pathfindFailures = 0;
     // PaperSpigot end
 
+    // AetherSpigot start
+    /**
+     * Starts a path search on the pathfinding workers, against a snapshot of the surrounding chunks. The
+     * result is applied by {@link #k()} once it is done, through the same path as the synchronous search.
+     * <p>
+     * A search that finds no path, or fails, is reported by the next request for the same target, which
+     * returns {@code false} like a synchronous search would have, so the goal can back off and re-plan.
+     *
+     * @return whether a search was started, or a cached path was applied
+     */
+    private boolean requestPath(BlockPosition blockposition, Entity entity, double d0) {
+        this.cancelPendingPath();
+        if (!this.b()) {
+            return entity == null ? this.a((PathEntity) null, d0) : this.applyEntityPath(null, d0);
+        }
+
+        float f = this.i();
+        BlockPosition blockposition1 = new BlockPosition(this.b);
+        long start = blockposition1.asLong();
+        long target = entity == null ? blockposition.asLong() : new BlockPosition(entity).asLong();
+
+        long failedTarget = this.failedTarget;
+
+        this.failedTarget = Long.MIN_VALUE;
+        if (failedTarget == target) {
+            return this.a((PathEntity) null, d0); // the failure was already counted when the search was applied
+        }
+
+        if (this.isCached(start, target)) {
+            PathEntity pathentity = this.getCachedPath();
+
+            return entity == null ? this.a(pathentity, d0) : this.applyEntityPath(pathentity, d0);
+        }
+
+        double d1;
+        double d2;
+        double d3;
+        int i;
+
+        if (entity == null) {
+            d1 = (double) ((float) blockposition.getX() + 0.5F);
+            d2 = (double) ((float) blockposition.getY() + 0.5F);
+            d3 = (double) ((float) blockposition.getZ() + 0.5F);
+            i = (int) (f + 8.0F);
+        } else {
+            d1 = entity.locX;
+            d2 = entity.getBoundingBox().b;
+            d3 = entity.locZ;
+            blockposition1 = blockposition1.up();
+            i = (int) (f + 16.0F);
+        }
+
+        this.c.timings.pathfindingAsync.startTiming();
+        SectionSnapshot snapshot = new SectionSnapshot(this.c, blockposition1.a(-i, -i, -i), blockposition1.a(i, i, i));
+
+        this.pendingPath = AsyncPathfinder.submit(this.j.getPathfinder(), snapshot, this.b, d1, d2, d3, f);
+        this.c.timings.pathfindingAsync.stopTiming();
+        this.pendingSpeed = d0;
+        this.pendingEntityTarget = entity != null;
+        this.pendingStart = start;
+        this.pendingTarget = target;
+        return true;
+    }
+
+    private void applyPendingPath() {
+        if (this.pendingPath == null || !this.pendingPath.isDone()) {
+            return;
+        }
+
+        Future<PathEntity> future = this.pendingPath;
+        PathEntity pathentity;
+
+        this.pendingPath = null;
+        this.c.timings.pathfindingAsync.startTiming();
+        try {
+            pathentity = future.get();
+            this.cachePath(this.pendingStart, this.pendingTarget, pathentity);
+        } catch (InterruptedException | ExecutionException e) {
+            // The world changed under the search. Not cached, as a search from the same place may well succeed
+            pathentity = null;
+        }
+
+        if (pathentity == null) {
+            this.failedTarget = this.pendingTarget;
+        }
+        if (this.pendingEntityTarget) {
+            this.applyEntityPath(pathentity, this.pendingSpeed);
+        } else {
+            this.a(pathentity, this.pendingSpeed);
+        }
+        this.c.timings.pathfindingAsync.stopTiming();
+    }
+
+    private boolean applyEntityPath(PathEntity pathentity, double d0) {
+        if (pathentity != null && this.a(pathentity, d0)) {
+            this.lastFailure = 0;
+            this.pathfindFailures = 0;
+            return true;
+        } else {
+            this.pathfindFailures++;
+            this.lastFailure = MinecraftServer.currentTick;
+            return false;
+        }
+    }
+
+    private void cancelPendingPath() {
+        if (this.pendingPath != null) {
+            this.pendingPath.cancel(false);
+            this.pendingPath = null;
+        }
+    }
+
+    private boolean isCached(long start, long target) {
+        int ticks = this.c.aetherWorldConfig.pathCacheTicks;
+
+        return ticks > 0 && this.cachedStart == start && this.cachedTarget == target && MinecraftServer.currentTick - this.cachedTick <= ticks;
+    }
+
+    private PathEntity getCachedPath() {
+        return this.cachedPath == null ? null : this.cachedPath.copy();
+    }
+
+    private void cachePath(long start, long target, PathEntity pathentity) {
+        if (this.c.aetherWorldConfig.pathCacheTicks > 0) {
+            this.cachedStart = start;
+            this.cachedTarget = target;
+            this.cachedTick = MinecraftServer.currentTick;
+            this.cachedPath = pathentity == null ? null : pathentity.copy();
+        }
+    }
+    // AetherSpigot end
+
     public boolean a(PathEntity pathentity, double d0) {
+        this.cancelPendingPath(); // AetherSpigot
         if (pathentity == null) {
             this.d = null;
             return false;
@@ -130,7 +315,13 @@ public abstract class NavigationAbstract {
     }
 
     public void k() {
+        this.applyPendingPath(); // AetherSpigot
         ++this.f;
+        // AetherSpigot start - nothing to follow until the pending search is done
+        if (this.pendingPath != null && (this.d == null || this.d.b())) {
+            return;
+        }
+        // AetherSpigot end
         if (!this.m()) {
             Vec3D vec3d;
 
@@ -216,11 +407,12 @@ public abstract class NavigationAbstract {
     }
 
     public boolean m() {
-        return this.d == null || this.d.b();
+        return (this.d == null || this.d.b()) && this.pendingPath == null; // AetherSpigot - a pending search counts as moving
     }
 
     public void n() {
         this.pathfindFailures = 0; this.lastFailure = 0; // PaperSpigot - Pathfinding optimizations
+        this.cancelPendingPath(); // AetherSpigot
         this.d = null;
     }
 
@@ -396,7 +396,13 @@ public class NetworkManager extends SimpleChannelInboundHandler<Packet> {
     private void writePacket(final Packet packet, final GenericFutureListener<? extends Future<? super Void>>[] agenericfuturelistener, Boolean flushConditional) {
         this.packetWrites.getAndIncrement(); // must be before using canFlush
         boolean effectiveFlush = flushConditional == null ? this.canFlush : flushConditional;
-        final boolean flush = effectiveFlush || packet instanceof PacketPlayOutKeepAlive || packet instanceof PacketPlayOutKickDisconnect; // no delay for certain packets
+        // AetherSpigot start - packet priorities
+        PacketPriority priority = PacketPriority.of(packet);
+        EntityPlayer receiver = priority == PacketPriority.COMBAT ? this.getPlayer() : null;
+        final EntityLiving combatVictim = receiver != null ? PacketPriority.getCombatVictim(packet, receiver) : null;
+        final boolean flush = effectiveFlush || priority == PacketPriority.IMMEDIATE || combatVictim != null || packet instanceof PacketPlayOutKeepAlive || packet instanceof PacketPlayOutKickDisconnect; // no delay for certain packets
+        final ChannelFutureListener combatListener = combatVictim != null ? PacketPriority.writeListener(packet, receiver, combatVictim) : null;
+        // AetherSpigot end
         // PandaSpigot end - add flush parameter
         final EnumProtocol enumprotocol = EnumProtocol.a(packet);
         final EnumProtocol enumprotocol1 = (EnumProtocol) this.channel.attr(NetworkManager.c).get();
@@ -430,6 +436,9 @@ public class NetworkManager extends SimpleChannelInboundHandler<Packet> {
                 channelfuture.addListener((ChannelFutureListener) channelFuture -> packet.onPacketDispatchFinish(player, channelFuture));
             }
             // PandaSpigot end
+            if (combatListener != null) {
+                channelfuture.addListener(combatListener); // AetherSpigot - packet latency metrics
+            }
             channelfuture.addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
             // PandaSpigot start
             } catch (Exception e) {
@@ -469,6 +478,9 @@ public class NetworkManager extends SimpleChannelInboundHandler<Packet> {
                     channelfuture.addListener((ChannelFutureListener) channelFuture -> packet.onPacketDispatchFinish(player, channelFuture));
                 }
                 // PandaSpigot end
+                    if (combatListener != null) {
+                        channelfuture.addListener(combatListener); // AetherSpigot - packet latency metrics
+                    }
                     channelfuture.addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
                 // PandaSpigot start
                 } catch (Exception e) {
@@ -503,6 +515,9 @@ public class NetworkManager extends SimpleChannelInboundHandler<Packet> {
                             channelfuture.addListener((ChannelFutureListener) channelFuture -> packet.onPacketDispatchFinish(player, channelFuture));
                         }
                         // PandaSpigot end
+                        if (combatListener != null) {
+                            channelfuture.addListener(combatListener); // AetherSpigot - packet latency metrics
+                        }
                         channelfuture.addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
                         // PandaSpigot start
                     } catch (Exception e) {
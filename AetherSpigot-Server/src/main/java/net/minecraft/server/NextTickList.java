@@ -0,0 +1,354 @@
+package net.minecraft.server;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectHeapPriorityQueue;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Pending scheduled block ticks of a world, replacing the CraftBukkit {@code HashTreeSet}.
+ * <p>
+ * Entries due within the next {@link #WINDOW} ticks live in a ring of per-tick buckets, anything
+ * further out waits in an overflow heap until the window reaches it. Entries that are already overdue
+ * are kept in the head bucket. Polling returns entries in exactly the {@link NextTickListEntry} order.
+ * <p>
+ * Duplicates are detected through an index keyed by the packed block position, with entries at the
+ * same position chained and compared using {@link Block#a(Block, Block)}. A second index groups the
+ * entries by chunk, so collecting the ticks of a chunk does not walk the whole list.
+ * <p>
+ * Removed entries are only unlinked from the indexes and skipped once their bucket is reached.
+ */
+final class NextTickList {
+
+    private static final int WINDOW = 128;
+    private static final int MASK = WINDOW - 1;
+
+    private final Bucket[] buckets = new Bucket[WINDOW];
+    private final ObjectHeapPriorityQueue<NextTickListEntry> overflow = new ObjectHeapPriorityQueue<NextTickListEntry>();
+    private final Long2ObjectOpenHashMap<NextTickListEntry> byPosition = new Long2ObjectOpenHashMap<NextTickListEntry>();
+    private final Long2ObjectOpenHashMap<ReferenceOpenHashSet<NextTickListEntry>> byChunk = new Long2ObjectOpenHashMap<ReferenceOpenHashSet<NextTickListEntry>>();
+    // first tick covered by the ring
+    private long base;
+    private int size;
+    private int windowSize;
+
+    NextTickList() {
+        for (int i = 0; i < WINDOW; ++i) {
+            this.buckets[i] = new Bucket();
+        }
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Schedules the entry, unless an equal entry is already pending.
+     *
+     * @return whether the entry was added
+     */
+    boolean add(NextTickListEntry nextticklistentry) {
+        long key = nextticklistentry.a.asLong();
+        NextTickListEntry head = this.byPosition.get(key);
+
+        for (NextTickListEntry other = head; other != null; other = other.nextAtPosition) {
+            if (other.equals(nextticklistentry)) {
+                return false;
+            }
+        }
+
+        nextticklistentry.nextAtPosition = head;
+        nextticklistentry.queued = true;
+        this.byPosition.put(key, nextticklistentry);
+
+        long chunkKey = ChunkCoordIntPair.a(nextticklistentry.a.getX() >> 4, nextticklistentry.a.getZ() >> 4);
+        ReferenceOpenHashSet<NextTickListEntry> chunkEntries = this.byChunk.get(chunkKey);
+
+        if (chunkEntries == null) {
+            chunkEntries = new ReferenceOpenHashSet<NextTickListEntry>();
+            this.byChunk.put(chunkKey, chunkEntries);
+        }
+        chunkEntries.add(nextticklistentry);
+
+        if (this.size == 0) {
+            // Nothing pending, so the ring can start wherever the new entry is due
+            this.base = nextticklistentry.b;
+        }
+
+        if (nextticklistentry.b < this.base + WINDOW) {
+            this.bucket(nextticklistentry.b).add(nextticklistentry);
+            ++this.windowSize;
+        } else {
+            this.overflow.enqueue(nextticklistentry);
+        }
+
+        ++this.size;
+        return true;
+    }
+
+    /**
+     * Removes and returns the first entry if it is due at or before the given time.
+     */
+    NextTickListEntry poll(long time) {
+        while (this.size > 0) {
+            if (this.windowSize == 0) {
+                this.skipToOverflow();
+            }
+
+            Bucket bucket = this.buckets[(int) this.base & MASK];
+            NextTickListEntry nextticklistentry = bucket.peek();
+
+            if (nextticklistentry != null) {
+                if (nextticklistentry.b > time) {
+                    return null;
+                }
+
+                bucket.pop();
+                this.unlink(nextticklistentry);
+                return nextticklistentry;
+            }
+
+            if (this.base > time) {
+                return null;
+            }
+            this.advance();
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes the entries due at or before the given time that match the filter, and adds them to
+     * {@code out} in tick order.
+     */
+    void removeDue(long time, Predicate<NextTickListEntry> filter, List<NextTickListEntry> out) {
+        int start = out.size();
+
+        for (long t = this.base; t < this.base + WINDOW; ++t) {
+            // overdue entries sit in the head bucket, so it is visited even if base is past the time
+            if (t > time && t != this.base) {
+                break;
+            }
+
+            Bucket bucket = this.buckets[(int) t & MASK];
+
+            bucket.sort();
+            for (int i = bucket.head; i < bucket.tail; ++i) {
+                NextTickListEntry nextticklistentry = bucket.entries[i];
+
+                if (nextticklistentry.b > time) {
+                    break;
+                }
+                if (nextticklistentry.queued && filter.test(nextticklistentry)) {
+                    out.add(nextticklistentry);
+                }
+            }
+        }
+
+        if (time >= this.base + WINDOW && !this.overflow.isEmpty()) {
+            List<NextTickListEntry> pending = new ArrayList<NextTickListEntry>();
+
+            for (NextTickListEntry nextticklistentry : this.overflowEntries()) {
+                if (nextticklistentry.b <= time && nextticklistentry.queued && filter.test(nextticklistentry)) {
+                    pending.add(nextticklistentry);
+                }
+            }
+            Collections.sort(pending);
+            out.addAll(pending);
+        }
+
+        for (int i = start; i < out.size(); ++i) {
+            this.unlink(out.get(i));
+        }
+    }
+
+    /**
+     * Collects the entries inside the horizontal bounds of the box in tick order, only looking at the
+     * chunks it covers.
+     *
+     * @return the entries, or {@code null} if there are none
+     */
+    List<NextTickListEntry> getInBox(StructureBoundingBox structureboundingbox, boolean remove) {
+        List<NextTickListEntry> list = null;
+
+        if (this.size == 0 || structureboundingbox.a >= structureboundingbox.d || structureboundingbox.c >= structureboundingbox.f) {
+            return null;
+        }
+
+        for (int i = structureboundingbox.a >> 4; i <= (structureboundingbox.d - 1) >> 4; ++i) {
+            for (int j = structureboundingbox.c >> 4; j <= (structureboundingbox.f - 1) >> 4; ++j) {
+                ReferenceOpenHashSet<NextTickListEntry> chunkEntries = this.byChunk.get(ChunkCoordIntPair.a(i, j));
+
+                if (chunkEntries == null) {
+                    continue;
+                }
+
+                for (NextTickListEntry nextticklistentry : chunkEntries) {
+                    BlockPosition blockposition = nextticklistentry.a;
+
+                    if (blockposition.getX() >= structureboundingbox.a && blockposition.getX() < structureboundingbox.d && blockposition.getZ() >= structureboundingbox.c && blockposition.getZ() < structureboundingbox.f) {
+                        if (list == null) {
+                            list = new ArrayList<NextTickListEntry>();
+                        }
+                        list.add(nextticklistentry);
+                    }
+                }
+            }
+        }
+
+        if (list != null) {
+            Collections.sort(list);
+            if (remove) {
+                for (NextTickListEntry nextticklistentry : list) {
+                    this.unlink(nextticklistentry);
+                }
+            }
+        }
+
+        return list;
+    }
+
+    private void unlink(NextTickListEntry nextticklistentry) {
+        long key = nextticklistentry.a.asLong();
+        NextTickListEntry head = this.byPosition.get(key);
+
+        if (head == nextticklistentry) {
+            if (nextticklistentry.nextAtPosition == null) {
+                this.byPosition.remove(key);
+            } else {
+                this.byPosition.put(key, nextticklistentry.nextAtPosition);
+            }
+        } else {
+            NextTickListEntry previous = head;
+
+            while (previous.nextAtPosition != nextticklistentry) {
+                previous = previous.nextAtPosition;
+            }
+            previous.nextAtPosition = nextticklistentry.nextAtPosition;
+        }
+        nextticklistentry.nextAtPosition = null;
+        nextticklistentry.queued = false;
+
+        long chunkKey = ChunkCoordIntPair.a(nextticklistentry.a.getX() >> 4, nextticklistentry.a.getZ() >> 4);
+        ReferenceOpenHashSet<NextTickListEntry> chunkEntries = this.byChunk.get(chunkKey);
+
+        chunkEntries.remove(nextticklistentry);
+        if (chunkEntries.isEmpty()) {
+            this.byChunk.remove(chunkKey);
+        }
+
+        if (nextticklistentry.b < this.base + WINDOW) {
+            --this.windowSize;
+        }
+        --this.size;
+    }
+
+    private Bucket bucket(long time) {
+        return this.buckets[(int) Math.max(time, this.base) & MASK];
+    }
+
+    private void advance() {
+        ++this.base;
+        this.drainOverflow();
+    }
+
+    private void skipToOverflow() {
+        while (!this.overflow.isEmpty() && !this.overflow.first().queued) {
+            this.overflow.dequeue();
+        }
+        if (!this.overflow.isEmpty()) {
+            this.base = Math.max(this.base, this.overflow.first().b);
+            this.drainOverflow();
+        }
+    }
+
+    private void drainOverflow() {
+        while (!this.overflow.isEmpty() && this.overflow.first().b < this.base + WINDOW) {
+            NextTickListEntry nextticklistentry = this.overflow.dequeue();
+
+            if (nextticklistentry.queued) {
+                this.bucket(nextticklistentry.b).add(nextticklistentry);
+                ++this.windowSize;
+            }
+        }
+    }
+
+    private List<NextTickListEntry> overflowEntries() {
+        List<NextTickListEntry> list = new ArrayList<NextTickListEntry>(this.overflow.size());
+        NextTickListEntry[] entries = new NextTickListEntry[this.overflow.size()];
+
+        for (int i = 0; i < entries.length; ++i) {
+            entries[i] = this.overflow.dequeue();
+        }
+        for (NextTickListEntry nextticklistentry : entries) {
+            this.overflow.enqueue(nextticklistentry);
+            list.add(nextticklistentry);
+        }
+
+        return list;
+    }
+
+    private static final class Bucket {
+
+        private NextTickListEntry[] entries = new NextTickListEntry[8];
+        private int head;
+        private int tail;
+        private boolean sorted = true;
+
+        void add(NextTickListEntry nextticklistentry) {
+            if (this.tail == this.entries.length) {
+                if (this.head > 0) {
+                    System.arraycopy(this.entries, this.head, this.entries, 0, this.tail - this.head);
+                    Arrays.fill(this.entries, this.tail - this.head, this.tail, null);
+                    this.tail -= this.head;
+                    this.head = 0;
+                } else {
+                    this.entries = Arrays.copyOf(this.entries, this.entries.length << 1);
+                }
+            }
+
+            if (this.tail > this.head && this.entries[this.tail - 1].compareTo(nextticklistentry) > 0) {
+                this.sorted = false;
+            }
+            this.entries[this.tail++] = nextticklistentry;
+        }
+
+        void sort() {
+            if (!this.sorted) {
+                Arrays.sort(this.entries, this.head, this.tail);
+                this.sorted = true;
+            }
+        }
+
+        NextTickListEntry peek() {
+            this.sort();
+            while (this.head < this.tail) {
+                NextTickListEntry nextticklistentry = this.entries[this.head];
+
+                if (nextticklistentry.queued) {
+                    return nextticklistentry;
+                }
+                this.entries[this.head++] = null;
+            }
+
+            this.head = this.tail = 0;
+            return null;
+        }
+
+        void pop() {
+            this.entries[this.head++] = null;
+            if (this.head == this.tail) {
+                this.head = this.tail = 0;
+            }
+        }
+    }
+}
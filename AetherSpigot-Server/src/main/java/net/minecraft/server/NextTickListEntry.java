@@ -8,6 +8,10 @@ public class NextTickListEntry implements Comparable<NextTickListEntry> {
     public long b;
     public int c;
     private long f;
+    // AetherSpigot start - NextTickList bookkeeping
+    boolean queued;
+    NextTickListEntry nextAtPosition;
+    // AetherSpigot end
 
     public NextTickListEntry(BlockPosition blockposition, Block block) {
         this.f = (long) (NextTickListEntry.d++);
@@ -95,6 +95,28 @@ public class PacketDataSerializer extends ByteBuf {
         this.a(IChatBaseComponent.ChatSerializer.a(ichatbasecomponent));
     }
 
+    // AetherSpigot start - components serialized once and written as is
+    public static byte[] toJsonBytes(IChatBaseComponent ichatbasecomponent) {
+        return IChatBaseComponent.ChatSerializer.a(ichatbasecomponent).getBytes(Charsets.UTF_8);
+    }
+
+    public static byte[] toJsonBytes(net.md_5.bungee.api.chat.BaseComponent[] components) {
+        return net.md_5.bungee.chat.ComponentSerializer.toString(components).getBytes(Charsets.UTF_8);
+    }
+
+    /**
+     * Writes bytes returned by {@link #toJsonBytes(IChatBaseComponent)} the same way {@link #a(String)} writes
+     * the string they were encoded from.
+     */
+    public void writeJsonBytes(byte[] json) {
+        if (json.length > 32767) {
+            throw new EncoderException("String too big (was " + json.length + " bytes encoded, max " + 32767 + ")");
+        }
+        this.b(json.length);
+        this.writeBytes(json);
+    }
+    // AetherSpigot end
+
     public <T extends Enum<T>> T a(Class<T> oclass) {
         return ((T[]) oclass.getEnumConstants())[this.e()]; // CraftBukkit - fix decompile error
     }
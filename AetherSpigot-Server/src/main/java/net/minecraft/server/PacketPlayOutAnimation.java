@@ -27,4 +27,10 @@ public class PacketPlayOutAnimation implements Packet<PacketListenerPlayOut> {
     public void a(PacketListenerPlayOut packetlistenerplayout) {
         packetlistenerplayout.a(this);
     }
+
+    // AetherSpigot start
+    public int getEntityId() {
+        return this.a;
+    }
+    // AetherSpigot end
 }
@@ -7,6 +7,10 @@ public class PacketPlayOutChat implements Packet<PacketListenerPlayOut> {
     private IChatBaseComponent a;
     public net.md_5.bungee.api.chat.BaseComponent[] components; // Spigot
     private byte b;
+    // AetherSpigot start - encoded once for every connection the packet is sent to
+    private volatile byte[] json;
+    private Object jsonSource; // the component the json was encoded from
+    // AetherSpigot end
 
     public PacketPlayOutChat() {}
 
@@ -25,16 +29,38 @@ public class PacketPlayOutChat implements Packet<PacketListenerPlayOut> {
     }
 
     public void b(PacketDataSerializer packetdataserializer) throws IOException {
-        // Spigot start
-        if (components != null) {
-            packetdataserializer.a(net.md_5.bungee.chat.ComponentSerializer.toString(components));
-        } else {
-            packetdataserializer.a(this.a);
+        // AetherSpigot start - encode again if the component was replaced since
+        net.md_5.bungee.api.chat.BaseComponent[] components = this.components;
+        Object source = components != null ? components : this.a;
+        byte[] json = this.json;
+
+        if (json == null || this.jsonSource != source) {
+            // Spigot start
+            if (components != null) {
+                json = PacketDataSerializer.toJsonBytes(components);
+            } else {
+                json = PacketDataSerializer.toJsonBytes(this.a);
+            }
+            // Spigot end
+            this.jsonSource = source;
+            this.json = json;
         }
-        // Spigot end
+        packetdataserializer.writeJsonBytes(json);
+        // AetherSpigot end
         packetdataserializer.writeByte(this.b);
     }
 
+    // AetherSpigot start
+    /**
+     * Sets the components sent instead of the chat component. Also call this after changing
+     * components that were already sent in place, as their json is kept otherwise.
+     */
+    public void setComponents(net.md_5.bungee.api.chat.BaseComponent[] components) {
+        this.components = components;
+        this.json = null;
+    }
+    // AetherSpigot end
+
     public void a(PacketListenerPlayOut packetlistenerplayout) {
         packetlistenerplayout.a(this);
     }
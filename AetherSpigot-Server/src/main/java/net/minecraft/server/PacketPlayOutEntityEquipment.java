@@ -1,5 +1,6 @@
 package net.minecraft.server;
 
+import io.netty.buffer.Unpooled;
 import java.io.IOException;
 
 public class PacketPlayOutEntityEquipment implements Packet<PacketListenerPlayOut> {
@@ -7,6 +8,7 @@ public class PacketPlayOutEntityEquipment implements Packet<PacketListenerPlayOu
     private int a;
     private int b;
     private ItemStack c;
+    private byte[] encoded; // AetherSpigot
 
     public PacketPlayOutEntityEquipment() {}
 
@@ -25,9 +27,27 @@ public class PacketPlayOutEntityEquipment implements Packet<PacketListenerPlayOu
     public void b(PacketDataSerializer packetdataserializer) throws IOException {
         packetdataserializer.b(this.a);
         packetdataserializer.writeShort(this.b);
-        packetdataserializer.a(this.c);
+        packetdataserializer.writeBytes(this.getEncoded()); // AetherSpigot
     }
 
+    // AetherSpigot start
+    /**
+     * Encodes the item the first time the packet is written, and reuses the bytes for every other connection
+     * it is sent to.
+     */
+    private synchronized byte[] getEncoded() {
+        if (this.encoded == null) {
+            PacketDataSerializer packetdataserializer = new PacketDataSerializer(Unpooled.buffer());
+
+            packetdataserializer.a(this.c);
+            this.encoded = new byte[packetdataserializer.readableBytes()];
+            packetdataserializer.readBytes(this.encoded);
+        }
+
+        return this.encoded;
+    }
+    // AetherSpigot end
+
     public void a(PacketListenerPlayOut packetlistenerplayout) {
         packetlistenerplayout.a(this);
     }
@@ -1,5 +1,6 @@
 package net.minecraft.server;
 
+import io.netty.buffer.Unpooled;
 import java.io.IOException;
 import java.util.List;
 
@@ -7,6 +8,7 @@ public class PacketPlayOutEntityMetadata implements Packet<PacketListenerPlayOut
 
     public int a;
     public List<DataWatcher.WatchableObject> b;
+    private byte[] encoded; // AetherSpigot
 
     public PacketPlayOutEntityMetadata() {}
 
@@ -27,9 +29,27 @@ public class PacketPlayOutEntityMetadata implements Packet<PacketListenerPlayOut
 
     public void b(PacketDataSerializer packetdataserializer) throws IOException {
         packetdataserializer.b(this.a);
-        DataWatcher.a(this.b, packetdataserializer);
+        packetdataserializer.writeBytes(this.getEncoded()); // AetherSpigot
     }
 
+    // AetherSpigot start
+    /**
+     * Encodes the entries the first time the packet is written, and reuses the bytes for every other
+     * connection it is sent to.
+     */
+    private synchronized byte[] getEncoded() throws IOException {
+        if (this.encoded == null) {
+            PacketDataSerializer packetdataserializer = new PacketDataSerializer(Unpooled.buffer());
+
+            DataWatcher.a(this.b, packetdataserializer);
+            this.encoded = new byte[packetdataserializer.readableBytes()];
+            packetdataserializer.readBytes(this.encoded);
+        }
+
+        return this.encoded;
+    }
+    // AetherSpigot end
+
     public void a(PacketListenerPlayOut packetlistenerplayout) {
         packetlistenerplayout.a(this);
     }
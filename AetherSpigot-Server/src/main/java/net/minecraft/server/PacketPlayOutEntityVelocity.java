@@ -65,4 +65,10 @@ public class PacketPlayOutEntityVelocity implements Packet<PacketListenerPlayOut
     public void a(PacketListenerPlayOut packetlistenerplayout) {
         packetlistenerplayout.a(this);
     }
+
+    // AetherSpigot start
+    public int getEntityId() {
+        return this.a;
+    }
+    // AetherSpigot end
 }
@@ -4,6 +4,7 @@ import com.google.common.base.Objects;
 import com.google.common.collect.Lists;
 import com.mojang.authlib.GameProfile;
 import com.mojang.authlib.properties.Property;
+import io.netty.buffer.Unpooled;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
@@ -12,6 +13,10 @@ public class PacketPlayOutPlayerInfo implements Packet<PacketListenerPlayOut> {
 
     private PacketPlayOutPlayerInfo.EnumPlayerInfoAction a;
     private final List<PacketPlayOutPlayerInfo.PlayerInfoData> b = Lists.newArrayList();
+    // AetherSpigot start
+    private boolean shared;
+    private byte[] encoded;
+    // AetherSpigot end
 
     public PacketPlayOutPlayerInfo() {}
 
@@ -99,7 +104,38 @@ public class PacketPlayOutPlayerInfo implements Packet<PacketListenerPlayOut> {
 
     }
 
+    // AetherSpigot start
+    /**
+     * Marks this packet as sent to many connections, so its contents are encoded once and the same
+     * bytes are written for every connection.
+     */
+    public PacketPlayOutPlayerInfo shared() {
+        this.shared = true;
+        return this;
+    }
+
+    private synchronized byte[] getEncoded() throws IOException {
+        if (this.encoded == null) {
+            PacketDataSerializer packetdataserializer = new PacketDataSerializer(Unpooled.buffer());
+
+            this.encode(packetdataserializer);
+            this.encoded = new byte[packetdataserializer.readableBytes()];
+            packetdataserializer.readBytes(this.encoded);
+        }
+
+        return this.encoded;
+    }
+
     public void b(PacketDataSerializer packetdataserializer) throws IOException {
+        if (this.shared) {
+            packetdataserializer.writeBytes(this.getEncoded());
+        } else {
+            this.encode(packetdataserializer);
+        }
+    }
+
+    private void encode(PacketDataSerializer packetdataserializer) throws IOException {
+        // AetherSpigot end
         packetdataserializer.a((Enum) this.a);
         packetdataserializer.b(this.b.size());
         Iterator iterator = this.b.iterator();
@@ -8,6 +8,13 @@ public class PacketPlayOutPlayerListHeaderFooter implements Packet<PacketListene
 
     private IChatBaseComponent a;
     private IChatBaseComponent b;
+    // AetherSpigot start - encoded once for every connection the packet is sent to
+    private volatile byte[] headerJson;
+    private volatile byte[] footerJson;
+    // the components the json was encoded from
+    private Object headerSource;
+    private Object footerSource;
+    // AetherSpigot end
 
     public PacketPlayOutPlayerListHeaderFooter() {}
 
@@ -21,20 +28,59 @@ public class PacketPlayOutPlayerListHeaderFooter implements Packet<PacketListene
     }
 
     public void b(PacketDataSerializer packetdataserializer) throws IOException {
+        // AetherSpigot start - encode again if a component was replaced since
+        net.md_5.bungee.api.chat.BaseComponent[] header = this.header;
+        net.md_5.bungee.api.chat.BaseComponent[] footer = this.footer;
+        Object headerSource = header != null ? header : this.a;
+        Object footerSource = footer != null ? footer : this.b;
+        byte[] headerJson = this.headerJson;
+        byte[] footerJson = this.footerJson;
+
         // Paper start
-        if (this.header != null) {
-            packetdataserializer.a(net.md_5.bungee.chat.ComponentSerializer.toString(this.header));
-        } else {
-            packetdataserializer.a(this.a);
+        if (headerJson == null || this.headerSource != headerSource) {
+            if (header != null) {
+                headerJson = PacketDataSerializer.toJsonBytes(header);
+            } else {
+                headerJson = PacketDataSerializer.toJsonBytes(this.a);
+            }
+            this.headerSource = headerSource;
+            this.headerJson = headerJson;
         }
 
-        if (this.footer != null) {
-            packetdataserializer.a(net.md_5.bungee.chat.ComponentSerializer.toString(this.footer));
-        } else {
-            packetdataserializer.a(this.b);
+        if (footerJson == null || this.footerSource != footerSource) {
+            if (footer != null) {
+                footerJson = PacketDataSerializer.toJsonBytes(footer);
+            } else {
+                footerJson = PacketDataSerializer.toJsonBytes(this.b);
+            }
+            this.footerSource = footerSource;
+            this.footerJson = footerJson;
         }
         // Paper end
+        packetdataserializer.writeJsonBytes(headerJson);
+        packetdataserializer.writeJsonBytes(footerJson);
+        // AetherSpigot end
+    }
+
+    // AetherSpigot start
+    /**
+     * Sets the components sent instead of the header. Also call this after changing components
+     * that were already sent in place, as their json is kept otherwise.
+     */
+    public void setHeader(net.md_5.bungee.api.chat.BaseComponent[] header) {
+        this.header = header;
+        this.headerJson = null;
+    }
+
+    /**
+     * Sets the components sent instead of the footer. Also call this after changing components
+     * that were already sent in place, as their json is kept otherwise.
+     */
+    public void setFooter(net.md_5.bungee.api.chat.BaseComponent[] footer) {
+        this.footer = footer;
+        this.footerJson = null;
     }
+    // AetherSpigot end
 
     public void a(PacketListenerPlayOut packetlistenerplayout) {
         packetlistenerplayout.a(this);
@@ -19,6 +19,21 @@ public class PacketPlayOutScoreboardDisplayObjective implements Packet<PacketLis
 
     }
 
+    // AetherSpigot start - used by ScoreboardView
+    PacketPlayOutScoreboardDisplayObjective(int slot, String name) {
+        this.a = slot;
+        this.b = name;
+    }
+
+    int getSlot() {
+        return this.a;
+    }
+
+    String getName() {
+        return this.b;
+    }
+    // AetherSpigot end
+
     public void a(PacketDataSerializer packetdataserializer) throws IOException {
         this.a = packetdataserializer.readByte();
         this.b = packetdataserializer.c(16);
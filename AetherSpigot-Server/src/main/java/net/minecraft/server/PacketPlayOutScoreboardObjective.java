@@ -18,6 +18,31 @@ public class PacketPlayOutScoreboardObjective implements Packet<PacketListenerPl
         this.d = i;
     }
 
+    // AetherSpigot start - used by ScoreboardView
+    PacketPlayOutScoreboardObjective(String name, String displayName, IScoreboardCriteria.EnumScoreboardHealthDisplay renderType, int action) {
+        this.a = name;
+        this.b = displayName;
+        this.c = renderType;
+        this.d = action;
+    }
+
+    String getName() {
+        return this.a;
+    }
+
+    String getDisplayName() {
+        return this.b;
+    }
+
+    IScoreboardCriteria.EnumScoreboardHealthDisplay getRenderType() {
+        return this.c;
+    }
+
+    int getAction() {
+        return this.d;
+    }
+    // AetherSpigot end
+
     public void a(PacketDataSerializer packetdataserializer) throws IOException {
         this.a = packetdataserializer.c(16);
         this.d = packetdataserializer.readByte();
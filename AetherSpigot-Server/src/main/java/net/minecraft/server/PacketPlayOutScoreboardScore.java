@@ -32,6 +32,31 @@ public class PacketPlayOutScoreboardScore implements Packet<PacketListenerPlayOu
         this.d = PacketPlayOutScoreboardScore.EnumScoreboardAction.REMOVE;
     }
 
+    // AetherSpigot start - used by ScoreboardView
+    PacketPlayOutScoreboardScore(String entry, String objective, int score, PacketPlayOutScoreboardScore.EnumScoreboardAction action) {
+        this.a = entry;
+        this.b = objective;
+        this.c = score;
+        this.d = action;
+    }
+
+    String getEntry() {
+        return this.a;
+    }
+
+    String getObjective() {
+        return this.b;
+    }
+
+    int getScore() {
+        return this.c;
+    }
+
+    PacketPlayOutScoreboardScore.EnumScoreboardAction getAction() {
+        return this.d;
+    }
+    // AetherSpigot end
+
     public void a(PacketDataSerializer packetdataserializer) throws IOException {
         this.a = packetdataserializer.c(40);
         this.d = (PacketPlayOutScoreboardScore.EnumScoreboardAction) packetdataserializer.a(PacketPlayOutScoreboardScore.EnumScoreboardAction.class);
@@ -59,6 +59,56 @@ public class PacketPlayOutScoreboardTeam implements Packet<PacketListenerPlayOut
         }
     }
 
+    // AetherSpigot start - used by ScoreboardView
+    PacketPlayOutScoreboardTeam(String name, int action, String displayName, String prefix, String suffix, int options, String nameTagVisibility, int color, Collection<String> players) {
+        this.a = name;
+        this.h = action;
+        this.b = displayName;
+        this.c = prefix;
+        this.d = suffix;
+        this.i = options;
+        this.e = nameTagVisibility;
+        this.f = color;
+        this.g = Lists.newArrayList(players);
+    }
+
+    String getName() {
+        return this.a;
+    }
+
+    int getAction() {
+        return this.h;
+    }
+
+    String getDisplayName() {
+        return this.b;
+    }
+
+    String getPrefix() {
+        return this.c;
+    }
+
+    String getSuffix() {
+        return this.d;
+    }
+
+    int getOptions() {
+        return this.i;
+    }
+
+    String getNameTagVisibility() {
+        return this.e;
+    }
+
+    int getColor() {
+        return this.f;
+    }
+
+    Collection<String> getPlayers() {
+        return this.g;
+    }
+    // AetherSpigot end
+
     public void a(PacketDataSerializer packetdataserializer) throws IOException {
         this.a = packetdataserializer.c(16);
         this.h = packetdataserializer.readByte();
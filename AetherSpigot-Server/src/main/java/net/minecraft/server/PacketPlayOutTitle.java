@@ -9,6 +9,10 @@ public class PacketPlayOutTitle implements Packet<PacketListenerPlayOut> {
     private int c;
     private int d;
     private int e;
+    // AetherSpigot start - encoded once for every connection the packet is sent to
+    private volatile byte[] json;
+    private Object jsonSource; // the component the json was encoded from
+    // AetherSpigot end
 
     // Paper start
     public net.md_5.bungee.api.chat.BaseComponent[] components;
@@ -22,6 +26,17 @@ public class PacketPlayOutTitle implements Packet<PacketListenerPlayOut> {
     }
     // Paper end
 
+    // AetherSpigot start
+    /**
+     * Sets the components sent instead of the chat component. Also call this after changing
+     * components that were already sent in place, as their json is kept otherwise.
+     */
+    public void setComponents(net.md_5.bungee.api.chat.BaseComponent[] components) {
+        this.components = components;
+        this.json = null;
+    }
+    // AetherSpigot end
+
     public PacketPlayOutTitle() {}
 
     public PacketPlayOutTitle(EnumTitleAction packetplayouttitle_enumtitleaction, IChatBaseComponent ichatbasecomponent) {
@@ -57,13 +72,24 @@ public class PacketPlayOutTitle implements Packet<PacketListenerPlayOut> {
     public void b(PacketDataSerializer packetdataserializer) throws IOException {
         packetdataserializer.a((Enum) this.a);
         if (this.a == EnumTitleAction.TITLE || this.a == EnumTitleAction.SUBTITLE) {
-            // Paper start
-            if (this.components != null) {
-                packetdataserializer.a(net.md_5.bungee.chat.ComponentSerializer.toString(components));
-            } else {
-                packetdataserializer.a(this.b);
+            // AetherSpigot start - encode again if the component was replaced since
+            net.md_5.bungee.api.chat.BaseComponent[] components = this.components;
+            Object source = components != null ? components : this.b;
+            byte[] json = this.json;
+
+            if (json == null || this.jsonSource != source) {
+                // Paper start
+                if (components != null) {
+                    json = PacketDataSerializer.toJsonBytes(components);
+                } else {
+                    json = PacketDataSerializer.toJsonBytes(this.b);
+                }
+                // Paper end
+                this.jsonSource = source;
+                this.json = json;
             }
-            // Paper end
+            packetdataserializer.writeJsonBytes(json);
+            // AetherSpigot end
         }
 
         if (this.a == EnumTitleAction.TIMES) {
@@ -0,0 +1,104 @@
+package net.minecraft.server;
+
+import io.netty.channel.ChannelFutureListener;
+import xyz.aether.spigot.config.AetherConfig;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * How urgently a packet type is flushed to the client, configured per packet in {@code packet-priority}.
+ * <p>
+ * Packets are normally written without a flush while {@link NetworkManager#disableAutomaticFlush()} is in
+ * effect, so everything the entity tracker sends in a tick leaves in one flush. Combat feedback like
+ * knockback and the hurt animation is worth a flush of its own for the two players in the fight, but not
+ * for everyone watching it.
+ */
+public enum PacketPriority {
+
+    /**
+     * Always written and flushed right away.
+     */
+    IMMEDIATE,
+    /**
+     * Written and flushed right away when the packet is about the receiving player or the player it is
+     * fighting, batched otherwise. Only packets that name a single entity can be combat packets.
+     */
+    COMBAT,
+    /**
+     * Flushed together with the other packets of the tick.
+     */
+    BATCHED;
+
+    // How long after a hit its players count as fighting each other, the same time vanilla keeps the last damager
+    private static final int COMBAT_TICKS = 100;
+    private static final long MAX_HIT_AGE = 1000000000L;
+
+    public static final AtomicLong combatWrites = new AtomicLong();
+    public static final AtomicLong combatWriteNanos = new AtomicLong();
+
+    static PacketPriority of(Packet<?> packet) {
+        PacketPriority priority = AetherConfig.packetPriorities.get(packet.getClass());
+        return priority == null ? BATCHED : priority;
+    }
+
+    static int getEntityId(Packet<?> packet) {
+        if (packet instanceof PacketPlayOutEntityVelocity) {
+            return ((PacketPlayOutEntityVelocity) packet).getEntityId();
+        } else if (packet instanceof PacketPlayOutAnimation) {
+            return ((PacketPlayOutAnimation) packet).getEntityId();
+        } else if (packet instanceof PacketPlayOutEntityStatus) {
+            return ((PacketPlayOutEntityStatus) packet).getEntityId();
+        }
+        return -1;
+    }
+
+    /**
+     * @return the player of the fight that was hit, if the packet is about the receiving player or the
+     * player it is fighting, otherwise {@code null}
+     */
+    static EntityLiving getCombatVictim(Packet<?> packet, EntityPlayer player) {
+        int id = getEntityId(packet);
+
+        if (id == -1) {
+            return null;
+        }
+
+        EntityLiving target = player.bf();
+        EntityLiving damager = player.getLastDamager();
+        boolean attacked = target != null && player.ticksLived - player.bg() <= COMBAT_TICKS;
+        boolean damaged = damager != null && player.ticksLived - player.be() <= COMBAT_TICKS;
+
+        if (id == player.getId()) {
+            return damaged || attacked ? player : null;
+        } else if (attacked && id == target.getId()) {
+            return target;
+        } else if (damaged && id == damager.getId()) {
+            return player;
+        }
+        return null;
+    }
+
+    /**
+     * Times the first knockback packet each player of the fight receives for a hit, as that packet is the one
+     * the hit produced. Animations and status changes can't be told apart from ones of other causes.
+     *
+     * @return a listener that records the time from the hit on the victim to the packet having been
+     * written to the socket, or {@code null} if the packet isn't timed
+     */
+    static ChannelFutureListener writeListener(Packet<?> packet, EntityPlayer receiver, EntityLiving victim) {
+        final long hitNanos = victim.combatHitNanos;
+
+        if (!(packet instanceof PacketPlayOutEntityVelocity) || hitNanos == 0L || receiver.timedCombatHitNanos == hitNanos
+                || System.nanoTime() - hitNanos >= MAX_HIT_AGE) {
+            return null;
+        }
+        receiver.timedCombatHitNanos = hitNanos;
+
+        return future -> {
+            if (future.isSuccess()) {
+                combatWrites.incrementAndGet();
+                combatWriteNanos.addAndGet(System.nanoTime() - hitNanos);
+            }
+        };
+    }
+}
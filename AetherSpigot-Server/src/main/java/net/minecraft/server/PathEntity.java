@@ -11,6 +11,12 @@ public class PathEntity {
         this.c = apathpoint.length;
     }
 
+    // AetherSpigot start - the points are never modified, so copies can share them
+    public PathEntity copy() {
+        return new PathEntity(this.a);
+    }
+    // AetherSpigot end
+
     public void a() {
         ++this.b;
     }
@@ -2,10 +2,12 @@ package net.minecraft.server;
 
 public class PathPoint {
 
-    public final int a;
-    public final int b;
-    public final int c;
-    private final int j;
+    // AetherSpigot start - not final, nodes are pooled by PathfinderAbstract
+    public int a;
+    public int b;
+    public int c;
+    private int j;
+    // AetherSpigot end
     int d = -1;
     float e;
     float f;
@@ -20,6 +22,22 @@ public class PathPoint {
         this.j = a(i, j, k);
     }
 
+    // AetherSpigot start
+    PathPoint reset(int i, int j, int k) {
+        this.a = i;
+        this.b = j;
+        this.c = k;
+        this.j = a(i, j, k);
+        this.d = -1;
+        this.e = 0.0F;
+        this.f = 0.0F;
+        this.g = 0.0F;
+        this.h = null;
+        this.i = false;
+        return this;
+    }
+    // AetherSpigot end
+
     public static int a(int i, int j, int k) {
         return j & 255 | (i & 32767) << 8 | (k & 32767) << 24 | (i < 0 ? Integer.MIN_VALUE : 0) | (k < 0 ? '\u8000' : 0);
     }
@@ -10,6 +10,12 @@ public class Pathfinder {
         this.c = pathfinderabstract;
     }
 
+    // AetherSpigot start
+    public PathfinderAbstract getPathfinder() {
+        return this.c;
+    }
+    // AetherSpigot end
+
     public PathEntity a(IBlockAccess iblockaccess, Entity entity, Entity entity1, float f) {
         return this.a(iblockaccess, entity, entity1.locX, entity1.getBoundingBox().b, entity1.locZ, f);
     }
@@ -19,6 +25,10 @@ public class Pathfinder {
     }
 
     private PathEntity a(IBlockAccess iblockaccess, Entity entity, double d0, double d1, double d2, float f) {
+        return this.a(iblockaccess, new PathfinderAbstract.EntityState(entity), d0, d1, d2, f); // AetherSpigot
+    }
+
+    PathEntity a(IBlockAccess iblockaccess, PathfinderAbstract.EntityState entity, double d0, double d1, double d2, float f) { // AetherSpigot - package-private for AsyncPathfinder, entity state instead of the entity
         this.a.a();
         this.c.a(iblockaccess, entity);
         PathPoint pathpoint = this.c.a(entity);
@@ -29,7 +39,7 @@ public class Pathfinder {
         return pathentity;
     }
 
-    private PathEntity a(Entity entity, PathPoint pathpoint, PathPoint pathpoint1, float f) {
+    private PathEntity a(PathfinderAbstract.EntityState entity, PathPoint pathpoint, PathPoint pathpoint1, float f) { // AetherSpigot
         pathpoint.e = 0.0F;
         pathpoint.f = pathpoint.b(pathpoint1);
         pathpoint.g = pathpoint.f;
@@ -90,10 +100,12 @@ public class Pathfinder {
         pathpoint2 = pathpoint1;
         --i;
 
-        for (apathpoint[i] = pathpoint1; pathpoint2.h != null; apathpoint[i] = pathpoint2) {
+        // AetherSpigot start - copy the points, the search nodes are pooled
+        for (apathpoint[i] = new PathPoint(pathpoint1.a, pathpoint1.b, pathpoint1.c); pathpoint2.h != null; apathpoint[i] = new PathPoint(pathpoint2.a, pathpoint2.b, pathpoint2.c)) {
             pathpoint2 = pathpoint2.h;
             --i;
         }
+        // AetherSpigot end
 
         return new PathEntity(apathpoint);
     }
@@ -7,34 +7,141 @@ public abstract class PathfinderAbstract {
     protected int c;
     protected int d;
     protected int e;
+    // AetherSpigot start - reuse search nodes, one pool per thread as searches never nest
+    private static final ThreadLocal<NodePool> POOL = new ThreadLocal<NodePool>() {
+        @Override
+        protected NodePool initialValue() {
+            return new NodePool();
+        }
+    };
+    private NodePool pool;
+    // AetherSpigot end
 
     public PathfinderAbstract() {}
 
-    public void a(IBlockAccess iblockaccess, Entity entity) {
+    public void a(IBlockAccess iblockaccess, EntityState entity) { // AetherSpigot - entity state instead of the entity
         this.a = iblockaccess;
         this.b.c();
+        // AetherSpigot start
+        this.pool = POOL.get();
+        this.pool.size = 0;
+        // AetherSpigot end
         this.c = MathHelper.d(entity.width + 1.0F);
         this.d = MathHelper.d(entity.length + 1.0F);
         this.e = MathHelper.d(entity.width + 1.0F);
     }
 
-    public void a() {}
+    public void a() {
+        // AetherSpigot start - drop the references to pooled nodes
+        this.a = null;
+        this.b.c();
+        this.pool = null;
+        // AetherSpigot end
+    }
 
     protected PathPoint a(int i, int j, int k) {
         int l = PathPoint.a(i, j, k);
         PathPoint pathpoint = (PathPoint) this.b.get(l);
 
         if (pathpoint == null) {
-            pathpoint = new PathPoint(i, j, k);
+            pathpoint = this.pool.get(i, j, k); // AetherSpigot
             this.b.a(l, pathpoint);
         }
 
         return pathpoint;
     }
 
-    public abstract PathPoint a(Entity entity);
+    // AetherSpigot start
+    /**
+     * Copies the search settings of another pathfinder of the same type.
+     */
+    public void copySettings(PathfinderAbstract pathfinderabstract) {}
+
+    /**
+     * @return a pathfinder of the same type with the same settings, which later changes to this one don't affect
+     */
+    PathfinderAbstract copy() {
+        try {
+            PathfinderAbstract pathfinderabstract = this.getClass().getDeclaredConstructor().newInstance();
+
+            pathfinderabstract.copySettings(this);
+            return pathfinderabstract;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot copy " + this.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Everything a search reads from the searching entity, taken before the search starts. A search on a
+     * worker thread only ever sees this, never the entity itself.
+     */
+    public static final class EntityState {
+
+        final float width;
+        final float length;
+        final double locX;
+        final double locZ;
+        final double minX;
+        final double minY;
+        final double minZ;
+        final BlockPosition position;
+        final boolean inWater;
+        final boolean inLava;
+        final int maxFallDistance;
+
+        public EntityState(Entity entity) {
+            AxisAlignedBB axisalignedbb = entity.getBoundingBox();
+
+            this.width = entity.width;
+            this.length = entity.length;
+            this.locX = entity.locX;
+            this.locZ = entity.locZ;
+            this.minX = axisalignedbb.a;
+            this.minY = axisalignedbb.b;
+            this.minZ = axisalignedbb.c;
+            this.position = new BlockPosition(entity);
+            this.inWater = entity.V();
+            this.inLava = entity.ab();
+            this.maxFallDistance = entity.aE();
+        }
+    }
+
+    private static final class NodePool {
+
+        // Only the first nodes are kept between searches, so one huge search doesn't pin its nodes forever
+        private static final int RETAINED = 1024;
+
+        private PathPoint[] nodes = new PathPoint[64];
+        private int size;
+
+        PathPoint get(int i, int j, int k) {
+            if (this.size == this.nodes.length && this.size < RETAINED) {
+                this.nodes = java.util.Arrays.copyOf(this.nodes, this.size << 1);
+            }
+            if (this.size == this.nodes.length) {
+                return new PathPoint(i, j, k);
+            }
+
+            PathPoint pathpoint = this.nodes[this.size];
+
+            if (pathpoint == null) {
+                pathpoint = new PathPoint(i, j, k);
+                this.nodes[this.size] = pathpoint;
+            } else {
+                pathpoint.reset(i, j, k);
+            }
+
+            ++this.size;
+            return pathpoint;
+        }
+    }
+    // AetherSpigot end
+
+    // AetherSpigot start - entity state instead of the entity
+    public abstract PathPoint a(EntityState entity);
 
-    public abstract PathPoint a(Entity entity, double d0, double d1, double d2);
+    public abstract PathPoint a(EntityState entity, double d0, double d1, double d2);
 
-    public abstract int a(PathPoint[] apathpoint, Entity entity, PathPoint pathpoint, PathPoint pathpoint1, float f);
+    public abstract int a(PathPoint[] apathpoint, EntityState entity, PathPoint pathpoint, PathPoint pathpoint1, float f);
+    // AetherSpigot end
 }
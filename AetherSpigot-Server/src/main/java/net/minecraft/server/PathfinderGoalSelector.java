@@ -16,6 +16,7 @@ public class PathfinderGoalSelector {
     private final MethodProfiler d;
     private int e;
     private int f = 3;
+    private int rateMultiplier = 1; // AetherSpigot
 
     public PathfinderGoalSelector(MethodProfiler methodprofiler) {
         this.d = methodprofiler;
@@ -44,12 +45,21 @@ public class PathfinderGoalSelector {
 
     }
 
+    // AetherSpigot start
+    /**
+     * Sets how many times less often than usual new goals are looked for. Running goals still tick every tick.
+     */
+    public void setRateMultiplier(int i) {
+        this.rateMultiplier = Math.max(1, i);
+    }
+    // AetherSpigot end
+
     public void a() {
         this.d.a("goalSetup");
         Iterator iterator;
         PathfinderGoalSelector.PathfinderGoalSelectorItem pathfindergoalselector_pathfindergoalselectoritem;
 
-        if (this.e++ % this.f == 0) {
+        if (this.e++ % (this.f * this.rateMultiplier) == 0) { // AetherSpigot - rate multiplier
             iterator = this.b.iterator();
 
             while (iterator.hasNext()) {
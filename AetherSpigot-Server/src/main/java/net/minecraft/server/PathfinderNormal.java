@@ -10,7 +10,7 @@ public class PathfinderNormal extends PathfinderAbstract {
 
     public PathfinderNormal() {}
 
-    public void a(IBlockAccess iblockaccess, Entity entity) {
+    public void a(IBlockAccess iblockaccess, PathfinderAbstract.EntityState entity) { // AetherSpigot
         super.a(iblockaccess, entity);
         this.j = this.h;
     }
@@ -20,11 +20,24 @@ public class PathfinderNormal extends PathfinderAbstract {
         this.h = this.j;
     }
 
-    public PathPoint a(Entity entity) {
+    // AetherSpigot start
+    @Override
+    public void copySettings(PathfinderAbstract pathfinderabstract) {
+        PathfinderNormal pathfindernormal = (PathfinderNormal) pathfinderabstract;
+
+        this.f = pathfindernormal.f;
+        this.g = pathfindernormal.g;
+        this.h = pathfindernormal.h;
+        this.i = pathfindernormal.i;
+        this.j = pathfindernormal.j;
+    }
+    // AetherSpigot end
+
+    public PathPoint a(PathfinderAbstract.EntityState entity) { // AetherSpigot
         int i;
 
-        if (this.i && entity.V()) {
-            i = (int) entity.getBoundingBox().b;
+        if (this.i && entity.inWater) { // AetherSpigot
+            i = (int) entity.minY; // AetherSpigot
             BlockPosition.MutableBlockPosition blockposition_mutableblockposition = new BlockPosition.MutableBlockPosition(MathHelper.floor(entity.locX), i, MathHelper.floor(entity.locZ));
 
             for (Block block = this.a.getType(blockposition_mutableblockposition).getBlock(); block == Blocks.FLOWING_WATER || block == Blocks.WATER; block = this.a.getType(blockposition_mutableblockposition).getBlock()) {
@@ -34,17 +47,17 @@ public class PathfinderNormal extends PathfinderAbstract {
 
             this.h = false;
         } else {
-            i = MathHelper.floor(entity.getBoundingBox().b + 0.5D);
+            i = MathHelper.floor(entity.minY + 0.5D); // AetherSpigot
         }
 
-        return this.a(MathHelper.floor(entity.getBoundingBox().a), i, MathHelper.floor(entity.getBoundingBox().c));
+        return this.a(MathHelper.floor(entity.minX), i, MathHelper.floor(entity.minZ)); // AetherSpigot
     }
 
-    public PathPoint a(Entity entity, double d0, double d1, double d2) {
+    public PathPoint a(PathfinderAbstract.EntityState entity, double d0, double d1, double d2) { // AetherSpigot
         return this.a(MathHelper.floor(d0 - (double) (entity.width / 2.0F)), MathHelper.floor(d1), MathHelper.floor(d2 - (double) (entity.width / 2.0F)));
     }
 
-    public int a(PathPoint[] apathpoint, Entity entity, PathPoint pathpoint, PathPoint pathpoint1, float f) {
+    public int a(PathPoint[] apathpoint, PathfinderAbstract.EntityState entity, PathPoint pathpoint, PathPoint pathpoint1, float f) { // AetherSpigot
         int i = 0;
         byte b0 = 0;
 
@@ -76,7 +89,7 @@ public class PathfinderNormal extends PathfinderAbstract {
         return i;
     }
 
-    private PathPoint a(Entity entity, int i, int j, int k, int l) {
+    private PathPoint a(PathfinderAbstract.EntityState entity, int i, int j, int k, int l) { // AetherSpigot
         PathPoint pathpoint = null;
         int i1 = this.a(entity, i, j, k);
 
@@ -107,7 +120,7 @@ public class PathfinderNormal extends PathfinderAbstract {
                         break;
                     }
 
-                    if (j1++ >= entity.aE()) {
+                    if (j1++ >= entity.maxFallDistance) { // AetherSpigot
                         return null;
                     }
 
@@ -126,13 +139,18 @@ public class PathfinderNormal extends PathfinderAbstract {
         }
     }
 
-    private int a(Entity entity, int i, int j, int k) {
-        return a(this.a, entity, i, j, k, this.c, this.d, this.e, this.h, this.g, this.f);
+    private int a(PathfinderAbstract.EntityState entity, int i, int j, int k) { // AetherSpigot
+        return a(this.a, entity.position, entity.inLava, i, j, k, this.c, this.d, this.e, this.h, this.g, this.f); // AetherSpigot
     }
 
+    // AetherSpigot start - only the position and lava state of the entity are needed
     public static int a(IBlockAccess iblockaccess, Entity entity, int i, int j, int k, int l, int i1, int j1, boolean flag, boolean flag1, boolean flag2) {
+        return a(iblockaccess, new BlockPosition(entity), entity.ab(), i, j, k, l, i1, j1, flag, flag1, flag2);
+    }
+
+    static int a(IBlockAccess iblockaccess, BlockPosition blockposition, boolean inLava, int i, int j, int k, int l, int i1, int j1, boolean flag, boolean flag1, boolean flag2) {
+        // AetherSpigot end
         boolean flag3 = false;
-        BlockPosition blockposition = new BlockPosition(entity);
         BlockPosition.MutableBlockPosition blockposition_mutableblockposition = new BlockPosition.MutableBlockPosition();
 
         for (int k1 = i; k1 < i + l; ++k1) {
@@ -177,7 +195,7 @@ public class PathfinderNormal extends PathfinderAbstract {
                                 return 0;
                             }
 
-                            if (!entity.ab()) {
+                            if (!inLava) { // AetherSpigot
                                 return -2;
                             }
                         }
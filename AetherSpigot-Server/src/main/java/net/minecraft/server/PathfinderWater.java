@@ -4,7 +4,7 @@ public class PathfinderWater extends PathfinderAbstract {
 
     public PathfinderWater() {}
 
-    public void a(IBlockAccess iblockaccess, Entity entity) {
+    public void a(IBlockAccess iblockaccess, PathfinderAbstract.EntityState entity) { // AetherSpigot
         super.a(iblockaccess, entity);
     }
 
@@ -12,15 +12,15 @@ public class PathfinderWater extends PathfinderAbstract {
         super.a();
     }
 
-    public PathPoint a(Entity entity) {
-        return this.a(MathHelper.floor(entity.getBoundingBox().a), MathHelper.floor(entity.getBoundingBox().b + 0.5D), MathHelper.floor(entity.getBoundingBox().c));
+    public PathPoint a(PathfinderAbstract.EntityState entity) { // AetherSpigot
+        return this.a(MathHelper.floor(entity.minX), MathHelper.floor(entity.minY + 0.5D), MathHelper.floor(entity.minZ)); // AetherSpigot
     }
 
-    public PathPoint a(Entity entity, double d0, double d1, double d2) {
+    public PathPoint a(PathfinderAbstract.EntityState entity, double d0, double d1, double d2) { // AetherSpigot
         return this.a(MathHelper.floor(d0 - (double) (entity.width / 2.0F)), MathHelper.floor(d1 + 0.5D), MathHelper.floor(d2 - (double) (entity.width / 2.0F)));
     }
 
-    public int a(PathPoint[] apathpoint, Entity entity, PathPoint pathpoint, PathPoint pathpoint1, float f) {
+    public int a(PathPoint[] apathpoint, PathfinderAbstract.EntityState entity, PathPoint pathpoint, PathPoint pathpoint1, float f) { // AetherSpigot
         int i = 0;
         EnumDirection[] aenumdirection = EnumDirection.values();
         int j = aenumdirection.length;
@@ -37,13 +37,13 @@ public class PathfinderWater extends PathfinderAbstract {
         return i;
     }
 
-    private PathPoint a(Entity entity, int i, int j, int k) {
+    private PathPoint a(PathfinderAbstract.EntityState entity, int i, int j, int k) { // AetherSpigot
         int l = this.b(entity, i, j, k);
 
         return l == -1 ? this.a(i, j, k) : null;
     }
 
-    private int b(Entity entity, int i, int j, int k) {
+    private int b(PathfinderAbstract.EntityState entity, int i, int j, int k) { // AetherSpigot
         BlockPosition.MutableBlockPosition blockposition_mutableblockposition = new BlockPosition.MutableBlockPosition();
 
         for (int l = i; l < i + this.c; ++l) {
@@ -12,6 +12,7 @@ import java.util.Collections;
 import java.util.Queue;
 import java.util.LinkedList;
 import org.bukkit.craftbukkit.chunkio.ChunkIOExecutor;
+import org.bukkit.craftbukkit.chunkio.ChunkGenerationExecutor; // AetherSpigot
 import java.util.HashMap;
 // CraftBukkit end
 
@@ -429,11 +430,13 @@ public class PlayerChunkMap {
                 // CraftBukkit start - If we haven't loaded yet don't load the chunk just so we can clean it up
                 if (!this.loaded) {
                     ChunkIOExecutor.dropQueuedChunkLoad(PlayerChunkMap.this.a(), this.location.x, this.location.z, this.players.get(entityplayer));
+                    ChunkGenerationExecutor.dropQueuedGeneration(PlayerChunkMap.this.a(), this.location.x, this.location.z, this.players.get(entityplayer)); // AetherSpigot
                     this.b.remove(entityplayer);
                     this.players.remove(entityplayer);
 
                     if (this.b.isEmpty()) {
                         ChunkIOExecutor.dropQueuedChunkLoad(PlayerChunkMap.this.a(), this.location.x, this.location.z, this.loadedRunnable);
+                        ChunkGenerationExecutor.dropQueuedGeneration(PlayerChunkMap.this.a(), this.location.x, this.location.z, this.loadedRunnable); // AetherSpigot
                         long i = (long) this.location.x + 2147483647L | (long) this.location.z + 2147483647L << 32;
                         PlayerChunkMap.this.d.remove(i);
                         // PlayerChunkMap.this.f.remove(this); Kohi
@@ -94,6 +94,7 @@ public class PlayerConnection implements PacketListenerPlayIn, IUpdatePlayerList
     private double q;
     private boolean checkMovement = true;
     private boolean processedDisconnect; // CraftBukkit - added
+    final ScoreboardView scoreboardView = new ScoreboardView(); // AetherSpigot
 
     public PlayerConnection(MinecraftServer minecraftserver, NetworkManager networkmanager, EntityPlayer entityplayer) {
         this.minecraftServer = minecraftserver;
@@ -470,6 +471,12 @@ public class PlayerConnection implements PacketListenerPlayIn, IUpdatePlayerList
                     this.player.onGround = packetplayinflying.f();
                     this.minecraftServer.getPlayerList().d(this.player);
                     this.player.a(this.player.locY - d10, packetplayinflying.f());
+                    this.player.positionHistory.record(this.player.getBoundingBox(), MinecraftServer.currentTick, System.currentTimeMillis()); // AetherSpigot
+                    // AetherSpigot start - send the new position to viewers now instead of at the end of the tick
+                    if (worldserver.aetherWorldConfig.immediateMovementRelay) {
+                        worldserver.getTracker().relayMovement(this.player);
+                    }
+                    // AetherSpigot end
                 } else if (this.networkTickCount - this.f > 20) {
                     this.a(this.o, this.p, this.q, this.player.yaw, this.player.pitch);
                 }
@@ -526,11 +533,45 @@ public class PlayerConnection implements PacketListenerPlayIn, IUpdatePlayerList
         this.internalTeleport(d0, d1, d2, f, f1, set);
     }
 
+    // AetherSpigot start
+    private final double[] rewoundBox = new double[6];
+
+    /**
+     * Checks the reach of an attack against where the target was when the attacker saw them, which is
+     * the attacker's estimated ping ago, and against where the target is now.
+     */
+    private boolean isWithinReach(EntityPlayer target) {
+        long rewind = AetherSpigot.get().getPlayerDataManager().get(this).getEstimatedPing();
+        double maxReach = AetherConfig.hitValidationReach;
+        AxisAlignedBB current = target.getBoundingBox();
+
+        if (this.distanceSquared(current.a, current.b, current.c, current.d, current.e, current.f) <= maxReach * maxReach) {
+            return true;
+        }
+
+        double[] box = this.rewoundBox;
+        return target.positionHistory.getAtTime(System.currentTimeMillis() - rewind, box) && this.distanceSquared(box[0], box[1], box[2], box[3], box[4], box[5]) <= maxReach * maxReach;
+    }
+
+    // from the attacker's eyes to the closest point of the box, grown by the 0.1 border the client hits
+    private double distanceSquared(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        double x = this.player.locX;
+        double y = this.player.locY + (double) this.player.getHeadHeight();
+        double z = this.player.locZ;
+        double dx = Math.max(Math.max(minX - 0.1D - x, x - maxX - 0.1D), 0.0D);
+        double dy = Math.max(Math.max(minY - 0.1D - y, y - maxY - 0.1D), 0.0D);
+        double dz = Math.max(Math.max(minZ - 0.1D - z, z - maxZ - 0.1D), 0.0D);
+
+        return dx * dx + dy * dy + dz * dz;
+    }
+    // AetherSpigot end
+
     public void teleport(Location dest) {
         internalTeleport(dest.getX(), dest.getY(), dest.getZ(), dest.getYaw(), dest.getPitch(), Collections.emptySet());
     }
 
     private void internalTeleport(double d0, double d1, double d2, float f, float f1, Set set) {
+        this.player.positionHistory.clear(); // AetherSpigot - boxes from before a teleport say nothing about hits after it
         // PandaSpigot start - Smooth teleportation
         if (this.player.world.pandaSpigotConfig.smoothTeleportation && set.isEmpty()) {
             // if yaw & pitch are same, send a relative teleport
@@ -936,6 +977,12 @@ public class PlayerConnection implements PacketListenerPlayIn, IUpdatePlayerList
         }
         // CraftBukkit end
 
+        // AetherSpigot start - scoreboard packets are sent as a diff at the end of the tick
+        if (this.scoreboardView.queue(packet)) {
+            return;
+        }
+        // AetherSpigot end
+
         try {
             for (PacketHandler packetHandler : AetherSpigot.get().getPacketListeners()) {
                 try {
@@ -1414,6 +1461,12 @@ public class PlayerConnection implements PacketListenerPlayIn, IUpdatePlayerList
                     return;
                 }
 
+                // AetherSpigot start
+                if (AetherConfig.lagCompensatedHitValidation && entity instanceof EntityPlayer && !this.isWithinReach((EntityPlayer) entity)) {
+                    return;
+                }
+                // AetherSpigot end
+
                 this.player.attack(entity);
 
                 // CraftBukkit start
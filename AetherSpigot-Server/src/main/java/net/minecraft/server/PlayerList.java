@@ -38,6 +38,7 @@ import org.bukkit.event.player.PlayerTeleportEvent.TeleportCause;
 import org.bukkit.util.Vector;
 import org.spigotmc.event.player.PlayerSpawnLocationEvent;
 import xyz.aether.spigot.combat.listener.ConnectionListener;
+import xyz.aether.spigot.config.AetherConfig;
 import xyz.aether.spigot.service.PingSpoofService;
 // CraftBukkit end
 
@@ -901,6 +902,12 @@ public abstract class PlayerList {
     }
 
     public void tick() {
+        // AetherSpigot start
+        if (AetherConfig.incrementalLatencyUpdates) {
+            this.sendLatencyUpdates();
+            return;
+        }
+        // AetherSpigot end
         if (++this.u > 600) {
             this.sendAll(new PacketPlayOutPlayerInfo(PacketPlayOutPlayerInfo.EnumPlayerInfoAction.UPDATE_LATENCY, this.players));
             this.u = 0;
@@ -908,6 +915,55 @@ public abstract class PlayerList {
 
     }
 
+    // AetherSpigot start
+    /**
+     * Sends the latency of the players whose ping moved by at least the threshold since it was last sent.
+     * Each player is checked once per interval, on a tick picked by its entity id, so the checks and the
+     * entries are spread over the interval. The entries of one tick go out in a single packet that is
+     * encoded once for all players.
+     */
+    private void sendLatencyUpdates() {
+        int interval = AetherConfig.latencyUpdateInterval;
+        int threshold = AetherConfig.latencyUpdateThreshold;
+        int tick = MinecraftServer.currentTick;
+        List<EntityPlayer> changed = null;
+
+        for (int i = 0; i < this.players.size(); ++i) {
+            EntityPlayer entityplayer = this.players.get(i);
+
+            if ((entityplayer.getId() + tick) % interval != 0) {
+                continue;
+            }
+
+            int difference = Math.abs(entityplayer.ping - entityplayer.lastSentPing);
+
+            if (difference > 0 && difference >= threshold) {
+                if (changed == null) {
+                    changed = new ArrayList<EntityPlayer>();
+                }
+                changed.add(entityplayer);
+                entityplayer.lastSentPing = entityplayer.ping;
+            }
+        }
+
+        if (changed != null) {
+            this.sendAll(new PacketPlayOutPlayerInfo(PacketPlayOutPlayerInfo.EnumPlayerInfoAction.UPDATE_LATENCY, changed).shared());
+        }
+    }
+    // AetherSpigot end
+
+    // AetherSpigot start
+    public void flushScoreboardViews() {
+        for (int i = 0; i < this.players.size(); ++i) {
+            PlayerConnection playerconnection = this.players.get(i).playerConnection;
+
+            if (playerconnection != null) {
+                playerconnection.scoreboardView.flush(playerconnection);
+            }
+        }
+    }
+    // AetherSpigot end
+
     public void sendAll(Packet packet) {
         for (int i = 0; i < this.players.size(); ++i) {
             ((EntityPlayer) this.players.get(i)).playerConnection.sendPacket(packet);
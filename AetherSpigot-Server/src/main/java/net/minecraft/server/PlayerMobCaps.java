@@ -0,0 +1,169 @@
+package net.minecraft.server;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.bukkit.craftbukkit.util.LongHash;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The mob caps of {@code per-player-mob-spawns}: how many natural spawn mobs of each {@link EnumCreatureType}
+ * are in the loaded chunks within the spawn range of each player.
+ * <p>
+ * A player's counts are summed from the chunks once, when the player starts counting or changes chunk.
+ * After that, loaded chunks report every creature entering or leaving them through {@link #adjust}, so a
+ * mob spawned during a cycle counts against the caps of the players around it straight away.
+ */
+final class PlayerMobCaps {
+
+    private static final EnumCreatureType[] TYPES = EnumCreatureType.values();
+
+    private final WorldServer world;
+    private final Map<EntityHuman, Area> areas = new IdentityHashMap<EntityHuman, Area>();
+    // the areas that count the creatures of each chunk
+    private final Long2ObjectOpenHashMap<List<Area>> areasByChunk = new Long2ObjectOpenHashMap<List<Area>>();
+    private final int[] limits = new int[TYPES.length];
+    private int range = -1;
+    private int cycle;
+
+    PlayerMobCaps(WorldServer world) {
+        this.world = world;
+    }
+
+    /**
+     * Brings the areas up to date with the players before a spawn cycle. Only players who changed chunk,
+     * and all players if the spawn range changed, are counted again.
+     */
+    void update(int range) {
+        for (int t = 0; t < TYPES.length; ++t) {
+            this.limits[t] = SpawnerCreature.getSpawnLimit(this.world, TYPES[t]);
+        }
+
+        if (range != this.range) {
+            this.areas.clear();
+            this.areasByChunk.clear();
+            this.range = range;
+        }
+
+        ++this.cycle;
+        for (EntityHuman entityhuman : this.world.players) {
+            if (!SpawnerCreature.affectsSpawning(entityhuman)) {
+                continue;
+            }
+
+            int x = MathHelper.floor(entityhuman.locX / 16.0D);
+            int z = MathHelper.floor(entityhuman.locZ / 16.0D);
+            Area area = this.areas.get(entityhuman);
+
+            if (area == null) {
+                area = new Area();
+                this.areas.put(entityhuman, area);
+                this.cover(area, x, z);
+            } else if (area.x != x || area.z != z) {
+                this.uncover(area);
+                this.cover(area, x, z);
+            }
+            area.cycle = this.cycle;
+        }
+
+        Iterator<Area> iterator = this.areas.values().iterator();
+
+        while (iterator.hasNext()) {
+            Area area = iterator.next();
+
+            if (area.cycle != this.cycle) {
+                this.uncover(area);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @return whether the chunk is inside the spawn area of a player below its cap for the type
+     */
+    boolean isUnderCap(int chunkX, int chunkZ, EnumCreatureType enumcreaturetype) {
+        List<Area> list = this.areasByChunk.get(LongHash.toLong(chunkX, chunkZ));
+
+        if (list != null) {
+            int t = enumcreaturetype.ordinal();
+
+            for (int i = 0; i < list.size(); ++i) {
+                Area area = list.get(i);
+
+                // The outer ring is counted, but not spawned in
+                if (Math.abs(chunkX - area.x) < this.range && Math.abs(chunkZ - area.z) < this.range && area.counts[t] < this.limits[t]) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Called by a loaded chunk when creatures of the type enter or leave it.
+     */
+    void adjust(Chunk chunk, EnumCreatureType enumcreaturetype, int delta) {
+        List<Area> list = this.areasByChunk.get(LongHash.toLong(chunk.locX, chunk.locZ));
+
+        if (list != null) {
+            int t = enumcreaturetype.ordinal();
+
+            for (int i = 0; i < list.size(); ++i) {
+                list.get(i).counts[t] += delta;
+            }
+        }
+    }
+
+    private void cover(Area area, int x, int z) {
+        area.x = x;
+        area.z = z;
+        Arrays.fill(area.counts, 0);
+
+        for (int i = x - this.range; i <= x + this.range; ++i) {
+            for (int j = z - this.range; j <= z + this.range; ++j) {
+                long key = LongHash.toLong(i, j);
+                List<Area> list = this.areasByChunk.get(key);
+
+                if (list == null) {
+                    list = new ArrayList<Area>(2);
+                    this.areasByChunk.put(key, list);
+                }
+                list.add(area);
+
+                Chunk chunk = this.world.getChunkIfLoaded(i, j);
+
+                if (chunk != null && chunk.o()) {
+                    for (int t = 0; t < TYPES.length; ++t) {
+                        area.counts[t] += chunk.entityCount.get(TYPES[t].a());
+                    }
+                }
+            }
+        }
+    }
+
+    private void uncover(Area area) {
+        for (int i = area.x - this.range; i <= area.x + this.range; ++i) {
+            for (int j = area.z - this.range; j <= area.z + this.range; ++j) {
+                long key = LongHash.toLong(i, j);
+                List<Area> list = this.areasByChunk.get(key);
+
+                if (list != null && list.remove(area) && list.isEmpty()) {
+                    this.areasByChunk.remove(key);
+                }
+            }
+        }
+    }
+
+    private static final class Area {
+
+        int x;
+        int z;
+        int cycle;
+        final int[] counts = new int[TYPES.length];
+    }
+}
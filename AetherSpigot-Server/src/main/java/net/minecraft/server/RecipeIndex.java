@@ -0,0 +1,179 @@
+package net.minecraft.server;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Narrows the crafting recipes that can match a grid before any of them is tested.
+ * <p>
+ * Shaped and shapeless recipes only match a grid that holds exactly their ingredients, so they are
+ * grouped by the number of occupied slots and the distinct items in them. Any other recipe, like
+ * armor dyeing or fireworks, is tested against every grid. Candidates are tested in the order of the
+ * recipe list, so the first matching recipe is the same one a full scan finds.
+ * <p>
+ * The index is built for one recipe list as it is at that time, and is rebuilt by {@link CraftingManager}
+ * when the list is replaced or changed in any way, including a recipe being replaced.
+ */
+final class RecipeIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final CraftingManager.RecipeList recipes;
+    private final int modifications;
+    private final int size;
+    private final Map<Key, int[]> buckets = new HashMap<Key, int[]>();
+    private final int[] unindexed;
+
+    RecipeIndex(CraftingManager.RecipeList recipes) {
+        this.recipes = recipes;
+        this.modifications = recipes.getModifications();
+        this.size = recipes.size();
+
+        Map<Key, IntArrayList> buckets = new HashMap<Key, IntArrayList>();
+        IntArrayList unindexed = new IntArrayList();
+
+        for (int i = 0; i < this.size; ++i) {
+            Key key = key(recipes.get(i));
+
+            if (key == null) {
+                unindexed.add(i);
+            } else {
+                IntArrayList bucket = buckets.get(key);
+
+                if (bucket == null) {
+                    bucket = new IntArrayList();
+                    buckets.put(key, bucket);
+                }
+                bucket.add(i);
+            }
+        }
+
+        for (Map.Entry<Key, IntArrayList> entry : buckets.entrySet()) {
+            this.buckets.put(entry.getKey(), entry.getValue().toIntArray());
+        }
+        this.unindexed = unindexed.toIntArray();
+    }
+
+    boolean isFor(CraftingManager.RecipeList recipes) {
+        return this.recipes == recipes && this.modifications == recipes.getModifications();
+    }
+
+    /**
+     * @return the first recipe in list order that matches the grid, or {@code null}
+     */
+    IRecipe find(InventoryCrafting inventorycrafting, World world) {
+        Key key = key(inventorycrafting);
+        int[] bucket = key == null ? null : this.buckets.get(key);
+
+        if (bucket == null) {
+            bucket = EMPTY;
+        }
+
+        int i = 0;
+        int j = 0;
+
+        while (i < bucket.length || j < this.unindexed.length) {
+            int index;
+
+            if (j >= this.unindexed.length || i < bucket.length && bucket[i] < this.unindexed[j]) {
+                index = bucket[i++];
+            } else {
+                index = this.unindexed[j++];
+            }
+
+            IRecipe irecipe = this.recipes.get(index);
+
+            if (irecipe.a(inventorycrafting, world)) {
+                return irecipe;
+            }
+        }
+
+        return null;
+    }
+
+    private static Key key(IRecipe irecipe) {
+        List<ItemStack> ingredients;
+
+        if (irecipe instanceof ShapedRecipes) {
+            ingredients = ((ShapedRecipes) irecipe).getIngredients();
+        } else if (irecipe instanceof ShapelessRecipes) {
+            ingredients = ((ShapelessRecipes) irecipe).getIngredients();
+        } else {
+            return null;
+        }
+
+        int[] ids = new int[ingredients.size()];
+        int count = 0;
+
+        for (ItemStack itemstack : ingredients) {
+            if (itemstack != null) {
+                if (itemstack.getItem() == null) {
+                    return null;
+                }
+                ids[count++] = Item.getId(itemstack.getItem());
+            }
+        }
+
+        return new Key(ids, count);
+    }
+
+    private static Key key(InventoryCrafting inventorycrafting) {
+        int[] ids = new int[inventorycrafting.getSize()];
+        int count = 0;
+
+        for (int i = 0; i < ids.length; ++i) {
+            ItemStack itemstack = inventorycrafting.getItem(i);
+
+            if (itemstack != null) {
+                if (itemstack.getItem() == null) {
+                    return null;
+                }
+                ids[count++] = Item.getId(itemstack.getItem());
+            }
+        }
+
+        return new Key(ids, count);
+    }
+
+    private static final class Key {
+
+        private final int occupied;
+        // distinct item ids, sorted
+        private final int[] items;
+        private final int hash;
+
+        Key(int[] ids, int length) {
+            Arrays.sort(ids, 0, length);
+
+            int distinct = 0;
+            for (int i = 0; i < length; ++i) {
+                if (i == 0 || ids[i] != ids[i - 1]) {
+                    ids[distinct++] = ids[i];
+                }
+            }
+
+            this.occupied = length;
+            this.items = Arrays.copyOf(ids, distinct);
+            this.hash = 31 * this.occupied + Arrays.hashCode(this.items);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) object;
+            return this.occupied == key.occupied && Arrays.equals(this.items, key.items);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package net.minecraft.server;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.bukkit.event.block.BlockRedstoneEvent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Breadth-first power calculation for connected redstone wire, used instead of the recursive vanilla
+ * update when {@code redstone-wire-algorithm} is set to {@code breadth-first}.
+ * <p>
+ * When a wire would change power, every wire connected to it is collected, the power each one receives
+ * from non-wire sources is read once, and the final power levels are spread from the strongest wires
+ * outwards through one queue per power level. The changed wires are then set without block updates, and
+ * the blocks around them are notified once each, in the order the wires were found. Wires of the
+ * network are not notified, as their power is already final. The neighbours of each wire are visited in
+ * the order the vanilla update queues them in, including the order PaperSpigot's {@code fix-cannons} uses.
+ * <p>
+ * Wire connections follow {@link BlockRedstoneWire}: a wire receives power from the wire next to it, from
+ * a wire one block up if the block next to it is occluding and the block above it is not, and from a wire
+ * one block down if the block next to it is not occluding.
+ */
+final class RedstoneWireNetwork {
+
+    private static final EnumDirection[] HORIZONTAL = EnumDirection.EnumDirectionLimit.HORIZONTAL.a();
+    private static final EnumDirection[] ALL = EnumDirection.values();
+    // The order World#applyPhysics notifies neighbours in, and the order PaperSpigot's fix-cannons queues them in
+    private static final EnumDirection[] PHYSICS_ORDER = { EnumDirection.WEST, EnumDirection.EAST, EnumDirection.DOWN, EnumDirection.UP, EnumDirection.NORTH, EnumDirection.SOUTH };
+
+    private final World world;
+    private final BlockRedstoneWire wire;
+    private final Long2ObjectOpenHashMap<Node> nodes = new Long2ObjectOpenHashMap<Node>();
+    // discovery order, which is also the order wires are set and their neighbours notified in
+    private final List<Node> order = new ArrayList<Node>();
+
+    private RedstoneWireNetwork(World world, BlockRedstoneWire wire) {
+        this.world = world;
+        this.wire = wire;
+    }
+
+    /**
+     * Updates the power of the wire at the position and of every wire connected to it.
+     *
+     * @return the new state of the wire at the position
+     */
+    static IBlockData update(World world, BlockRedstoneWire wire, BlockPosition blockposition, IBlockData iblockdata) {
+        int power = iblockdata.get(BlockRedstoneWire.POWER).intValue();
+
+        // Nothing to spread if the wire already agrees with its surroundings
+        if (getTargetPower(world, wire, blockposition) == power) {
+            return iblockdata;
+        }
+
+        RedstoneWireNetwork network = new RedstoneWireNetwork(world, wire);
+
+        network.collect(blockposition);
+        network.spreadPower();
+        network.apply();
+
+        IBlockData result = world.getType(blockposition);
+        return result.getBlock() == wire ? result : iblockdata;
+    }
+
+    private static int getTargetPower(World world, BlockRedstoneWire wire, BlockPosition blockposition) {
+        int power = wire.getSourcePower(world, blockposition);
+        boolean aboveOccluding = world.getType(blockposition.up()).getBlock().isOccluding();
+
+        for (EnumDirection enumdirection : HORIZONTAL) {
+            BlockPosition side = blockposition.shift(enumdirection);
+            boolean sideOccluding = world.getType(side).getBlock().isOccluding();
+
+            power = Math.max(power, wire.getPower(world, side, 0) - 1);
+            if (sideOccluding) {
+                if (!aboveOccluding) {
+                    power = Math.max(power, wire.getPower(world, side.up(), 0) - 1);
+                }
+            } else {
+                power = Math.max(power, wire.getPower(world, side.down(), 0) - 1);
+            }
+        }
+
+        return power;
+    }
+
+    private void collect(BlockPosition origin) {
+        this.getNode(origin, this.world.getType(origin));
+
+        for (int i = 0; i < this.order.size(); ++i) {
+            Node node = this.order.get(i);
+            BlockPosition blockposition = node.position;
+            boolean aboveOccluding = this.world.getType(blockposition.up()).getBlock().isOccluding();
+            boolean belowOccluding = this.world.getType(blockposition.down()).getBlock().isOccluding();
+
+            for (EnumDirection enumdirection : HORIZONTAL) {
+                BlockPosition side = blockposition.shift(enumdirection);
+                IBlockData sideData = this.world.getType(side);
+                boolean sideOccluding = sideData.getBlock().isOccluding();
+
+                if (sideData.getBlock() == this.wire) {
+                    this.link(this.getNode(side, sideData), node);
+                }
+
+                // Only the edges into this wire are linked here, the others are linked once their wire is visited
+                this.connect(node, side.up(), sideOccluding && !aboveOccluding, !aboveOccluding);
+                this.connect(node, side.down(), !sideOccluding, belowOccluding && !sideOccluding);
+            }
+        }
+    }
+
+    private void connect(Node node, BlockPosition blockposition, boolean receives, boolean gives) {
+        if (!receives && !gives) {
+            return;
+        }
+
+        IBlockData iblockdata = this.world.getType(blockposition);
+
+        if (iblockdata.getBlock() == this.wire) {
+            Node other = this.getNode(blockposition, iblockdata);
+
+            if (receives) {
+                this.link(other, node);
+            }
+        }
+    }
+
+    private void link(Node from, Node to) {
+        if (from.targets == null) {
+            from.targets = new ArrayList<Node>(4);
+        }
+        from.targets.add(to);
+    }
+
+    private Node getNode(BlockPosition blockposition, IBlockData iblockdata) {
+        long key = blockposition.asLong();
+        Node node = this.nodes.get(key);
+
+        if (node == null) {
+            node = new Node(blockposition, iblockdata);
+            this.nodes.put(key, node);
+            this.order.add(node);
+        }
+
+        return node;
+    }
+
+    private void spreadPower() {
+        List<List<Node>> queues = new ArrayList<List<Node>>(16);
+
+        for (int i = 0; i < 16; ++i) {
+            queues.add(new ArrayList<Node>());
+        }
+
+        for (Node node : this.order) {
+            node.power = this.wire.getSourcePower(this.world, node.position);
+            if (node.power > 0) {
+                queues.get(node.power).add(node);
+            }
+        }
+
+        for (int level = 15; level > 1; --level) {
+            List<Node> queue = queues.get(level);
+
+            for (int i = 0; i < queue.size(); ++i) {
+                Node node = queue.get(i);
+
+                // Queued again at a higher level since
+                if (node.power != level || node.targets == null) {
+                    continue;
+                }
+
+                for (Node target : node.targets) {
+                    if (target.power < level - 1) {
+                        target.power = level - 1;
+                        queues.get(level - 1).add(target);
+                    }
+                }
+            }
+        }
+    }
+
+    private void apply() {
+        List<Node> changed = new ArrayList<Node>();
+
+        for (Node node : this.order) {
+            int oldPower = node.data.get(BlockRedstoneWire.POWER).intValue();
+            int power = node.power;
+
+            if (oldPower == power) {
+                continue;
+            }
+
+            // CraftBukkit start
+            BlockRedstoneEvent event = new BlockRedstoneEvent(this.world.getWorld().getBlockAt(node.position.getX(), node.position.getY(), node.position.getZ()), oldPower, power);
+            this.world.getServer().getPluginManager().callEvent(event);
+
+            power = event.getNewCurrent();
+            // CraftBukkit end
+
+            if (oldPower != power) {
+                if (this.world.getType(node.position) == node.data) {
+                    this.world.setTypeAndData(node.position, node.data.set(BlockRedstoneWire.POWER, Integer.valueOf(power)), 2);
+                }
+                changed.add(node);
+            }
+        }
+
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        // The same blocks vanilla reaches, through the wire and each of its neighbours, without repeats
+        Set<BlockPosition> updates = new LinkedHashSet<BlockPosition>();
+        EnumDirection[] directions = this.world.paperSpigotConfig.fixCannons ? PHYSICS_ORDER : ALL; // PaperSpigot - Fix cannons
+
+        for (Node node : changed) {
+            this.addUpdates(node.position, updates);
+            for (EnumDirection enumdirection : directions) {
+                this.addUpdates(node.position.shift(enumdirection), updates);
+            }
+        }
+
+        this.world.redstonePowerChanges += changed.size();
+        this.world.redstoneBlockUpdates += updates.size();
+
+        for (BlockPosition blockposition : updates) {
+            this.world.d(blockposition, this.wire);
+        }
+        for (Node node : changed) {
+            this.world.spigotConfig.antiXrayInstance.updateNearbyBlocks(this.world, node.position); // Spigot
+        }
+    }
+
+    private void addUpdates(BlockPosition blockposition, Set<BlockPosition> updates) {
+        for (EnumDirection enumdirection : PHYSICS_ORDER) {
+            BlockPosition neighbour = blockposition.shift(enumdirection);
+
+            if (!this.nodes.containsKey(neighbour.asLong())) {
+                updates.add(neighbour);
+            }
+        }
+    }
+
+    private static final class Node {
+
+        final BlockPosition position;
+        final IBlockData data;
+        int power;
+        // wires this one gives power to
+        List<Node> targets;
+
+        Node(BlockPosition position, IBlockData data) {
+            this.position = position;
+            this.data = data;
+        }
+    }
+}
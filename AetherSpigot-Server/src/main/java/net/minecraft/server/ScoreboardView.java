@@ -0,0 +1,443 @@
+package net.minecraft.server;
+
+import com.google.common.base.Objects;
+import xyz.aether.spigot.config.AetherConfig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tracks the scoreboard a client displays, so only the changes it can see are sent to it.
+ * <p>
+ * Scoreboard packets sent to the player are applied to a pending copy of the client's scoreboard instead of
+ * being sent. At the end of the tick, the objectives, display slots and teams touched since the last flush
+ * are compared with what the client has, and only the packets needed to get from one to the other are sent.
+ * Changes that do nothing or that are reverted within the tick never reach the client, and repeated updates
+ * to the same score or team are sent once.
+ * <p>
+ * Whether a connection uses a view is decided when it is created, so the tracked state always matches the
+ * client.
+ */
+public final class ScoreboardView {
+
+    public static long received;
+    public static long sent;
+
+    private final boolean enabled = AetherConfig.scoreboardDiffing;
+    private final State displayed = new State();
+    private final State pending = new State();
+    private final Set<String> dirtyObjectives = new LinkedHashSet<String>();
+    private final Set<String> dirtyTeams = new LinkedHashSet<String>();
+    private int dirtySlots;
+    private boolean flushing;
+
+    /**
+     * @return {@code true} if the packet was queued and must not be sent
+     */
+    boolean queue(Packet<?> packet) {
+        if (!this.enabled || !(packet instanceof PacketPlayOutScoreboardScore || packet instanceof PacketPlayOutScoreboardTeam
+                || packet instanceof PacketPlayOutScoreboardObjective || packet instanceof PacketPlayOutScoreboardDisplayObjective)) {
+            return false;
+        }
+
+        return this.apply(packet);
+    }
+
+    private synchronized boolean apply(Packet<?> packet) {
+        if (this.flushing) {
+            return false;
+        }
+
+        if (packet instanceof PacketPlayOutScoreboardScore) {
+            this.applyScore((PacketPlayOutScoreboardScore) packet);
+        } else if (packet instanceof PacketPlayOutScoreboardTeam) {
+            this.applyTeam((PacketPlayOutScoreboardTeam) packet);
+        } else if (packet instanceof PacketPlayOutScoreboardObjective) {
+            this.applyObjective((PacketPlayOutScoreboardObjective) packet);
+        } else {
+            this.applyDisplay((PacketPlayOutScoreboardDisplayObjective) packet);
+        }
+
+        ++received;
+        return true;
+    }
+
+    private void applyObjective(PacketPlayOutScoreboardObjective packet) {
+        String name = packet.getName();
+
+        switch (packet.getAction()) {
+        case 0:
+            this.pending.objectives.put(name, new Objective(packet.getDisplayName(), packet.getRenderType()));
+            break;
+
+        case 1:
+            if (this.pending.objectives.remove(name) != null) {
+                this.dirtySlots |= this.pending.clearSlots(name);
+            }
+            break;
+
+        case 2:
+            Objective objective = this.pending.objectives.get(name);
+
+            if (objective != null) {
+                objective.displayName = packet.getDisplayName();
+                objective.renderType = packet.getRenderType();
+            }
+        }
+
+        this.dirtyObjectives.add(name);
+    }
+
+    private void applyDisplay(PacketPlayOutScoreboardDisplayObjective packet) {
+        int slot = packet.getSlot();
+        String name = packet.getName();
+
+        if (slot < 0 || slot >= this.pending.slots.length) {
+            return;
+        }
+
+        // The client clears the slot when it does not know the objective
+        this.pending.slots[slot] = this.pending.objectives.containsKey(name) ? name : null;
+        this.dirtySlots |= 1 << slot;
+    }
+
+    private void applyScore(PacketPlayOutScoreboardScore packet) {
+        String entry = packet.getEntry();
+        String name = packet.getObjective();
+
+        if (packet.getAction() == PacketPlayOutScoreboardScore.EnumScoreboardAction.CHANGE) {
+            Objective objective = this.pending.objectives.get(name);
+
+            if (objective != null) {
+                objective.scores.put(entry, packet.getScore());
+                this.dirtyObjectives.add(name);
+            }
+        } else if (name.isEmpty()) {
+            for (Map.Entry<String, Objective> objective : this.pending.objectives.entrySet()) {
+                if (objective.getValue().scores.remove(entry) != null) {
+                    this.dirtyObjectives.add(objective.getKey());
+                }
+            }
+        } else {
+            Objective objective = this.pending.objectives.get(name);
+
+            if (objective != null && objective.scores.remove(entry) != null) {
+                this.dirtyObjectives.add(name);
+            }
+        }
+    }
+
+    private void applyTeam(PacketPlayOutScoreboardTeam packet) {
+        String name = packet.getName();
+        Team team = this.pending.teams.get(name);
+
+        switch (packet.getAction()) {
+        case 0:
+            if (team != null) {
+                this.pending.removeTeam(name);
+            }
+            team = new Team();
+            team.setInfo(packet);
+            this.pending.teams.put(name, team);
+            this.join(name, packet.getPlayers());
+            break;
+
+        case 1:
+            if (team != null) {
+                this.pending.removeTeam(name);
+            }
+            break;
+
+        case 2:
+            if (team != null) {
+                team.setInfo(packet);
+            }
+            break;
+
+        case 3:
+            if (team != null) {
+                this.join(name, packet.getPlayers());
+            }
+            break;
+
+        case 4:
+            if (team != null) {
+                for (String entry : packet.getPlayers()) {
+                    if (name.equals(this.pending.entryTeams.get(entry))) {
+                        this.pending.entryTeams.remove(entry);
+                        team.members.remove(entry);
+                    }
+                }
+            }
+        }
+
+        this.dirtyTeams.add(name);
+    }
+
+    private void join(String name, Collection<String> entries) {
+        Team team = this.pending.teams.get(name);
+
+        for (String entry : entries) {
+            String previous = this.pending.entryTeams.put(entry, name);
+
+            // The client moves an entry out of its old team when it joins another one
+            if (previous != null && !previous.equals(name)) {
+                this.pending.teams.get(previous).members.remove(entry);
+                this.dirtyTeams.add(previous);
+            }
+            team.members.add(entry);
+        }
+    }
+
+    /**
+     * Sends the packets that bring the client's scoreboard up to date with everything queued since the last
+     * flush.
+     */
+    synchronized void flush(PlayerConnection playerconnection) {
+        if (this.dirtyObjectives.isEmpty() && this.dirtyTeams.isEmpty() && this.dirtySlots == 0) {
+            return;
+        }
+
+        this.flushing = true;
+        try {
+            this.flushTeams(playerconnection);
+            this.flushObjectives(playerconnection);
+            this.flushSlots(playerconnection);
+        } finally {
+            this.flushing = false;
+            this.dirtyTeams.clear();
+            this.dirtyObjectives.clear();
+            this.dirtySlots = 0;
+        }
+    }
+
+    private void flushTeams(PlayerConnection playerconnection) {
+        // Entries leave their old team before any joins another one, so the client never sees one in two teams
+        for (String name : this.dirtyTeams) {
+            Team shown = this.displayed.teams.get(name);
+
+            if (shown == null) {
+                continue;
+            }
+
+            Team team = this.pending.teams.get(name);
+
+            if (team == null) {
+                this.displayed.removeTeam(name);
+                this.send(playerconnection, this.createTeamPacket(name, 1, shown, Collections.<String>emptyList()));
+                continue;
+            }
+
+            List<String> left = null;
+
+            for (Iterator<String> iterator = shown.members.iterator(); iterator.hasNext(); ) {
+                String entry = iterator.next();
+
+                if (!team.members.contains(entry)) {
+                    iterator.remove();
+                    this.displayed.entryTeams.remove(entry);
+                    if (left == null) {
+                        left = new ArrayList<String>();
+                    }
+                    left.add(entry);
+                }
+            }
+
+            if (left != null) {
+                this.send(playerconnection, this.createTeamPacket(name, 4, shown, left));
+            }
+        }
+
+        for (String name : this.dirtyTeams) {
+            Team team = this.pending.teams.get(name);
+
+            if (team == null) {
+                continue;
+            }
+
+            Team shown = this.displayed.teams.get(name);
+
+            if (shown == null) {
+                shown = new Team();
+                shown.copyInfo(team);
+                this.displayed.teams.put(name, shown);
+                for (String entry : team.members) {
+                    shown.members.add(entry);
+                    this.displayed.entryTeams.put(entry, name);
+                }
+                this.send(playerconnection, this.createTeamPacket(name, 0, team, team.members));
+                continue;
+            }
+
+            if (!shown.hasSameInfo(team)) {
+                shown.copyInfo(team);
+                this.send(playerconnection, this.createTeamPacket(name, 2, team, Collections.<String>emptyList()));
+            }
+
+            List<String> joined = null;
+
+            for (String entry : team.members) {
+                if (shown.members.add(entry)) {
+                    this.displayed.entryTeams.put(entry, name);
+                    if (joined == null) {
+                        joined = new ArrayList<String>();
+                    }
+                    joined.add(entry);
+                }
+            }
+
+            if (joined != null) {
+                this.send(playerconnection, this.createTeamPacket(name, 3, team, joined));
+            }
+        }
+    }
+
+    private void flushObjectives(PlayerConnection playerconnection) {
+        for (String name : this.dirtyObjectives) {
+            Objective objective = this.pending.objectives.get(name);
+            Objective shown = this.displayed.objectives.get(name);
+
+            if (objective == null) {
+                if (shown != null) {
+                    // The client clears the slots showing a removed objective itself
+                    this.displayed.objectives.remove(name);
+                    this.displayed.clearSlots(name);
+                    this.send(playerconnection, new PacketPlayOutScoreboardObjective(name, shown.displayName, shown.renderType, 1));
+                }
+                continue;
+            }
+
+            if (shown == null) {
+                shown = new Objective(objective.displayName, objective.renderType);
+                this.displayed.objectives.put(name, shown);
+                this.send(playerconnection, new PacketPlayOutScoreboardObjective(name, objective.displayName, objective.renderType, 0));
+            } else if (!shown.displayName.equals(objective.displayName) || shown.renderType != objective.renderType) {
+                shown.displayName = objective.displayName;
+                shown.renderType = objective.renderType;
+                this.send(playerconnection, new PacketPlayOutScoreboardObjective(name, objective.displayName, objective.renderType, 2));
+            }
+
+            for (Iterator<String> iterator = shown.scores.keySet().iterator(); iterator.hasNext(); ) {
+                String entry = iterator.next();
+
+                if (!objective.scores.containsKey(entry)) {
+                    iterator.remove();
+                    this.send(playerconnection, new PacketPlayOutScoreboardScore(entry, name, 0, PacketPlayOutScoreboardScore.EnumScoreboardAction.REMOVE));
+                }
+            }
+
+            for (Map.Entry<String, Integer> score : objective.scores.entrySet()) {
+                Integer previous = shown.scores.put(score.getKey(), score.getValue());
+
+                if (!score.getValue().equals(previous)) {
+                    this.send(playerconnection, new PacketPlayOutScoreboardScore(score.getKey(), name, score.getValue(), PacketPlayOutScoreboardScore.EnumScoreboardAction.CHANGE));
+                }
+            }
+        }
+    }
+
+    private void flushSlots(PlayerConnection playerconnection) {
+        for (int slots = this.dirtySlots; slots != 0; slots &= slots - 1) {
+            int slot = Integer.numberOfTrailingZeros(slots);
+            String name = this.pending.slots[slot];
+
+            if (!Objects.equal(name, this.displayed.slots[slot])) {
+                this.displayed.slots[slot] = name;
+                this.send(playerconnection, new PacketPlayOutScoreboardDisplayObjective(slot, name == null ? "" : name));
+            }
+        }
+    }
+
+    private PacketPlayOutScoreboardTeam createTeamPacket(String name, int action, Team team, Collection<String> entries) {
+        return new PacketPlayOutScoreboardTeam(name, action, team.displayName, team.prefix, team.suffix, team.options, team.nameTagVisibility, team.color, entries);
+    }
+
+    private void send(PlayerConnection playerconnection, Packet<?> packet) {
+        ++sent;
+        playerconnection.sendPacket(packet);
+    }
+
+    private static final class State {
+
+        final Map<String, Objective> objectives = new LinkedHashMap<String, Objective>();
+        final String[] slots = new String[19];
+        final Map<String, Team> teams = new LinkedHashMap<String, Team>();
+        final Map<String, String> entryTeams = new HashMap<String, String>();
+
+        int clearSlots(String name) {
+            int cleared = 0;
+
+            for (int i = 0; i < this.slots.length; ++i) {
+                if (name.equals(this.slots[i])) {
+                    this.slots[i] = null;
+                    cleared |= 1 << i;
+                }
+            }
+
+            return cleared;
+        }
+
+        void removeTeam(String name) {
+            Team team = this.teams.remove(name);
+
+            for (String entry : team.members) {
+                this.entryTeams.remove(entry);
+            }
+        }
+    }
+
+    private static final class Objective {
+
+        String displayName;
+        IScoreboardCriteria.EnumScoreboardHealthDisplay renderType;
+        final Map<String, Integer> scores = new LinkedHashMap<String, Integer>();
+
+        Objective(String displayName, IScoreboardCriteria.EnumScoreboardHealthDisplay renderType) {
+            this.displayName = displayName;
+            this.renderType = renderType;
+        }
+    }
+
+    private static final class Team {
+
+        String displayName;
+        String prefix;
+        String suffix;
+        int options;
+        String nameTagVisibility;
+        int color;
+        final Set<String> members = new LinkedHashSet<String>();
+
+        void setInfo(PacketPlayOutScoreboardTeam packet) {
+            this.displayName = packet.getDisplayName();
+            this.prefix = packet.getPrefix();
+            this.suffix = packet.getSuffix();
+            this.options = packet.getOptions();
+            this.nameTagVisibility = packet.getNameTagVisibility();
+            this.color = packet.getColor();
+        }
+
+        void copyInfo(Team team) {
+            this.displayName = team.displayName;
+            this.prefix = team.prefix;
+            this.suffix = team.suffix;
+            this.options = team.options;
+            this.nameTagVisibility = team.nameTagVisibility;
+            this.color = team.color;
+        }
+
+        boolean hasSameInfo(Team team) {
+            return this.options == team.options && this.color == team.color && Objects.equal(this.displayName, team.displayName)
+                    && Objects.equal(this.prefix, team.prefix) && Objects.equal(this.suffix, team.suffix)
+                    && Objects.equal(this.nameTagVisibility, team.nameTagVisibility);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package net.minecraft.server;
+
+/**
+ * Block view of the loaded chunks in an area, taken on the main thread so that worker threads can read
+ * blocks without touching the chunk provider. Used for pathfinding and explosion rays.
+ * <p>
+ * The set of chunks and their sections is fixed when the snapshot is taken, so chunk loads, unloads and new
+ * sections are never seen by the worker. Block ids inside a section are read as the search reaches them;
+ * they are single chars, so a block changed meanwhile is seen either before or after the change.
+ */
+final class SectionSnapshot implements IBlockAccess {
+
+    private final int chunkX;
+    private final int chunkZ;
+    private final int sizeX;
+    private final int sizeZ;
+    private final ChunkSection[][] sections;
+    private boolean complete = true;
+
+    SectionSnapshot(World world, BlockPosition blockposition, BlockPosition blockposition1) {
+        this.chunkX = blockposition.getX() >> 4;
+        this.chunkZ = blockposition.getZ() >> 4;
+        this.sizeX = (blockposition1.getX() >> 4) - this.chunkX + 1;
+        this.sizeZ = (blockposition1.getZ() >> 4) - this.chunkZ + 1;
+        this.sections = new ChunkSection[this.sizeX * this.sizeZ][];
+
+        for (int i = 0; i < this.sizeX; ++i) {
+            for (int j = 0; j < this.sizeZ; ++j) {
+                Chunk chunk = world.getChunkIfLoaded(this.chunkX + i, this.chunkZ + j);
+
+                if (chunk != null) {
+                    this.sections[i * this.sizeZ + j] = chunk.getSections().clone();
+                } else {
+                    this.complete = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether every chunk of the area was loaded when the snapshot was taken. Blocks of missing chunks read as air.
+     */
+    boolean isComplete() {
+        return this.complete;
+    }
+
+    public TileEntity getTileEntity(BlockPosition blockposition) {
+        return null;
+    }
+
+    public IBlockData getType(BlockPosition blockposition) {
+        int y = blockposition.getY();
+
+        if (y >= 0 && y < 256) {
+            int i = (blockposition.getX() >> 4) - this.chunkX;
+            int j = (blockposition.getZ() >> 4) - this.chunkZ;
+
+            if (i >= 0 && i < this.sizeX && j >= 0 && j < this.sizeZ) {
+                ChunkSection[] chunkSections = this.sections[i * this.sizeZ + j];
+
+                if (chunkSections != null) {
+                    ChunkSection chunksection = chunkSections[y >> 4];
+
+                    if (chunksection != null) {
+                        return chunksection.getType(blockposition.getX() & 15, y & 15, blockposition.getZ() & 15);
+                    }
+                }
+            }
+        }
+
+        return Blocks.AIR.getBlockData();
+    }
+
+    public boolean isEmpty(BlockPosition blockposition) {
+        return this.getType(blockposition).getBlock().getMaterial() == Material.AIR;
+    }
+
+    public int getBlockPower(BlockPosition blockposition, EnumDirection enumdirection) {
+        IBlockData iblockdata = this.getType(blockposition);
+
+        return iblockdata.getBlock().b((IBlockAccess) this, blockposition, iblockdata, enumdirection);
+    }
+}
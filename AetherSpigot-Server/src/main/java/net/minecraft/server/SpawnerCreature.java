@@ -1,6 +1,7 @@
 package net.minecraft.server;
 
 import com.google.common.collect.Sets;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
@@ -17,80 +18,131 @@ public final class SpawnerCreature {
 
     private static final int a = (int) Math.pow(17.0D, 2.0D);
     private final LongHashSet b = new LongHashSet(); // CraftBukkit
+    // AetherSpigot start
+    private long[] playerChunks = new long[0];
+    private int spawnRange = -1;
+    private double borderSize;
+    private double borderCenterX;
+    private double borderCenterZ;
+    private int chunkCount;
+    // AetherSpigot end
 
     public SpawnerCreature() {}
 
     // Spigot start - get entity count only from chunks being processed in b
-    private int getEntityCount(WorldServer server, Class oClass)
+    private int getEntityCount(WorldServer server, EnumCreatureType enumcreaturetype) // AetherSpigot - by creature type
     {
         // PandaSpigot start - use entire world, not just active chunks. Spigot broke vanilla expectations.
-        if (true) {
-            int sum = 0;
-            for (Chunk c : server.chunkProviderServer.chunks.values()) {
-                sum += c.entityCount.get(oClass);
+        // AetherSpigot - the loaded chunks' counts are summed up as entities move between chunks
+        return server.creatureCounts[enumcreaturetype.ordinal()];
+        // PandaSpigot end
+    }
+    // Spigot end
+
+    // AetherSpigot start
+    static int getSpawnLimit(WorldServer worldserver, EnumCreatureType enumcreaturetype) {
+        switch (enumcreaturetype) {
+            case MONSTER:
+                return worldserver.getWorld().getMonsterSpawnLimit();
+            case CREATURE:
+                return worldserver.getWorld().getAnimalSpawnLimit();
+            case WATER_CREATURE:
+                return worldserver.getWorld().getWaterAnimalSpawnLimit();
+            case AMBIENT:
+                return worldserver.getWorld().getAmbientSpawnLimit();
+            default:
+                return enumcreaturetype.b();
+        }
+    }
+
+    private static int getSpawnRange(WorldServer worldserver) {
+        // Spigot Start
+        byte b0 = worldserver.spigotConfig.mobSpawnRange;
+        b0 = ( b0 > worldserver.spigotConfig.viewDistance ) ? (byte) worldserver.spigotConfig.viewDistance : b0;
+        b0 = ( b0 > 8 ) ? 8 : b0;
+        // Spigot End
+        return b0;
+    }
+
+    static boolean affectsSpawning(EntityHuman entityhuman) {
+        return !entityhuman.isSpectator() || !entityhuman.affectsSpawning; // PaperSpigot
+    }
+
+    /**
+     * Collects the chunks mobs can spawn in into {@link #b}, skipping the work if no player changed chunk
+     * and the spawn range and world border are the same as in the last cycle.
+     *
+     * @return the number of chunks around players, including the edge chunks that are not spawned in
+     */
+    private int collectChunks(WorldServer worldserver) {
+        int b0 = getSpawnRange(worldserver);
+        WorldBorder worldborder = worldserver.getWorldBorder();
+        long[] chunks = new long[worldserver.players.size()];
+        int n = 0;
+
+        for (EntityHuman entityhuman : worldserver.players) {
+            if (affectsSpawning(entityhuman)) {
+                chunks[n++] = LongHash.toLong(MathHelper.floor(entityhuman.locX / 16.0D), MathHelper.floor(entityhuman.locZ / 16.0D));
             }
-            return sum;
         }
-        // PandaSpigot end
+        chunks = Arrays.copyOf(chunks, n);
+
+        if (b0 == this.spawnRange && Arrays.equals(chunks, this.playerChunks) && worldborder.getSize() == this.borderSize && worldborder.getCenterX() == this.borderCenterX && worldborder.getCenterZ() == this.borderCenterZ) {
+            return this.chunkCount;
+        }
+
+        this.playerChunks = chunks;
+        this.spawnRange = b0;
+        this.borderSize = worldborder.getSize();
+        this.borderCenterX = worldborder.getCenterX();
+        this.borderCenterZ = worldborder.getCenterZ();
+        this.b.clear();
+
         int i = 0;
-        Iterator<Long> it = this.b.iterator();
-        while ( it.hasNext() )
-        {
-            Long coord = it.next();
-            int x = LongHash.msw( coord );
-            int z = LongHash.lsw( coord );
-            if ( !server.chunkProviderServer.unloadQueue.contains( coord ) && server.isChunkLoaded( x, z, true ) )
-            {
-                i += server.getChunkAt( x, z ).entityCount.get( oClass );
+
+        for (long chunk : chunks) {
+            int l = LongHash.msw(chunk);
+            int j = LongHash.lsw(chunk);
+
+            for (int i1 = -b0; i1 <= b0; ++i1) {
+                for (int k = -b0; k <= b0; ++k) {
+                    boolean flag3 = i1 == -b0 || i1 == b0 || k == -b0 || k == b0;
+                    long chunkCoords = LongHash.toLong(i1 + l, k + j);
+
+                    if (!this.b.contains(chunkCoords)) {
+                        ++i;
+                        if (!flag3 && worldborder.isInBounds(i1 + l, k + j)) {
+                            this.b.add(chunkCoords);
+                        }
+                    }
+                }
             }
         }
+
+        this.chunkCount = i;
         return i;
     }
-    // Spigot end
+
+    // AetherSpigot end
 
     public int a(WorldServer worldserver, boolean flag, boolean flag1, boolean flag2) {
         if (!flag && !flag1) {
             return 0;
         } else {
-            this.b.clear();
-            int i = 0;
-            Iterator iterator = worldserver.players.iterator();
-
+            // AetherSpigot start - moved into collectChunks, which reuses the chunks of the last cycle
+            int i = this.collectChunks(worldserver);
             int j;
-            int k;
-
-            while (iterator.hasNext()) {
-                EntityHuman entityhuman = (EntityHuman) iterator.next();
-
-                if (!entityhuman.isSpectator() || !entityhuman.affectsSpawning) { // PaperSpigot
-                    int l = MathHelper.floor(entityhuman.locX / 16.0D);
-
-                    j = MathHelper.floor(entityhuman.locZ / 16.0D);
-                    byte b0 = 8;
-                    // Spigot Start
-                    b0 = worldserver.spigotConfig.mobSpawnRange;
-                    b0 = ( b0 > worldserver.spigotConfig.viewDistance ) ? (byte) worldserver.spigotConfig.viewDistance : b0;
-                    b0 = ( b0 > 8 ) ? 8 : b0;
-                    // Spigot End
-
-                    for (int i1 = -b0; i1 <= b0; ++i1) {
-                        for (k = -b0; k <= b0; ++k) {
-                            boolean flag3 = i1 == -b0 || i1 == b0 || k == -b0 || k == b0;
-                            // CraftBukkit start - use LongHash and LongHashSet
-                            // ChunkCoordIntPair chunkcoordintpair = new ChunkCoordIntPair(i1 + l, k + j);
-
-                            long chunkCoords = LongHash.toLong(i1 + l, k + j);
-                            if (!this.b.contains(chunkCoords)) {
-                                ++i;
-                                if (!flag3 && worldserver.getWorldBorder().isInBounds(i1 + l, k + j)) {
-                                    this.b.add(chunkCoords);
-                                }
-                            }
-                            // CraftBukkit end
-                        }
-                    }
+            boolean perPlayer = worldserver.aetherWorldConfig.perPlayerMobSpawns;
+
+            if (perPlayer) {
+                if (worldserver.playerMobCaps == null) {
+                    worldserver.playerMobCaps = new PlayerMobCaps(worldserver);
                 }
+                worldserver.playerMobCaps.update(getSpawnRange(worldserver));
+            } else {
+                worldserver.playerMobCaps = null;
             }
+            // AetherSpigot end
 
             int j1 = 0;
             BlockPosition blockposition = worldserver.getSpawn();
@@ -102,21 +154,7 @@ public final class SpawnerCreature {
                 EnumCreatureType enumcreaturetype = aenumcreaturetype[k1];
 
                // CraftBukkit start - Use per-world spawn limits
-                int limit = enumcreaturetype.b();
-                switch (enumcreaturetype) {
-                    case MONSTER:
-                        limit = worldserver.getWorld().getMonsterSpawnLimit();
-                        break;
-                    case CREATURE:
-                        limit = worldserver.getWorld().getAnimalSpawnLimit();
-                        break;
-                    case WATER_CREATURE:
-                        limit = worldserver.getWorld().getWaterAnimalSpawnLimit();
-                        break;
-                    case AMBIENT:
-                        limit = worldserver.getWorld().getAmbientSpawnLimit();
-                        break;
-                }
+                int limit = getSpawnLimit(worldserver, enumcreaturetype); // AetherSpigot - moved into getSpawnLimit
 
                 if (limit == 0) {
                     continue;
@@ -125,10 +163,10 @@ public final class SpawnerCreature {
                 // CraftBukkit end
 
                 if ((!enumcreaturetype.d() || flag1) && (enumcreaturetype.d() || flag) && (!enumcreaturetype.e() || flag2)) {
-                    k = worldserver.a(enumcreaturetype.a());
+                    // k = worldserver.a(enumcreaturetype.a()); // AetherSpigot - unused, and scans every entity of the world
                     int l1 = limit * i / a; // CraftBukkit - use per-world limits
 
-                    if ((mobcnt = getEntityCount(worldserver, enumcreaturetype.a())) <= limit * i / 289) { // PandaSpigot - use 17x17 like vanilla (a at top of file)
+                    if ((mobcnt = getEntityCount(worldserver, enumcreaturetype)) <= limit * i / 289) { // PandaSpigot - use 17x17 like vanilla (a at top of file)
                         Iterator iterator1 = this.b.iterator();
 
                         int moblimit = (limit * i / 289) - mobcnt + 1; // Spigot - up to 1 more than limit // PandaSpigot - use 17x17 like vanilla (a at top of file)
@@ -136,6 +174,11 @@ public final class SpawnerCreature {
                         while (iterator1.hasNext() && (moblimit > 0)) { // Spigot - while more allowed
                             // CraftBukkit start = use LongHash and LongObjectHashMap
                             long key = ((Long) iterator1.next()).longValue();
+                            // AetherSpigot start
+                            if (perPlayer && !worldserver.playerMobCaps.isUnderCap(LongHash.msw(key), LongHash.lsw(key), enumcreaturetype)) {
+                                continue;
+                            }
+                            // AetherSpigot end
                             BlockPosition blockposition1 = getRandomPosition(worldserver, LongHash.msw(key), LongHash.lsw(key));
                             // CraftBukkit
                             int i2 = blockposition1.getX();
@@ -33,6 +33,41 @@ public abstract class TileEntityContainer extends TileEntity implements ITileEnt
         this.a = chestlock;
     }
 
+    // AetherSpigot start - wake the hoppers sleeping on this container when it changes
+    private java.util.List<TileEntityHopper> hopperWatchers;
+
+    void addHopperWatcher(TileEntityHopper tileentityhopper) {
+        if (this.hopperWatchers == null) {
+            this.hopperWatchers = new java.util.ArrayList<TileEntityHopper>(2);
+        }
+        if (!this.hopperWatchers.contains(tileentityhopper)) {
+            this.hopperWatchers.add(tileentityhopper);
+        }
+    }
+
+    void removeHopperWatcher(TileEntityHopper tileentityhopper) {
+        if (this.hopperWatchers != null) {
+            this.hopperWatchers.remove(tileentityhopper);
+        }
+    }
+
+    @Override
+    public void update() {
+        super.update();
+        if (this.hopperWatchers != null) {
+            for (int i = this.hopperWatchers.size() - 1; i >= 0; --i) {
+                TileEntityHopper tileentityhopper = this.hopperWatchers.get(i);
+
+                if (tileentityhopper.x()) {
+                    this.hopperWatchers.remove(i);
+                } else {
+                    tileentityhopper.wake();
+                }
+            }
+        }
+    }
+    // AetherSpigot end
+
     public IChatBaseComponent getScoreboardDisplayName() {
         return (IChatBaseComponent) (this.hasCustomName() ? new ChatComponentText(this.getName()) : new ChatMessage(this.getName(), new Object[0]));
     }
@@ -17,6 +17,16 @@ public class TileEntityHopper extends TileEntityContainer implements IHopper, IU
     private ItemStack[] items = new ItemStack[5];
     private String f;
     private int g = -1;
+    // AetherSpigot start - cached neighbour containers, index 0 is the source above and 1 the destination
+    private final TileEntity[] containers = new TileEntity[2];
+    private final EnumDirection[] containerDirections = new EnumDirection[2];
+    private final Chunk[] containerChunks = new Chunk[2];
+    private final int[] containerLookupTicks = { Integer.MIN_VALUE, Integer.MIN_VALUE };
+    private final IInventory[] resolved = new IInventory[2];
+    private final int[] resolvedTicks = { Integer.MIN_VALUE, Integer.MIN_VALUE };
+    private boolean sleeping;
+    private int sleepTick;
+    // AetherSpigot end
 
     // CraftBukkit start - add fields and methods
     public List<HumanEntity> transaction = new java.util.ArrayList<HumanEntity>();
@@ -91,8 +101,131 @@ public class TileEntityHopper extends TileEntityContainer implements IHopper, IU
 
     public void update() {
         super.update();
+        this.wake(); // AetherSpigot
     }
 
+    // AetherSpigot start
+    void wake() {
+        this.sleeping = false;
+    }
+
+    /**
+     * Drops the cached containers, called when a neighbour block changes.
+     */
+    void onNeighborChange() {
+        for (int i = 0; i < 2; ++i) {
+            this.setContainer(i, null, null);
+            this.containerLookupTicks[i] = Integer.MIN_VALUE;
+        }
+        this.wake();
+    }
+
+    private void setContainer(int i, TileEntity tileentity, EnumDirection enumdirection) {
+        if (this.containers[i] instanceof TileEntityContainer && this.containers[i] != tileentity) {
+            ((TileEntityContainer) this.containers[i]).removeHopperWatcher(this);
+        }
+        this.containers[i] = tileentity;
+        this.containerDirections[i] = enumdirection;
+        this.containerChunks[i] = null;
+    }
+
+    /**
+     * Finds the container on the given side like {@link #b(World, double, double, double)}, keeping the tile
+     * entity found there between ticks. Positions without one are looked up again after a second, in case a
+     * block was set without a neighbour update.
+     */
+    private IInventory getContainer(int i, EnumDirection enumdirection) {
+        TileEntity tileentity = this.containers[i];
+        BlockPosition blockposition = this.position.shift(enumdirection);
+        Chunk chunk = this.world.getChunkIfLoaded(blockposition.getX() >> 4, blockposition.getZ() >> 4);
+
+        if (chunk == null) return null; // Spigot
+        // A reloaded chunk has new tile entities, so the cache is tied to the chunk it was filled from
+        if (this.containerChunks[i] != chunk || this.containerDirections[i] != enumdirection || tileentity != null && tileentity.x()) {
+            this.setContainer(i, null, null);
+            this.containerLookupTicks[i] = Integer.MIN_VALUE;
+            tileentity = null;
+        }
+
+        if (tileentity == null && MinecraftServer.currentTick - this.containerLookupTicks[i] >= 20) {
+            if (this.world.getType(blockposition).getBlock().isTileEntity()) {
+                TileEntity tileentity1 = this.world.getTileEntity(blockposition);
+
+                if (tileentity1 instanceof IInventory) {
+                    tileentity = tileentity1;
+                }
+            }
+            this.setContainer(i, tileentity, enumdirection);
+            this.containerChunks[i] = chunk;
+            this.containerLookupTicks[i] = MinecraftServer.currentTick;
+        }
+
+        IInventory iinventory = null;
+
+        if (tileentity != null) {
+            iinventory = (IInventory) tileentity;
+            if (tileentity instanceof TileEntityChest) {
+                Block block = this.world.getType(blockposition).getBlock();
+
+                if (block instanceof BlockChest) {
+                    iinventory = ((BlockChest) block).f(this.world, blockposition);
+                }
+            }
+        }
+
+        if (iinventory == null) {
+            // The destination box was always centred on the block corner
+            double d0 = i == 0 ? 0.5D : 0.0D;
+
+            iinventory = getEntityContainer(this.world, (double) blockposition.getX() + d0, (double) blockposition.getY() + d0, (double) blockposition.getZ() + d0);
+        }
+
+        this.resolved[i] = iinventory;
+        this.resolvedTicks[i] = MinecraftServer.currentTick;
+        return iinventory;
+    }
+
+    /**
+     * Puts the hopper to sleep if it can neither push nor pull, and everything it waits for wakes it up: its own
+     * inventory, the containers it was blocked by, or a neighbour change. It sleeps at most hopper-sleep-ticks.
+     */
+    private void trySleep() {
+        boolean locked = !BlockHopper.f(this.u());
+        boolean pushBlocked = locked || this.p() || this.isWatchable(1) && this.a(this.resolved[1], BlockHopper.b(this.u()).opposite());
+        boolean pullBlocked = locked || this.q() || this.isWatchable(0) && b(this.resolved[0], EnumDirection.DOWN);
+
+        if (pushBlocked && pullBlocked) {
+            if (!locked) {
+                this.watch(this.p() ? null : this.resolved[1]);
+                this.watch(this.q() ? null : this.resolved[0]);
+            }
+            this.sleeping = true;
+            this.sleepTick = MinecraftServer.currentTick;
+        }
+    }
+
+    private boolean isWatchable(int i) {
+        IInventory iinventory = this.resolved[i];
+
+        if (this.resolvedTicks[i] != MinecraftServer.currentTick) {
+            return false;
+        }
+        if (iinventory instanceof InventoryLargeChest) {
+            return ((InventoryLargeChest) iinventory).left instanceof TileEntityContainer && ((InventoryLargeChest) iinventory).right instanceof TileEntityContainer;
+        }
+        return iinventory instanceof TileEntityContainer;
+    }
+
+    private void watch(IInventory iinventory) {
+        if (iinventory instanceof InventoryLargeChest) {
+            this.watch(((InventoryLargeChest) iinventory).left);
+            this.watch(((InventoryLargeChest) iinventory).right);
+        } else if (iinventory instanceof TileEntityContainer) {
+            ((TileEntityContainer) iinventory).addHopperWatcher(this);
+        }
+    }
+    // AetherSpigot end
+
     public int getSize() {
         return this.items.length;
     }
@@ -171,11 +304,21 @@ public class TileEntityHopper extends TileEntityContainer implements IHopper, IU
 
     public void c() {
         if (this.world != null && !this.world.isClientSide) {
+            // AetherSpigot start
+            if (this.sleeping) {
+                if (MinecraftServer.currentTick - this.sleepTick < this.world.aetherWorldConfig.hopperSleepTicks) {
+                    return;
+                }
+                this.sleeping = false;
+            }
+            this.world.timings.hoppers.startTiming();
+            // AetherSpigot end
             --this.g;
             if (!this.n()) {
                 this.d(0);
                 this.m();
             }
+            this.world.timings.hoppers.stopTiming(); // AetherSpigot
 
         }
     }
@@ -204,6 +347,11 @@ public class TileEntityHopper extends TileEntityContainer implements IHopper, IU
                 this.d(world.spigotConfig.hopperCheck);
             }
             // PaperSpigot end
+            // AetherSpigot start
+            if (this.world.aetherWorldConfig.hopperSleepTicks > 0) {
+                this.trySleep();
+            }
+            // AetherSpigot end
             return false;
         } else {
             return false;
@@ -537,10 +685,11 @@ public class TileEntityHopper extends TileEntityContainer implements IHopper, IU
     private IInventory H() {
         EnumDirection enumdirection = BlockHopper.b(this.u());
 
-        return b(this.getWorld(), (double) (this.position.getX() + enumdirection.getAdjacentX()), (double) (this.position.getY() + enumdirection.getAdjacentY()), (double) (this.position.getZ() + enumdirection.getAdjacentZ()));
+        return this.getContainer(1, enumdirection); // AetherSpigot - cached
     }
 
     public static IInventory b(IHopper ihopper) {
+        if (ihopper instanceof TileEntityHopper) return ((TileEntityHopper) ihopper).getContainer(0, EnumDirection.UP); // AetherSpigot
         return b(ihopper.getWorld(), ihopper.A(), ihopper.B() + 1.0D, ihopper.C());
     }
 
@@ -569,15 +718,24 @@ public class TileEntityHopper extends TileEntityContainer implements IHopper, IU
         }
 
         if (object == null) {
-            List list = world.a((Entity) null, new AxisAlignedBB(d0 - 0.5D, d1 - 0.5D, d2 - 0.5D, d0 + 0.5D, d1 + 0.5D, d2 + 0.5D), IEntitySelector.c);
+            object = getEntityContainer(world, d0, d1, d2); // AetherSpigot - moved into getEntityContainer
+        }
 
-            if (list.size() > 0) {
-                object = (IInventory) list.get(world.random.nextInt(list.size()));
-            }
+        return (IInventory) object;
+    }
+
+    // AetherSpigot start
+    private static IInventory getEntityContainer(World world, double d0, double d1, double d2) {
+        Object object = null;
+        List list = world.a((Entity) null, new AxisAlignedBB(d0 - 0.5D, d1 - 0.5D, d2 - 0.5D, d0 + 0.5D, d1 + 0.5D, d2 + 0.5D), IEntitySelector.c);
+
+        if (list.size() > 0) {
+            object = (IInventory) list.get(world.random.nextInt(list.size()));
         }
 
         return (IInventory) object;
     }
+    // AetherSpigot end
 
     private static boolean a(ItemStack itemstack, ItemStack itemstack1) {
         return itemstack.getItem() != itemstack1.getItem() ? false : (itemstack.getData() != itemstack1.getData() ? false : (itemstack.count > itemstack.getMaxStackSize() ? false : ItemStack.equals(itemstack, itemstack1)));
@@ -149,6 +149,50 @@ public abstract class World implements IBlockAccess {
     private int tileTickPosition;
     public ExecutorService lightingExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("PaperSpigot - Lighting Thread").build()); // PaperSpigot - Asynchronous lighting updates
     public final Map<Explosion.CacheKey, Float> explosionDensityCache = new HashMap<Explosion.CacheKey, Float>(); // PaperSpigot - Optimize explosions
+    // AetherSpigot start - block states read by explosion rays this tick, dropped whenever a block changes
+    final it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap<IBlockData> explosionBlockCache = new it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap<IBlockData>();
+    private int explosionBlockCacheChanges;
+    int blockChanges;
+    // wire power changes and the block updates they caused, for comparing redstone-wire-algorithm settings
+    public long redstonePowerChanges;
+    public long redstoneBlockUpdates;
+
+    IBlockData getExplosionBlock(BlockPosition blockposition) {
+        if (this.explosionBlockCacheChanges != this.blockChanges) {
+            this.explosionBlockCache.clear();
+            this.explosionBlockCacheChanges = this.blockChanges;
+        }
+
+        long key = blockposition.asLong();
+        IBlockData iblockdata = this.explosionBlockCache.get(key);
+
+        if (iblockdata == null) {
+            iblockdata = this.getType(blockposition);
+            this.explosionBlockCache.put(key, iblockdata);
+        }
+
+        return iblockdata;
+    }
+
+    /**
+     * Drops the cached explosion block states of a chunk that was just loaded, which were read while it wasn't.
+     */
+    void invalidateExplosionBlocks(int chunkX, int chunkZ) {
+        if (this.explosionBlockCache.isEmpty()) {
+            return;
+        }
+
+        it.unimi.dsi.fastutil.longs.LongIterator iterator = this.explosionBlockCache.keySet().iterator();
+
+        while (iterator.hasNext()) {
+            BlockPosition blockposition = BlockPosition.fromLong(iterator.nextLong());
+
+            if (blockposition.getX() >> 4 == chunkX && blockposition.getZ() >> 4 == chunkZ) {
+                iterator.remove();
+            }
+        }
+    }
+    // AetherSpigot end
 
     public static long chunkToKey(int x, int z)
     {
@@ -177,6 +221,11 @@ public abstract class World implements IBlockAccess {
     public final AetherWorldConfig aetherWorldConfig; // AetherSpigot
 
     public final co.aikar.timings.WorldTimingsHandler timings; // Spigot
+    final EntitySpatialIndex entityIndex = new EntitySpatialIndex(); // AetherSpigot
+    final List<Entity> projectileCandidates = Lists.newArrayList(); // AetherSpigot - reused by the projectile entity sweeps
+    final int[] creatureCounts = new int[EnumCreatureType.values().length]; // AetherSpigot - natural spawn counts of the loaded chunks, by EnumCreatureType
+    PlayerMobCaps playerMobCaps; // AetherSpigot - only while per-player-mob-spawns is enabled
+    public final org.spigotmc.ActivationRange.WorldState activationState = new org.spigotmc.ActivationRange.WorldState(); // AetherSpigot
 
     public CraftWorld getWorld() {
         return this.world;
@@ -1447,7 +1496,12 @@ public abstract class World implements IBlockAccess {
     }
 
     public List<AxisAlignedBB> getCubes(Entity entity, AxisAlignedBB axisalignedbb) {
-        ArrayList arraylist = Lists.newArrayList();
+        // AetherSpigot start - allow callers to pass a reusable list
+        return this.getCubes(entity, axisalignedbb, Lists.<AxisAlignedBB>newArrayList());
+    }
+
+    public List<AxisAlignedBB> getCubes(Entity entity, AxisAlignedBB axisalignedbb, List<AxisAlignedBB> arraylist) {
+        // AetherSpigot end
         int i = MathHelper.floor(axisalignedbb.a);
         int j = MathHelper.floor(axisalignedbb.d + 1.0D);
         int k = MathHelper.floor(axisalignedbb.b);
@@ -1460,6 +1514,9 @@ public abstract class World implements IBlockAccess {
         IBlockData iblockdata = Blocks.STONE.getBlockData();
         BlockPosition.MutableBlockPosition blockposition_mutableblockposition = new BlockPosition.MutableBlockPosition();
 
+        // PaperSpigot - FallingBlocks and TNT collide with specific non-collidable blocks
+        boolean collideWithSigns = entity.world.paperSpigotConfig.fallingBlocksCollideWithSigns && (entity instanceof EntityTNTPrimed || entity instanceof EntityFallingBlock); // AetherSpigot - check once
+
         // Spigot start
         int ystart = ( ( k - 1 ) < 0 ) ? 0 : ( k - 1 );
         for ( int chunkx = ( i >> 4 ); chunkx <= ( ( j - 1 ) >> 4 ); chunkx++ )
@@ -1492,7 +1549,7 @@ public abstract class World implements IBlockAccess {
                     {
                         for ( int y = ystart; y < l; y++ )
                         {
-                            BlockPosition blockposition = new BlockPosition( x, y, z );
+                            BlockPosition blockposition = blockposition_mutableblockposition.c( x, y, z ); // AetherSpigot - reuse the mutable position
 
                             if (flag && flag1) {
                                 entity.h(false);
@@ -1501,8 +1558,8 @@ public abstract class World implements IBlockAccess {
                             }
 
                             IBlockData block; 
-                            if (!this.getWorldBorder().a(blockposition) && flag1) {
-                                block = Blocks.STONE.getBlockData();
+                            if (flag1 && !worldborder.a(blockposition)) { // AetherSpigot - blocks are only checked against the border while the entity is inside it
+                                block = iblockdata;
                             } else 
                             {
                                 block = chunk.getBlockData( blockposition );
@@ -1511,11 +1568,27 @@ public abstract class World implements IBlockAccess {
                             {
                                 // PaperSpigot start - FallingBlocks and TNT collide with specific non-collidable blocks
                                 Block b = block.getBlock();
-                                if (entity.world.paperSpigotConfig.fallingBlocksCollideWithSigns && (entity instanceof EntityTNTPrimed || entity instanceof EntityFallingBlock) && (b instanceof BlockSign || b instanceof BlockFenceGate || b instanceof BlockTorch || b instanceof BlockButtonAbstract || b instanceof BlockLever || b instanceof BlockTripwireHook || b instanceof BlockTripwire || b instanceof BlockChest || b instanceof BlockSlowSand || b instanceof BlockBed || b instanceof BlockEnderChest || b instanceof BlockEnchantmentTable || b instanceof BlockBrewingStand)) {
+                                if (collideWithSigns && (b instanceof BlockSign || b instanceof BlockFenceGate || b instanceof BlockTorch || b instanceof BlockButtonAbstract || b instanceof BlockLever || b instanceof BlockTripwireHook || b instanceof BlockTripwire || b instanceof BlockChest || b instanceof BlockSlowSand || b instanceof BlockBed || b instanceof BlockEnderChest || b instanceof BlockEnchantmentTable || b instanceof BlockBrewingStand)) {
                                     AxisAlignedBB aabb = AxisAlignedBB.a(x, y, z, x + 1.0, y + 1.0, z + 1.0);
                                     if (axisalignedbb.b(aabb)) arraylist.add(aabb);
                                 } else {
-                                    b.a(this, blockposition, block, axisalignedbb, arraylist, entity);
+                                    // AetherSpigot start - precomputed shapes, full cubes only allocate when they intersect
+                                    switch (b.getCollisionType()) {
+                                        case Block.COLLISION_EMPTY:
+                                            break;
+                                        case Block.COLLISION_CUBE:
+                                            if (x + 1 > axisalignedbb.a && x < axisalignedbb.d && y + 1 > axisalignedbb.b && y < axisalignedbb.e && z + 1 > axisalignedbb.c && z < axisalignedbb.f) {
+                                                arraylist.add(new AxisAlignedBB(x, y, z, x + 1, y + 1, z + 1));
+                                            }
+                                            break;
+                                        case Block.COLLISION_BOX:
+                                            b.addCollisionShape(x, y, z, axisalignedbb, arraylist);
+                                            break;
+                                        default:
+                                            b.a(this, blockposition, block, axisalignedbb, arraylist, entity);
+                                            break;
+                                    }
+                                    // AetherSpigot end
                                 }
                                 // PaperSpigot end
                             }
@@ -2922,26 +2995,23 @@ public abstract class World implements IBlockAccess {
     }
 
     public List<Entity> a(Entity entity, AxisAlignedBB axisalignedbb, Predicate<? super Entity> predicate) {
-        ArrayList arraylist = Lists.newArrayList();
-        int i = MathHelper.floor((axisalignedbb.a - 2.0D) / 16.0D);
-        int j = MathHelper.floor((axisalignedbb.d + 2.0D) / 16.0D);
-        int k = MathHelper.floor((axisalignedbb.c - 2.0D) / 16.0D);
-        int l = MathHelper.floor((axisalignedbb.f + 2.0D) / 16.0D);
-
-        for (int i1 = i; i1 <= j; ++i1) {
-            for (int j1 = k; j1 <= l; ++j1) {
-                // PandaSpigot start - Use getChunkIfLoaded
-                Chunk chunk = this.getChunkIfLoaded(i1, j1);
-                if (chunk != null) {
-                    chunk.a(entity, axisalignedbb, arraylist, predicate);
-                // PandaSpigot end
-                }
-            }
-        }
+        // AetherSpigot start - query the spatial index
+        List<Entity> arraylist = Lists.newArrayList();
 
+        this.getEntities(entity, axisalignedbb, predicate, arraylist);
         return arraylist;
     }
 
+    /**
+     * Adds the entities intersecting the box to the given list, instead of allocating a new one.
+     */
+    public void getEntities(Entity entity, AxisAlignedBB axisalignedbb, Predicate<? super Entity> predicate, List<Entity> list) {
+        this.timings.entityQuery.startTiming();
+        this.entityIndex.getEntities(entity, axisalignedbb, list, predicate);
+        this.timings.entityQuery.stopTiming();
+    }
+    // AetherSpigot end
+
     public <T extends Entity> List<T> a(Class<? extends T> oclass, Predicate<? super T> predicate) {
         ArrayList arraylist = Lists.newArrayList();
         Iterator iterator = this.entityList.iterator();
@@ -2977,23 +3047,23 @@ public abstract class World implements IBlockAccess {
     }
 
     public <T extends Entity> List<T> a(Class<? extends T> oclass, AxisAlignedBB axisalignedbb, Predicate<? super T> predicate) {
-        int i = MathHelper.floor((axisalignedbb.a - 2.0D) / 16.0D);
-        int j = MathHelper.floor((axisalignedbb.d + 2.0D) / 16.0D);
-        int k = MathHelper.floor((axisalignedbb.c - 2.0D) / 16.0D);
-        int l = MathHelper.floor((axisalignedbb.f + 2.0D) / 16.0D);
-        ArrayList arraylist = Lists.newArrayList();
-
-        for (int i1 = i; i1 <= j; ++i1) {
-            for (int j1 = k; j1 <= l; ++j1) {
-                if (this.isChunkLoaded(i1, j1, true)) {
-                    this.getChunkAt(i1, j1).a(oclass, axisalignedbb, arraylist, predicate);
-                }
-            }
-        }
+        // AetherSpigot start - query the spatial index
+        List<T> arraylist = Lists.newArrayList();
 
+        this.getEntities(oclass, axisalignedbb, predicate, arraylist);
         return arraylist;
     }
 
+    /**
+     * Adds the entities of the given type intersecting the box to the given list, instead of allocating a new one.
+     */
+    public <T extends Entity> void getEntities(Class<? extends T> oclass, AxisAlignedBB axisalignedbb, Predicate<? super T> predicate, List<T> list) {
+        this.timings.entityQuery.startTiming();
+        this.entityIndex.getEntities(oclass, axisalignedbb, list, predicate);
+        this.timings.entityQuery.stopTiming();
+    }
+    // AetherSpigot end
+
     public <T extends Entity> T a(Class<? extends T> oclass, AxisAlignedBB axisalignedbb, T t0) {
         List list = this.a(oclass, axisalignedbb);
         Entity entity = null;
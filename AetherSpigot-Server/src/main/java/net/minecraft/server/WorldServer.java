@@ -23,7 +23,6 @@ import java.util.logging.Level;
 import org.bukkit.WeatherType;
 import org.bukkit.block.BlockState;
 import org.bukkit.craftbukkit.util.LongHash;
-import org.bukkit.craftbukkit.util.HashTreeSet;
 
 import org.bukkit.event.block.BlockFormEvent;
 import org.bukkit.event.weather.LightningStrikeEvent;
@@ -36,7 +35,7 @@ public class WorldServer extends World implements IAsyncTaskHandler {
     public EntityTracker tracker;
     private final PlayerChunkMap manager;
     // private final Set<NextTickListEntry> L = Sets.newHashSet(); // PAIL: Rename nextTickListHash
-    private final HashTreeSet<NextTickListEntry> M = new HashTreeSet<NextTickListEntry>(); // CraftBukkit - HashTreeSet // PAIL: Rename nextTickList
+    private final NextTickList M = new NextTickList(); // CraftBukkit - HashTreeSet // PAIL: Rename nextTickList // AetherSpigot - bucketed NextTickList
     private final Map<UUID, Entity> entitiesByUUID = Maps.newHashMap();
     public ChunkProviderServer chunkProviderServer;
     public boolean savingDisabled;
@@ -575,9 +574,7 @@ public class WorldServer extends World implements IAsyncTaskHandler {
             }
 
             // CraftBukkit - use M, PAIL: Rename nextTickList
-            if (!this.M.contains(nextticklistentry)) {
-                this.M.add(nextticklistentry);
-            }
+            this.M.add(nextticklistentry); // AetherSpigot - add skips duplicates
         }
 
     }
@@ -591,9 +588,7 @@ public class WorldServer extends World implements IAsyncTaskHandler {
         }
 
         // CraftBukkit - use M, PAIL: Rename nextTickList
-        if (!this.M.contains(nextticklistentry)) {
-            this.M.add(nextticklistentry);
-        }
+        this.M.add(nextticklistentry); // AetherSpigot - add skips duplicates
 
     }
 
@@ -644,32 +639,24 @@ public class WorldServer extends World implements IAsyncTaskHandler {
                 timings.scheduledBlocksCleanup.startTiming(); // Spigot
                 NextTickListEntry nextticklistentry;
 
+                // AetherSpigot start - poll due entries from the bucketed list
+                long time = flag ? Long.MAX_VALUE : this.worldData.getTime();
+
                 for (int j = 0; j < i; ++j) {
-                    nextticklistentry = (NextTickListEntry) this.M.first();
-                    if (!flag && nextticklistentry.b > this.worldData.getTime()) {
+                    nextticklistentry = this.M.poll(time);
+                    if (nextticklistentry == null) {
                         break;
                     }
 
                     // CraftBukkit - use M, PAIL: Rename nextTickList
-                    this.M.remove(nextticklistentry);
                     this.V.add(nextticklistentry);
                 }
+                // AetherSpigot end
                 timings.scheduledBlocksCleanup.stopTiming(); // Spigot
 
                 // PaperSpigot start - Allow redstone ticks to bypass the tickNextTickListCap
                 if (paperSpigotConfig.tickNextTickListCapIgnoresRedstone) {
-                    Iterator<NextTickListEntry> iterator = this.M.iterator();
-                    while (iterator.hasNext()) {
-                        NextTickListEntry next = iterator.next();
-                        if (!flag && next.b > this.worldData.getTime()) {
-                            break;
-                        }
-
-                        if (next.a().isPowerSource() || next.a() instanceof IContainer) {
-                            iterator.remove();
-                            this.V.add(next);
-                        }
-                    }
+                    this.M.removeDue(time, next -> next.a().isPowerSource() || next.a() instanceof IContainer, this.V); // AetherSpigot
                 }
                 // PaperSpigot end
 
@@ -724,33 +711,25 @@ public class WorldServer extends World implements IAsyncTaskHandler {
     }
 
     public List<NextTickListEntry> a(StructureBoundingBox structureboundingbox, boolean flag) {
-        ArrayList arraylist = null;
+        List<NextTickListEntry> arraylist = this.M.getInBox(structureboundingbox, flag); // AetherSpigot - only visit the covered chunks
 
-        for (int i = 0; i < 2; ++i) {
-            Iterator iterator;
+        Iterator iterator = this.V.iterator();
 
-            if (i == 0) {
-                iterator = this.M.iterator();
-            } else {
-                iterator = this.V.iterator();
-            }
-
-            while (iterator.hasNext()) {
-                NextTickListEntry nextticklistentry = (NextTickListEntry) iterator.next();
-                BlockPosition blockposition = nextticklistentry.a;
-
-                if (blockposition.getX() >= structureboundingbox.a && blockposition.getX() < structureboundingbox.d && blockposition.getZ() >= structureboundingbox.c && blockposition.getZ() < structureboundingbox.f) {
-                    if (flag) {
-                        // CraftBukkit - use M
-                        iterator.remove();
-                    }
+        while (iterator.hasNext()) {
+            NextTickListEntry nextticklistentry = (NextTickListEntry) iterator.next();
+            BlockPosition blockposition = nextticklistentry.a;
 
-                    if (arraylist == null) {
-                        arraylist = Lists.newArrayList();
-                    }
+            if (blockposition.getX() >= structureboundingbox.a && blockposition.getX() < structureboundingbox.d && blockposition.getZ() >= structureboundingbox.c && blockposition.getZ() < structureboundingbox.f) {
+                if (flag) {
+                    // CraftBukkit - use M
+                    iterator.remove();
+                }
 
-                    arraylist.add(nextticklistentry);
+                if (arraylist == null) {
+                    arraylist = Lists.newArrayList();
                 }
+
+                arraylist.add(nextticklistentry);
             }
         }
 
@@ -65,6 +65,7 @@ import org.bukkit.craftbukkit.metadata.WorldMetadataStore;
 import org.bukkit.craftbukkit.potion.CraftPotionBrewer;
 import org.bukkit.craftbukkit.scheduler.CraftScheduler;
 import org.bukkit.craftbukkit.scoreboard.CraftScoreboardManager;
+import org.bukkit.craftbukkit.util.CraftChatMessage;
 import org.bukkit.craftbukkit.util.CraftIconCache;
 import org.bukkit.craftbukkit.util.CraftMagicNumbers;
 import org.bukkit.craftbukkit.util.DatFileFilter;
@@ -1346,11 +1347,21 @@ public final class CraftServer implements Server {
     public int broadcast(String message, String permission) {
         int count = 0;
         Set<Permissible> permissibles = getPluginManager().getPermissionSubscriptions(permission);
+        PacketPlayOutChat[] packets = null; // AetherSpigot
 
         for (Permissible permissible : permissibles) {
             if (permissible instanceof CommandSender && permissible.hasPermission(permission)) {
                 CommandSender user = (CommandSender) permissible;
-                user.sendMessage(message);
+                // AetherSpigot start - build the packets once, so the message is serialized once for all players
+                if (user instanceof CraftPlayer) {
+                    if (packets == null) {
+                        packets = createChatPackets(message);
+                    }
+                    ((CraftPlayer) user).sendMessagePackets(packets);
+                } else {
+                    user.sendMessage(message);
+                }
+                // AetherSpigot end
                 count++;
             }
         }
@@ -1358,19 +1369,36 @@ public final class CraftServer implements Server {
         return count;
     }
 
+    // AetherSpigot start
+    private static PacketPlayOutChat[] createChatPackets(String message) {
+        IChatBaseComponent[] components = CraftChatMessage.fromString(message);
+        PacketPlayOutChat[] packets = new PacketPlayOutChat[components.length];
+
+        for (int i = 0; i < components.length; ++i) {
+            packets[i] = new PacketPlayOutChat(components[i]);
+        }
+        return packets;
+    }
+    // AetherSpigot end
+
     // Paper start
     @Override
     public void broadcast(BaseComponent component) {
-        for (Player player : getOnlinePlayers()) {
-            player.sendMessage(component);
-        }
+        broadcast(new BaseComponent[]{component}); // AetherSpigot - one packet for all players
     }
 
     @Override
     public void broadcast(BaseComponent... components) {
-        for (Player player : getOnlinePlayers()) {
-            player.sendMessage(components);
+        // AetherSpigot start - one packet for all players
+        PacketPlayOutChat packet = new PacketPlayOutChat();
+        packet.setComponents(components);
+
+        for (EntityPlayer player : playerList.players) {
+            if (player.playerConnection != null) {
+                player.playerConnection.sendPacket(packet);
+            }
         }
+        // AetherSpigot end
     }
     // Paper end
 
@@ -0,0 +1,32 @@
+package org.bukkit.craftbukkit.chunkio;
+
+import net.minecraft.server.ChunkProviderServer;
+import net.minecraft.server.IAsyncChunkProvider;
+import net.minecraft.server.World;
+import org.bukkit.craftbukkit.util.AsynchronousExecutor;
+import xyz.aether.spigot.config.AetherConfig;
+
+/**
+ * Generates the terrain of new chunks on worker threads, see {@link IAsyncChunkProvider}.
+ */
+public class ChunkGenerationExecutor {
+
+    private static final AsynchronousExecutor<QueuedGeneration, IAsyncChunkProvider.Terrain, Runnable, RuntimeException> instance = new AsynchronousExecutor<QueuedGeneration, IAsyncChunkProvider.Terrain, Runnable, RuntimeException>(new ChunkGenerationProvider(), Math.max(1, AetherConfig.terrainGenerationThreads));
+
+    public static void queueGeneration(World world, IAsyncChunkProvider generator, ChunkProviderServer provider, int x, int z, Runnable runnable) {
+        instance.add(new QueuedGeneration(x, z, generator, world, provider), runnable);
+    }
+
+    // Abuses the fact that hashCode and equals for QueuedGeneration only use world and coords
+    public static void dropQueuedGeneration(World world, int x, int z, Runnable runnable) {
+        try {
+            instance.drop(new QueuedGeneration(x, z, null, world, null), runnable);
+        } catch (IllegalStateException ignored) {
+            // The callback already ran, as the chunk was loaded synchronously while its terrain was queued
+        }
+    }
+
+    public static void tick() {
+        instance.finishActive();
+    }
+}
@@ -0,0 +1,86 @@
+package org.bukkit.craftbukkit.chunkio;
+
+import net.minecraft.server.Chunk;
+import net.minecraft.server.ChunkRegionLoader;
+import net.minecraft.server.CrashReport;
+import net.minecraft.server.CrashReportSystemDetails;
+import net.minecraft.server.IAsyncChunkProvider;
+import net.minecraft.server.ReportedException;
+import org.bukkit.Server;
+import org.bukkit.craftbukkit.util.AsynchronousExecutor;
+import org.bukkit.craftbukkit.util.LongHash;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ChunkGenerationProvider implements AsynchronousExecutor.CallBackProvider<QueuedGeneration, IAsyncChunkProvider.Terrain, Runnable, RuntimeException> {
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    // async stuff
+    public IAsyncChunkProvider.Terrain callStage1(QueuedGeneration queuedGeneration) throws RuntimeException {
+        return queuedGeneration.generator.generateTerrain(queuedGeneration.x, queuedGeneration.z);
+    }
+
+    // sync stuff
+    public void callStage2(QueuedGeneration queuedGeneration, IAsyncChunkProvider.Terrain terrain) throws RuntimeException {
+        long key = LongHash.toLong(queuedGeneration.x, queuedGeneration.z);
+
+        // The chunk was generated synchronously in the meantime, and may even have been saved since
+        if (queuedGeneration.provider.chunks.containsKey(key)) {
+            return;
+        }
+        if (queuedGeneration.provider.chunkLoader instanceof ChunkRegionLoader && ((ChunkRegionLoader) queuedGeneration.provider.chunkLoader).chunkExists(queuedGeneration.world, queuedGeneration.x, queuedGeneration.z)) {
+            return;
+        }
+
+        queuedGeneration.world.timings.chunkGenerationFinishTimer.startTiming();
+        Chunk chunk;
+        try {
+            chunk = queuedGeneration.generator.finishChunk(terrain);
+        } catch (Throwable throwable) {
+            CrashReport crashreport = CrashReport.a(throwable, "Exception generating new chunk");
+            CrashReportSystemDetails crashreportsystemdetails = crashreport.a("Chunk to be generated");
+
+            crashreportsystemdetails.a("Location", String.format("%d,%d", queuedGeneration.x, queuedGeneration.z));
+            crashreportsystemdetails.a("Position hash", key);
+            crashreportsystemdetails.a("Generator", queuedGeneration.generator.getName());
+            throw new ReportedException(crashreport);
+        } finally {
+            queuedGeneration.world.timings.chunkGenerationFinishTimer.stopTiming();
+        }
+
+        queuedGeneration.provider.chunks.put(key, chunk);
+        chunk.addEntities();
+
+        Server server = queuedGeneration.provider.world.getServer();
+        if (server != null) {
+            server.getPluginManager().callEvent(new org.bukkit.event.world.ChunkLoadEvent(chunk.bukkitChunk, true));
+        }
+
+        // Update neighbor counts
+        for (int x = -2; x < 3; x++) {
+            for (int z = -2; z < 3; z++) {
+                if (x == 0 && z == 0) {
+                    continue;
+                }
+
+                Chunk neighbor = queuedGeneration.provider.getChunkIfLoaded(chunk.locX + x, chunk.locZ + z);
+                if (neighbor != null) {
+                    neighbor.setNeighborLoaded(-x, -z);
+                    chunk.setNeighborLoaded(x, z);
+                }
+            }
+        }
+
+        chunk.loadNearby(queuedGeneration.provider, queuedGeneration.provider, queuedGeneration.x, queuedGeneration.z);
+    }
+
+    public void callStage3(QueuedGeneration queuedGeneration, IAsyncChunkProvider.Terrain terrain, Runnable runnable) throws RuntimeException {
+        runnable.run();
+    }
+
+    public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "Chunk Generation Thread-" + threadNumber.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
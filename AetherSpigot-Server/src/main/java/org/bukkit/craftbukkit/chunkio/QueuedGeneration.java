@@ -0,0 +1,36 @@
+package org.bukkit.craftbukkit.chunkio;
+
+import net.minecraft.server.ChunkProviderServer;
+import net.minecraft.server.IAsyncChunkProvider;
+import net.minecraft.server.World;
+
+class QueuedGeneration {
+    final int x;
+    final int z;
+    final IAsyncChunkProvider generator;
+    final World world;
+    final ChunkProviderServer provider;
+
+    public QueuedGeneration(int x, int z, IAsyncChunkProvider generator, World world, ChunkProviderServer provider) {
+        this.x = x;
+        this.z = z;
+        this.generator = generator;
+        this.world = world;
+        this.provider = provider;
+    }
+
+    @Override
+    public int hashCode() {
+        return (x * 31 + z * 29) ^ world.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object instanceof QueuedGeneration) {
+            QueuedGeneration other = (QueuedGeneration) object;
+            return x == other.x && z == other.z && world == other.world;
+        }
+
+        return false;
+    }
+}
@@ -143,6 +143,22 @@ public class CraftPlayer extends CraftHumanEntity implements Player {
         }
     }
 
+    // AetherSpigot start
+    /**
+     * Sends chat packets built once for many players, unless the player is in a modal conversation, the same
+     * as {@link #sendMessage(String)} would.
+     */
+    public void sendMessagePackets(PacketPlayOutChat[] packets) {
+        if (getHandle().playerConnection == null || conversationTracker.isConversingModaly()) {
+            return;
+        }
+
+        for (PacketPlayOutChat packet : packets) {
+            getHandle().playerConnection.sendPacket(packet);
+        }
+    }
+    // AetherSpigot end
+
     @Override
     public void sendMessage(String[] messages) {
         for (String message : messages) {
@@ -1683,5 +1699,17 @@ public class CraftPlayer extends CraftHumanEntity implements Player {
     public int getPing() {
         return this.spigot().getPing();
     }
+
+    @Override
+    public boolean getHistoricalBoundingBox(long time, double[] box) {
+        Validate.isTrue(box.length >= 6, "Box array must have at least 6 elements");
+        return getHandle().positionHistory.getAtTime(time, box);
+    }
+
+    @Override
+    public boolean getHistoricalBoundingBoxAtTick(int tick, double[] box) {
+        Validate.isTrue(box.length >= 6, "Box array must have at least 6 elements");
+        return getHandle().positionHistory.getAtTick(tick, box);
+    }
     // AetherSpigot end
 }
@@ -324,30 +324,31 @@ public final class CraftItemStack extends ItemStack {
         if (!hasItemMeta(item)) {
             return CraftItemFactory.instance().getItemMeta(getType(item));
         }
+        // AetherSpigot start - the meta only reads the tag, so a tag shared with a clone is not copied
         switch (getType(item)) {
             case WRITTEN_BOOK:
-                return new CraftMetaBookSigned(item.getTag());
+                return new CraftMetaBookSigned(item.getReadOnlyTag());
             case BOOK_AND_QUILL:
-                return new CraftMetaBook(item.getTag());
+                return new CraftMetaBook(item.getReadOnlyTag());
             case SKULL_ITEM:
-                return new CraftMetaSkull(item.getTag());
+                return new CraftMetaSkull(item.getReadOnlyTag());
             case LEATHER_HELMET:
             case LEATHER_CHESTPLATE:
             case LEATHER_LEGGINGS:
             case LEATHER_BOOTS:
-                return new CraftMetaLeatherArmor(item.getTag());
+                return new CraftMetaLeatherArmor(item.getReadOnlyTag());
             case POTION:
-                return new CraftMetaPotion(item.getTag());
+                return new CraftMetaPotion(item.getReadOnlyTag());
             case MAP:
-                return new CraftMetaMap(item.getTag());
+                return new CraftMetaMap(item.getReadOnlyTag());
             case FIREWORK:
-                return new CraftMetaFirework(item.getTag());
+                return new CraftMetaFirework(item.getReadOnlyTag());
             case FIREWORK_CHARGE:
-                return new CraftMetaCharge(item.getTag());
+                return new CraftMetaCharge(item.getReadOnlyTag());
             case ENCHANTED_BOOK:
-                return new CraftMetaEnchantedBook(item.getTag());
+                return new CraftMetaEnchantedBook(item.getReadOnlyTag());
             case BANNER:
-                return new CraftMetaBanner(item.getTag());
+                return new CraftMetaBanner(item.getReadOnlyTag());
             case FURNACE:
             case CHEST:
             case TRAPPED_CHEST:
@@ -367,10 +368,11 @@ public final class CraftItemStack extends ItemStack {
             case HOPPER:
             case REDSTONE_COMPARATOR:
             case FLOWER_POT_ITEM:
-                return new CraftMetaBlockState(item.getTag(), CraftMagicNumbers.getMaterial(item.getItem()));
+                return new CraftMetaBlockState(item.getReadOnlyTag(), CraftMagicNumbers.getMaterial(item.getItem()));
             default:
-                return new CraftMetaItem(item.getTag());
+                return new CraftMetaItem(item.getReadOnlyTag());
         }
+        // AetherSpigot end
     }
 
     static Material getType(net.minecraft.server.ItemStack item) {
@@ -428,7 +430,7 @@ public final class CraftItemStack extends ItemStack {
         if (!(that.getTypeId() == getTypeId() && getDurability() == that.getDurability())) {
             return false;
         }
-        return hasItemMeta() ? that.hasItemMeta() && handle.getTag().equals(that.handle.getTag()) : !that.hasItemMeta();
+        return hasItemMeta() ? that.hasItemMeta() && handle.getReadOnlyTag().equals(that.handle.getReadOnlyTag()) : !that.hasItemMeta(); // AetherSpigot - read only
     }
 
     @Override
@@ -437,6 +439,6 @@ public final class CraftItemStack extends ItemStack {
     }
 
     static boolean hasItemMeta(net.minecraft.server.ItemStack item) {
-        return !(item == null || item.getTag() == null || item.getTag().isEmpty());
+        return !(item == null || item.getReadOnlyTag() == null || item.getReadOnlyTag().isEmpty()); // AetherSpigot - read only
     }
 }
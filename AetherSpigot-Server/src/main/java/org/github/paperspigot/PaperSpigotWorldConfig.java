@@ -408,4 +408,26 @@ public class PaperSpigotWorldConfig
     {
         disableTeleportationSuffocationCheck = getBoolean("disable-teleportation-suffocation-check", false);
     }
+
+    // AetherSpigot start
+    public enum RedstoneWireAlgorithm
+    {
+        VANILLA, BREADTH_FIRST
+    }
+
+    public RedstoneWireAlgorithm redstoneWireAlgorithm;
+    private void redstoneWireAlgorithm()
+    {
+        String algorithm = getString( "redstone-wire-algorithm", "vanilla" );
+        try
+        {
+            redstoneWireAlgorithm = RedstoneWireAlgorithm.valueOf( algorithm.toUpperCase( java.util.Locale.ROOT ).replace( '-', '_' ) );
+        } catch ( IllegalArgumentException ex )
+        {
+            log( "Unknown redstone wire algorithm " + algorithm + ", using vanilla" );
+            redstoneWireAlgorithm = RedstoneWireAlgorithm.VANILLA;
+        }
+        log( "Redstone wire algorithm: " + redstoneWireAlgorithm.name().toLowerCase( java.util.Locale.ROOT ).replace( '_', '-' ) );
+    }
+    // AetherSpigot end
 }
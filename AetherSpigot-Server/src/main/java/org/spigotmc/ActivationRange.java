@@ -1,10 +1,16 @@
 package org.spigotmc;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import net.minecraft.server.AxisAlignedBB;
 import net.minecraft.server.Chunk;
+import net.minecraft.server.ChunkCoordIntPair;
 import net.minecraft.server.Entity;
 import net.minecraft.server.EntityAmbient;
 import net.minecraft.server.EntityAnimal;
@@ -37,11 +43,6 @@ import co.aikar.timings.SpigotTimings;
 public class ActivationRange
 {
 
-    static AxisAlignedBB maxBB = AxisAlignedBB.a( 0, 0, 0, 0, 0, 0 );
-    static AxisAlignedBB miscBB = AxisAlignedBB.a( 0, 0, 0, 0, 0, 0 );
-    static AxisAlignedBB animalBB = AxisAlignedBB.a( 0, 0, 0, 0, 0, 0 );
-    static AxisAlignedBB monsterBB = AxisAlignedBB.a( 0, 0, 0, 0, 0, 0 );
-
     /**
      * Initializes an entities type on construction to specify what group this
      * entity is in for activation ranges.
@@ -93,6 +94,110 @@ public class ActivationRange
         return false;
     }
 
+    // AetherSpigot start - activation tiers
+    public static final byte TIER_FULL = 0;
+    public static final byte TIER_REDUCED = 1;
+    public static final byte TIER_MOVEMENT = 2;
+    public static final byte TIER_FROZEN = 3;
+
+    /**
+     * Chunks to check for activation, with the players whose range covers them. When a player moves
+     * into another chunk area, only the chunks that left or entered its range are updated.
+     */
+    public static class WorldState
+    {
+        private final Long2ObjectOpenHashMap<List<Entity>> playersByChunk = new Long2ObjectOpenHashMap<List<Entity>>();
+        private final Map<Entity, PlayerArea> areas = new IdentityHashMap<Entity, PlayerArea>();
+        private int tick;
+
+        private void cover(Entity player, PlayerArea area, PlayerArea previous)
+        {
+            for ( int x = area.minX; x <= area.maxX; ++x )
+            {
+                for ( int z = area.minZ; z <= area.maxZ; ++z )
+                {
+                    if ( previous != null && previous.contains( x, z ) )
+                    {
+                        continue;
+                    }
+                    long key = ChunkCoordIntPair.a( x, z );
+                    List<Entity> chunkPlayers = playersByChunk.get( key );
+                    if ( chunkPlayers == null )
+                    {
+                        chunkPlayers = new ArrayList<Entity>( 2 );
+                        playersByChunk.put( key, chunkPlayers );
+                    }
+                    chunkPlayers.add( player );
+                }
+            }
+        }
+
+        private void uncover(Entity player, PlayerArea area, PlayerArea next)
+        {
+            for ( int x = area.minX; x <= area.maxX; ++x )
+            {
+                for ( int z = area.minZ; z <= area.maxZ; ++z )
+                {
+                    if ( next != null && next.contains( x, z ) )
+                    {
+                        continue;
+                    }
+                    long key = ChunkCoordIntPair.a( x, z );
+                    List<Entity> chunkPlayers = playersByChunk.get( key );
+                    if ( chunkPlayers != null && chunkPlayers.remove( player ) && chunkPlayers.isEmpty() )
+                    {
+                        playersByChunk.remove( key );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The chunks in activation range of a player.
+     */
+    private static class PlayerArea
+    {
+        private final int minX;
+        private final int maxX;
+        private final int minZ;
+        private final int maxZ;
+        private int seen;
+
+        private PlayerArea(int minX, int maxX, int minZ, int maxZ)
+        {
+            this.minX = minX;
+            this.maxX = maxX;
+            this.minZ = minZ;
+            this.maxZ = maxZ;
+        }
+
+        private boolean contains(int x, int z)
+        {
+            return x >= minX && x <= maxX && z >= minZ && z <= maxZ;
+        }
+    }
+
+    /**
+     * Gets the activation tier of the entity for the current tick.
+     *
+     * @param entity
+     * @return tier
+     */
+    public static byte getActivationTier(Entity entity)
+    {
+        if ( entity.defaultActivationState || entity.activatedTick > MinecraftServer.currentTick )
+        {
+            return TIER_FULL;
+        }
+        if ( entity.activationTierTick != MinecraftServer.currentTick )
+        {
+            return entity.activatedTick == MinecraftServer.currentTick ? TIER_FULL : TIER_FROZEN;
+        }
+        return entity.activationTier;
+    }
+    // AetherSpigot end
+
     /**
      * Find what entities are in range of the players in the world and set
      * active if in range.
@@ -102,42 +207,74 @@ public class ActivationRange
     public static void activateEntities(World world)
     {
         SpigotTimings.entityActivationCheckTimer.startTiming();
+        SpigotWorldConfig config = world.spigotConfig; // AetherSpigot
         final int miscActivationRange = world.spigotConfig.miscActivationRange;
         final int animalActivationRange = world.spigotConfig.animalActivationRange;
         final int monsterActivationRange = world.spigotConfig.monsterActivationRange;
 
         int maxRange = Math.max( monsterActivationRange, animalActivationRange );
         maxRange = Math.max( maxRange, miscActivationRange );
+        // AetherSpigot start
+        maxRange = Math.max( maxRange, Math.max( config.monsterReducedRange, config.monsterMovementRange ) );
+        maxRange = Math.max( maxRange, Math.max( config.animalReducedRange, config.animalMovementRange ) );
+        maxRange = Math.max( maxRange, Math.max( config.miscReducedRange, config.miscMovementRange ) );
+        // AetherSpigot end
         maxRange = Math.min( ( world.spigotConfig.viewDistance << 4 ) - 8, maxRange );
 
+        // AetherSpigot start - visit every chunk once, against the players in range of it
+        WorldState state = world.activationState;
+        state.tick++;
+
         for ( Entity player : (List<Entity>) (List) world.players )
         {
 
             player.activatedTick = MinecraftServer.currentTick;
-            maxBB = player.getBoundingBox().grow( maxRange, 256, maxRange );
-            miscBB = player.getBoundingBox().grow( miscActivationRange, 256, miscActivationRange );
-            animalBB = player.getBoundingBox().grow( animalActivationRange, 256, animalActivationRange );
-            monsterBB = player.getBoundingBox().grow( monsterActivationRange, 256, monsterActivationRange );
+            AxisAlignedBB bb = player.getBoundingBox();
+            int i = MathHelper.floor( ( bb.a - maxRange ) / 16.0D );
+            int j = MathHelper.floor( ( bb.d + maxRange ) / 16.0D );
+            int k = MathHelper.floor( ( bb.c - maxRange ) / 16.0D );
+            int l = MathHelper.floor( ( bb.f + maxRange ) / 16.0D );
 
-            int i = MathHelper.floor( maxBB.a / 16.0D );
-            int j = MathHelper.floor( maxBB.d / 16.0D );
-            int k = MathHelper.floor( maxBB.c / 16.0D );
-            int l = MathHelper.floor( maxBB.f / 16.0D );
+            PlayerArea area = state.areas.get( player );
+            if ( area == null )
+            {
+                area = new PlayerArea( i, j, k, l );
+                state.areas.put( player, area );
+                state.cover( player, area, null );
+            } else if ( area.minX != i || area.maxX != j || area.minZ != k || area.maxZ != l )
+            {
+                PlayerArea moved = new PlayerArea( i, j, k, l );
+                state.uncover( player, area, moved );
+                state.cover( player, moved, area );
+                state.areas.put( player, moved );
+                area = moved;
+            }
+            area.seen = state.tick;
+        }
 
-            for ( int i1 = i; i1 <= j; ++i1 )
+        // Players that left the world since the last check
+        for ( Iterator<Map.Entry<Entity, PlayerArea>> iterator = state.areas.entrySet().iterator(); iterator.hasNext(); )
+        {
+            Map.Entry<Entity, PlayerArea> entry = iterator.next();
+            if ( entry.getValue().seen != state.tick )
             {
-                for ( int j1 = k; j1 <= l; ++j1 )
-                {
-                    // PandaSpigot start - Avoid Looking up the same chunk twice in same method
-                    Chunk chunk = world.getChunkIfLoaded( i1, j1 );
-                    if ( chunk != null )
-                    {
-                        activateChunkEntities( chunk );
-                    // PandaSpigot end
-                    }
-                }
+                state.uncover( entry.getKey(), entry.getValue(), null );
+                iterator.remove();
+            }
+        }
+
+        for ( Long2ObjectMap.Entry<List<Entity>> entry : state.playersByChunk.long2ObjectEntrySet() )
+        {
+            long key = entry.getLongKey();
+            // PandaSpigot start - Avoid Looking up the same chunk twice in same method
+            Chunk chunk = world.getChunkIfLoaded( (int) key, (int) ( key >> 32 ) );
+            if ( chunk != null )
+            {
+                activateChunkEntities( chunk, entry.getValue(), config );
+            // PandaSpigot end
             }
         }
+        // AetherSpigot end
         SpigotTimings.entityActivationCheckTimer.stopTiming();
     }
 
@@ -145,8 +282,10 @@ public class ActivationRange
      * Checks for the activation state of all entities in this chunk.
      *
      * @param chunk
+     * @param players the players in range of the chunk
+     * @param config
      */
-    private static void activateChunkEntities(Chunk chunk)
+    private static void activateChunkEntities(Chunk chunk, List<Entity> players, SpigotWorldConfig config)
     {
         for ( List<Entity> slice : chunk.entitySlices )
         {
@@ -159,32 +298,74 @@ public class ActivationRange
                         entity.activatedTick = MinecraftServer.currentTick;
                         continue;
                     }
+                    // AetherSpigot start - pick the best tier of any player in range
+                    int fullRange;
+                    int reducedRange;
+                    int movementRange;
                     switch ( entity.activationType )
                     {
                         case 1:
-                            if ( monsterBB.b( entity.getBoundingBox() ) )
-                            {
-                                entity.activatedTick = MinecraftServer.currentTick;
-                            }
+                            fullRange = config.monsterActivationRange;
+                            reducedRange = config.monsterReducedRange;
+                            movementRange = config.monsterMovementRange;
                             break;
                         case 2:
-                            if ( animalBB.b( entity.getBoundingBox() ) )
-                            {
-                                entity.activatedTick = MinecraftServer.currentTick;
-                            }
+                            fullRange = config.animalActivationRange;
+                            reducedRange = config.animalReducedRange;
+                            movementRange = config.animalMovementRange;
                             break;
                         case 3:
                         default:
-                            if ( miscBB.b( entity.getBoundingBox() ) )
-                            {
-                                entity.activatedTick = MinecraftServer.currentTick;
-                            }
+                            fullRange = config.miscActivationRange;
+                            reducedRange = config.miscReducedRange;
+                            movementRange = config.miscMovementRange;
+                    }
+
+                    byte tier = TIER_FROZEN;
+                    AxisAlignedBB bb = entity.getBoundingBox();
+                    for ( int i = 0; i < players.size() && tier != TIER_FULL; i++ )
+                    {
+                        AxisAlignedBB playerBB = players.get( i ).getBoundingBox();
+                        if ( inRange( playerBB, bb, fullRange ) )
+                        {
+                            tier = TIER_FULL;
+                        } else if ( tier > TIER_REDUCED && reducedRange > fullRange && inRange( playerBB, bb, reducedRange ) )
+                        {
+                            tier = TIER_REDUCED;
+                        } else if ( tier > TIER_MOVEMENT && movementRange > fullRange && inRange( playerBB, bb, movementRange ) )
+                        {
+                            tier = TIER_MOVEMENT;
+                        }
+                    }
+
+                    if ( tier != TIER_FROZEN )
+                    {
+                        if ( tier != TIER_MOVEMENT )
+                        {
+                            entity.activatedTick = MinecraftServer.currentTick;
+                        }
+                        entity.activationTier = tier;
+                        entity.activationTierTick = MinecraftServer.currentTick;
                     }
+                    // AetherSpigot end
                 }
             }
         }
     }
 
+    // AetherSpigot start
+    /**
+     * Same as growing the player's box by the range horizontally and 256 vertically, and testing it
+     * against the entity's box.
+     */
+    private static boolean inRange(AxisAlignedBB player, AxisAlignedBB entity, int range)
+    {
+        return entity.d > player.a - range && entity.a < player.d + range
+                && entity.e > player.b - 256 && entity.b < player.e + 256
+                && entity.f > player.c - range && entity.c < player.f + range;
+    }
+    // AetherSpigot end
+
     /**
      * If an entity is not in range, do some more checks to see if we should
      * give it a shot.
@@ -273,8 +454,18 @@ public class ActivationRange
                     // Triggered some sort of immunity, give 20 full ticks before we check again.
                     entity.activatedTick = MinecraftServer.currentTick + 20;
                 }
+                // AetherSpigot start - the pulse is a full tick, also for the movement tier
+                entity.activationTier = TIER_FULL;
+                entity.activationTierTick = MinecraftServer.currentTick;
+                // AetherSpigot end
+                isActive = true;
+            }
+            // AetherSpigot start - the movement tier ticks without AI
+            else if ( entity.activationTierTick == MinecraftServer.currentTick && entity.activationTier == TIER_MOVEMENT )
+            {
                 isActive = true;
             }
+            // AetherSpigot end
             // Add a little performance juice to active entities. Skip 1/4 if not immune.
         } else if ( !entity.defaultActivationState && entity.ticksLived % 4 == 0 && !checkEntityImmunities( entity ) )
         {
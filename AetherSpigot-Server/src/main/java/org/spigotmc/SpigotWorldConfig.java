@@ -153,6 +153,28 @@ public class SpigotWorldConfig
         log( "Entity Activation Range: An " + animalActivationRange + " / Mo " + monsterActivationRange + " / Mi " + miscActivationRange );
     }
 
+    // AetherSpigot start - graduated activation, a tier range of 0 disables the tier
+    public int animalReducedRange = 0;
+    public int monsterReducedRange = 0;
+    public int miscReducedRange = 0;
+    public int animalMovementRange = 0;
+    public int monsterMovementRange = 0;
+    public int miscMovementRange = 0;
+    public int reducedGoalSelectorRate = 4;
+    private void activationTiers()
+    {
+        animalReducedRange = getInt( "entity-activation-range.tiers.reduced.animals", animalReducedRange );
+        monsterReducedRange = getInt( "entity-activation-range.tiers.reduced.monsters", monsterReducedRange );
+        miscReducedRange = getInt( "entity-activation-range.tiers.reduced.misc", miscReducedRange );
+        animalMovementRange = getInt( "entity-activation-range.tiers.movement.animals", animalMovementRange );
+        monsterMovementRange = getInt( "entity-activation-range.tiers.movement.monsters", monsterMovementRange );
+        miscMovementRange = getInt( "entity-activation-range.tiers.movement.misc", miscMovementRange );
+        reducedGoalSelectorRate = getInt( "entity-activation-range.tiers.reduced-goal-selector-rate", reducedGoalSelectorRate );
+        log( "Entity Activation Tiers: Reduced An " + animalReducedRange + " / Mo " + monsterReducedRange + " / Mi " + miscReducedRange
+                + ", Movement An " + animalMovementRange + " / Mo " + monsterMovementRange + " / Mi " + miscMovementRange );
+    }
+    // AetherSpigot end
+
     public int playerTrackingRange = 48;
     public int animalTrackingRange = 48;
     public int monsterTrackingRange = 48;
@@ -12,6 +12,9 @@ import xyz.aether.spigot.command.KnockbackCommand;
 import xyz.aether.spigot.command.PingCommand;
 import xyz.aether.spigot.command.TPSCommand;
 import xyz.aether.spigot.config.AetherConfig;
+import xyz.aether.spigot.kit.IKit;
+import xyz.aether.spigot.kit.KitAPI;
+import xyz.aether.spigot.kit.KitCompiler;
 import xyz.aether.spigot.knockback.Knockback;
 import xyz.aether.spigot.knockback.KnockbackAPI;
 import xyz.aether.spigot.knockback.IKnockback;
@@ -44,6 +47,8 @@ public class AetherSpigot {
     private final IKnockback knockbackAPI;
     private final YamlConfig knockbackConfig;
 
+    private final IKit kitAPI;
+
     public AetherSpigot() {
         instance = this;
 
@@ -58,6 +63,9 @@ public class AetherSpigot {
         knockbackAPI = knockback;
         KnockbackAPI.registerDelegate(knockbackAPI);
 
+        kitAPI = new KitCompiler();
+        KitAPI.registerDelegate(kitAPI);
+
         if (sync.isToggled())
             this.registerPacketListener(new PingReceiveListener());
 
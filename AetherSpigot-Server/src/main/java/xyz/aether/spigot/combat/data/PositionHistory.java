@@ -0,0 +1,91 @@
+package xyz.aether.spigot.combat.data;
+
+import net.minecraft.server.AxisAlignedBB;
+
+/**
+ * Fixed size ring of the bounding boxes a player had after their last {@link #CAPACITY} accepted moves,
+ * each stamped with the server tick and wall clock time it was recorded at.
+ * <p>
+ * Entries are stored in primitive arrays that are allocated once, so recording and looking up never
+ * allocate. Lookups copy a box into a caller supplied array as {@code minX, minY, minZ, maxX, maxY, maxZ}.
+ * Main thread only.
+ */
+public final class PositionHistory {
+
+    public static final int CAPACITY = 40;
+
+    private final double[] boxes = new double[CAPACITY * 6];
+    private final int[] ticks = new int[CAPACITY];
+    private final long[] times = new long[CAPACITY];
+    // index of the next entry to write
+    private int head;
+    private int size;
+
+    public void record(AxisAlignedBB axisalignedbb, int tick, long time) {
+        int offset = this.head * 6;
+
+        this.boxes[offset] = axisalignedbb.a;
+        this.boxes[offset + 1] = axisalignedbb.b;
+        this.boxes[offset + 2] = axisalignedbb.c;
+        this.boxes[offset + 3] = axisalignedbb.d;
+        this.boxes[offset + 4] = axisalignedbb.e;
+        this.boxes[offset + 5] = axisalignedbb.f;
+        this.ticks[this.head] = tick;
+        this.times[this.head] = time;
+
+        this.head = (this.head + 1) % CAPACITY;
+        if (this.size < CAPACITY) {
+            ++this.size;
+        }
+    }
+
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Copies the box the player had at the given {@link System#currentTimeMillis()} time, which is the
+     * latest entry recorded at or before it.
+     *
+     * @return whether the history reaches back that far
+     */
+    public boolean getAtTime(long time, double[] box) {
+        for (int i = 0; i < this.size; ++i) {
+            int index = this.index(i);
+
+            if (this.times[index] <= time) {
+                this.copy(index, box);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Copies the last box recorded during or before the given server tick.
+     *
+     * @return whether the history reaches back that far
+     */
+    public boolean getAtTick(int tick, double[] box) {
+        for (int i = 0; i < this.size; ++i) {
+            int index = this.index(i);
+
+            if (this.ticks[index] <= tick) {
+                this.copy(index, box);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    // i-th newest entry
+    private int index(int i) {
+        return (this.head - 1 - i + CAPACITY) % CAPACITY;
+    }
+
+    private void copy(int index, double[] box) {
+        System.arraycopy(this.boxes, index * 6, box, 0, 6);
+    }
+}
@@ -89,7 +89,11 @@ public class KnockbackCommand extends Command {
                 try {
                     KnockbackProfile knockbackProfile = clazz.getConstructor(String.class).newInstance(name);
 
-                    knockbackHandler.getKnockbackProfiles().add(knockbackProfile);
+                    if (!knockbackHandler.registerProfile(knockbackProfile)) {
+                        sendMessage(sender, "&cA knockback profile with that name already exists!");
+                        return true;
+                    }
+
                     knockbackHandler.saveKnockbackProfile(knockbackProfile);
                     sendMessage(sender, "&cSuccessfully created knockback profile " + ChatColor.GRAY + name + "&f!");
                 } catch (Exception e) {
@@ -243,7 +247,7 @@ public class KnockbackCommand extends Command {
                     knockbackProfile.modify(args[2], args[3]);
                     knockbackModifier.writeToConfig(knockbackProfile, AetherSpigot.get().getKnockbackConfig(), true);
                     sendMessage(sender, "&cSuccessfully updated modifier &7" + knockbackModifier.getLabel() + " &cto " + args[3] + ".");
-                } catch (Exception e) {
+                } catch (IllegalArgumentException e) {
                     sendMessage(sender, "&cFailed to update knockback modifier due to the value not being able to be parsed.");
                 }
                 return true;
@@ -1,6 +1,9 @@
 package xyz.aether.spigot.command;
 
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.PacketPriority;
+import net.minecraft.server.ScoreboardView;
+import net.minecraft.server.WorldServer;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
@@ -42,6 +45,18 @@ public class TPSCommand extends Command {
         sender.sendMessage(PRIMARY + "➥ Memory: " + VALUE + freeMemory + "MB" +
                 PRIMARY + " / " + VALUE + totalMemory + "MB");
 
+        for (WorldServer world : MinecraftServer.getServer().worlds) {
+            sender.sendMessage(PRIMARY + "➥ Redstone (" + world.getWorld().getName() + "): " + VALUE + world.redstonePowerChanges + PRIMARY + " wire changes, " +
+                    VALUE + world.redstoneBlockUpdates + PRIMARY + " block updates");
+        }
+        sender.sendMessage(PRIMARY + "➥ Scoreboard: " + VALUE + ScoreboardView.received + PRIMARY + " packets queued, " +
+                VALUE + ScoreboardView.sent + PRIMARY + " sent");
+
+        long combatWrites = PacketPriority.combatWrites.get();
+        long combatNanos = PacketPriority.combatWriteNanos.get();
+        sender.sendMessage(PRIMARY + "➥ Combat packets: " + VALUE + combatWrites + PRIMARY + " knockback writes, " +
+                VALUE + (combatWrites == 0 ? 0.0 : Math.round(combatNanos / (double) combatWrites / 10000.0) / 100.0) + "ms" + PRIMARY + " avg from hit");
+
         return true;
     }
 
@@ -1,8 +1,14 @@
 package xyz.aether.spigot.config;
 
 import com.google.common.base.Throwables;
+import net.minecraft.server.Packet;
+import net.minecraft.server.PacketPlayOutAnimation;
+import net.minecraft.server.PacketPlayOutEntityStatus;
+import net.minecraft.server.PacketPlayOutEntityVelocity;
+import net.minecraft.server.PacketPriority;
 import net.minecraft.server.RegionFile;
 import org.bukkit.command.Command;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.MemorySection;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -137,6 +143,95 @@ public class AetherConfig {
         regionFileCacheSize = getInt("SETTINGS.region-file-cache-size", 256);
     }
 
+    public static boolean streamChunkLoading;
+
+    private static void StreamChunkLoading() {
+        streamChunkLoading = getBoolean("SETTINGS.stream-chunk-loading", true);
+    }
+
+    public static boolean incrementalLatencyUpdates;
+    public static int latencyUpdateInterval;
+    public static int latencyUpdateThreshold;
+
+    private static void IncrementalLatencyUpdates() {
+        incrementalLatencyUpdates = getBoolean("SETTINGS.tab-list-latency.incremental", false);
+        latencyUpdateInterval = Math.max(getInt("SETTINGS.tab-list-latency.interval", 40), 1);
+        latencyUpdateThreshold = getInt("SETTINGS.tab-list-latency.threshold", 10);
+    }
+
+    public static boolean scoreboardDiffing;
+
+    private static void ScoreboardDiffing() {
+        scoreboardDiffing = getBoolean("SETTINGS.scoreboard-diffing", false);
+    }
+
+    public static Map<Class<?>, PacketPriority> packetPriorities;
+
+    private static void PacketPriorities() {
+        getString("SETTINGS.packet-priority.PacketPlayOutEntityVelocity", "COMBAT");
+        getString("SETTINGS.packet-priority.PacketPlayOutAnimation", "COMBAT");
+        getString("SETTINGS.packet-priority.PacketPlayOutEntityStatus", "COMBAT");
+
+        Map<Class<?>, PacketPriority> priorities = new HashMap<>();
+        ConfigurationSection section = config.getConfigurationSection("SETTINGS.packet-priority");
+
+        for (String packet : section.getKeys(false)) {
+            Class<?> clazz;
+
+            try {
+                clazz = Class.forName("net.minecraft.server." + packet);
+            } catch (ClassNotFoundException ex) {
+                clazz = null;
+            }
+
+            if (clazz == null || !Packet.class.isAssignableFrom(clazz)) {
+                LOGGER.warning("Unknown packet " + packet + " in packet-priority");
+                continue;
+            }
+
+            String name = section.getString(packet);
+            PacketPriority priority = null;
+
+            for (PacketPriority value : PacketPriority.values()) {
+                if (value.name().equalsIgnoreCase(name)) {
+                    priority = value;
+                    break;
+                }
+            }
+
+            if (priority == null) {
+                LOGGER.warning("Unknown priority " + name + " for " + packet + " in packet-priority");
+                continue;
+            }
+
+            if (priority == PacketPriority.COMBAT && clazz != PacketPlayOutEntityVelocity.class && clazz != PacketPlayOutAnimation.class
+                    && clazz != PacketPlayOutEntityStatus.class) {
+                LOGGER.warning(packet + " can't be a COMBAT packet in packet-priority, it will be batched");
+                continue;
+            }
+            priorities.put(clazz, priority);
+        }
+        packetPriorities = priorities;
+    }
+
+    public static int terrainGenerationThreads;
+
+    private static void TerrainGenerationThreads() {
+        terrainGenerationThreads = getInt("SETTINGS.terrain-generation-threads", 2);
+    }
+
+    public static int pathfindingThreads;
+
+    private static void PathfindingThreads() {
+        pathfindingThreads = getInt("SETTINGS.pathfinding-threads", 2);
+    }
+
+    public static int explosionThreads;
+
+    private static void ExplosionThreads() {
+        explosionThreads = getInt("SETTINGS.explosion-threads", 2);
+    }
+
     public static boolean blockPlaceDelay;
 
     private static void BlockPlaceDelay() {
@@ -160,6 +255,14 @@ public class AetherConfig {
         spikeThreshold = getInt("COMBAT.spike-threshold", 25);
     }
 
+    public static boolean lagCompensatedHitValidation;
+    public static double hitValidationReach;
+
+    private static void LagCompensatedHitValidation() {
+        lagCompensatedHitValidation = getBoolean("COMBAT.hit-validation.enabled", false);
+        hitValidationReach = getDouble("COMBAT.hit-validation.max-reach", 4.0);
+    }
+
     public static boolean isRunnableEnabled;
     public static int runnableInterval;
     public static int combatTimer;
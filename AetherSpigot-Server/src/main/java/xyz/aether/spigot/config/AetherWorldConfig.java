@@ -94,6 +94,48 @@ public class AetherWorldConfig {
         trackPlayersEveryTick = getBoolean("SETTINGS.track-players-every-tick", true);
     }
 
+    public boolean immediateMovementRelay;
+
+    private void ImmediateMovementRelay() {
+        immediateMovementRelay = getBoolean("SETTINGS.immediate-movement-relay", false);
+    }
+
+    public boolean asyncTerrainGeneration;
+
+    private void AsyncTerrainGeneration() {
+        asyncTerrainGeneration = getBoolean("SETTINGS.async-terrain-generation", false);
+    }
+
+    public boolean asyncPathfinding;
+
+    private void AsyncPathfinding() {
+        asyncPathfinding = getBoolean("SETTINGS.async-pathfinding", false);
+    }
+
+    public int pathCacheTicks;
+
+    private void PathCacheTicks() {
+        pathCacheTicks = getInt("SETTINGS.path-cache-ticks", 0);
+    }
+
+    public boolean perPlayerMobSpawns;
+
+    private void PerPlayerMobSpawns() {
+        perPlayerMobSpawns = getBoolean("SETTINGS.per-player-mob-spawns", false);
+    }
+
+    public boolean parallelExplosions;
+
+    private void ParallelExplosions() {
+        parallelExplosions = getBoolean("SETTINGS.parallel-explosions", false);
+    }
+
+    public int hopperSleepTicks;
+
+    private void HopperSleepTicks() {
+        hopperSleepTicks = getInt("SETTINGS.hopper-sleep-ticks", 0);
+    }
+
     public double rodSpeed;
 
     private void RodSpeed() {
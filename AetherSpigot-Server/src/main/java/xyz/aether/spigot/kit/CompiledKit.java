@@ -0,0 +1,64 @@
+package xyz.aether.spigot.kit;
+
+import net.minecraft.server.ItemStack;
+import org.bukkit.craftbukkit.inventory.CraftItemStack;
+
+/**
+ * A kit held as NMS item stack templates. The templates are never handed out, only clones of them, which
+ * share the template tags until they are changed.
+ */
+public class CompiledKit implements Kit {
+
+    private final ItemStack[] contents;
+    private final ItemStack[] armor;
+
+    CompiledKit(ItemStack[] contents, ItemStack[] armor) {
+        this.contents = contents;
+        this.armor = armor;
+    }
+
+    static ItemStack[] toTemplates(org.bukkit.inventory.ItemStack[] items, int size) {
+        ItemStack[] templates = new ItemStack[size];
+
+        if (items != null) {
+            for (int i = 0; i < Math.min(items.length, size); ++i) {
+                ItemStack itemstack = CraftItemStack.asNMSCopy(items[i]);
+
+                templates[i] = itemstack == null || itemstack.getItem() == null ? null : itemstack;
+            }
+        }
+
+        return templates;
+    }
+
+    void copyTo(ItemStack[] contents, ItemStack[] armor) {
+        copy(this.contents, contents);
+        copy(this.armor, armor);
+    }
+
+    private static void copy(ItemStack[] templates, ItemStack[] target) {
+        for (int i = 0; i < target.length; ++i) {
+            target[i] = i < templates.length && templates[i] != null ? templates[i].cloneItemStack() : null;
+        }
+    }
+
+    @Override
+    public org.bukkit.inventory.ItemStack[] getContents() {
+        return toBukkit(this.contents);
+    }
+
+    @Override
+    public org.bukkit.inventory.ItemStack[] getArmorContents() {
+        return toBukkit(this.armor);
+    }
+
+    private static org.bukkit.inventory.ItemStack[] toBukkit(ItemStack[] templates) {
+        org.bukkit.inventory.ItemStack[] items = new org.bukkit.inventory.ItemStack[templates.length];
+
+        for (int i = 0; i < templates.length; ++i) {
+            items[i] = templates[i] == null ? null : CraftItemStack.asBukkitCopy(templates[i]);
+        }
+
+        return items;
+    }
+}
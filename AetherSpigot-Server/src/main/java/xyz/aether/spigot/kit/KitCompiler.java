@@ -0,0 +1,42 @@
+package xyz.aether.spigot.kit;
+
+import net.minecraft.server.EntityPlayer;
+import net.minecraft.server.PlayerInventory;
+import org.apache.commons.lang.Validate;
+import org.bukkit.craftbukkit.entity.CraftPlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Collection;
+
+public class KitCompiler implements IKit {
+
+    @Override
+    public Kit compile(ItemStack[] contents, ItemStack[] armor) {
+        return new CompiledKit(CompiledKit.toTemplates(contents, 36), CompiledKit.toTemplates(armor, 4));
+    }
+
+    @Override
+    public void apply(Player player, Kit kit) {
+        Validate.isTrue(kit instanceof CompiledKit, "Kit was not compiled by KitAPI");
+
+        EntityPlayer entityplayer = ((CraftPlayer) player).getHandle();
+        PlayerInventory inventory = entityplayer.inventory;
+
+        ((CompiledKit) kit).copyTo(inventory.items, inventory.armor);
+        inventory.update();
+
+        // One window items packet instead of a set slot packet for every changed slot
+        entityplayer.activeContainer.sendAll();
+        if (entityplayer.activeContainer != entityplayer.defaultContainer) {
+            entityplayer.defaultContainer.sendAll();
+        }
+    }
+
+    @Override
+    public void apply(Collection<? extends Player> players, Kit kit) {
+        for (Player player : players) {
+            this.apply(player, kit);
+        }
+    }
+}
@@ -3,6 +3,9 @@ package xyz.aether.spigot.knockback;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -31,6 +34,25 @@ public class Knockback implements IKnockback {
         return true;
     }
 
+    @Override
+    public int setPlayersProfile(Collection<UUID> playerUUIDs, String profileName) {
+        KnockbackProfile profile = knockbackHandler.getKnockbackProfileByName(profileName, true);
+        if (profile == null) {
+            return 0;
+        }
+
+        List<Player> players = new ArrayList<>(playerUUIDs.size());
+        for (UUID playerUUID : playerUUIDs) {
+            Player player = Bukkit.getPlayer(playerUUID);
+            if (player != null && player.isOnline()) {
+                players.add(player);
+            }
+        }
+
+        knockbackHandler.assignProfileToPlayers(players, profile);
+        return players.size();
+    }
+
     @Override
     public String getActiveProfileName() {
         return knockbackHandler.getActiveProfile().getName();
@@ -9,17 +9,18 @@ import xyz.aether.spigot.AetherSpigot;
 import xyz.aether.spigot.knockback.impl.AdvancedKnockbackProfile;
 import xyz.aether.spigot.knockback.impl.VanillaKnockbackProfile;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Log4j2
 public class KnockbackHandler {
 
     private final Map<String, Class<? extends KnockbackProfile>> implementationTypeMap = new ConcurrentHashMap<>();
-    private final Set<KnockbackProfile> knockbackProfiles = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    // Profiles by lower case name, which is what commands and the API look them up by
+    private final Map<String, KnockbackProfile> knockbackProfiles = new ConcurrentHashMap<>();
     private KnockbackProfile activeProfile;
 
     public KnockbackHandler() {
@@ -56,18 +57,25 @@ public class KnockbackHandler {
                     return;
                 }
 
-                config.getConfigurationSection("profiles." + profile + ".modifiers").getKeys(false)
-                        .forEach(modifier ->
-                                knockbackProfile.modify(modifier, config.get("profiles." + profile + ".modifiers." + modifier)));
-
-                knockbackProfiles.add(knockbackProfile);
+                config.getConfigurationSection("profiles." + profile + ".modifiers").getKeys(false).forEach(modifier -> {
+                    try {
+                        knockbackProfile.set(modifier, config.get("profiles." + profile + ".modifiers." + modifier));
+                    } catch (IllegalArgumentException e) {
+                        log.warn("Knockback Profile {} keeps the default value of modifier {}: {}", profile, modifier, e.getMessage());
+                    }
+                });
+                knockbackProfile.compile();
+
+                if (!registerProfile(knockbackProfile)) {
+                    log.warn("Knockback Profile {} couldn't be loaded as another profile already uses that name!", profile);
+                }
             });
         }
 
         if (!config.contains("active-profile")) {
             config.set("active-profile", activeProfile == null ?
                     (knockbackProfiles.isEmpty() ?
-                            createDefault() : new ArrayList<>(knockbackProfiles).get(0)).getName()
+                            createDefault() : knockbackProfiles.values().iterator().next()).getName()
                     : activeProfile.getName());
             AetherSpigot.get().getKnockbackConfig().save();
         }
@@ -75,7 +83,7 @@ public class KnockbackHandler {
         activeProfile = getKnockbackProfileByName(config.getString("active-profile"), false);
 
         if (activeProfile == null && !knockbackProfiles.isEmpty()) {
-            activeProfile = new ArrayList<>(knockbackProfiles).get(0);
+            activeProfile = knockbackProfiles.values().iterator().next();
         }
 
         if (activeProfile != null) {
@@ -88,29 +96,38 @@ public class KnockbackHandler {
     public void deleteProfile(KnockbackProfile knockbackProfile) {
         String profileName = knockbackProfile.getName();
         AetherSpigot.get().getKnockbackConfig().getConfig().set("profiles." + profileName, null);
-        knockbackProfiles.remove(knockbackProfile);
+        knockbackProfiles.remove(profileName.toLowerCase(Locale.ROOT), knockbackProfile);
         AetherSpigot.get().getKnockbackConfig().saveAsync();
     }
 
+    /**
+     * Makes a profile available under its name, unless a profile with the same name ignoring case exists.
+     *
+     * @return whether the profile was registered
+     */
+    public boolean registerProfile(KnockbackProfile knockbackProfile) {
+        return knockbackProfiles.putIfAbsent(knockbackProfile.getName().toLowerCase(Locale.ROOT), knockbackProfile) == null;
+    }
+
     private KnockbackProfile createDefault() {
-        KnockbackProfile knockbackProfile;
-        knockbackProfiles.add((knockbackProfile = new AdvancedKnockbackProfile("default")));
+        KnockbackProfile knockbackProfile = new AdvancedKnockbackProfile("default");
+        registerProfile(knockbackProfile);
 
         return knockbackProfile;
     }
 
     public KnockbackProfile getKnockbackProfileByName(String name, boolean ignoreCase) {
-        if (ignoreCase) {
-            return knockbackProfiles.stream()
-                    .filter(profile -> profile.getName().equalsIgnoreCase(name))
-                    .findFirst()
-                    .orElse(null);
-        } else {
-            return knockbackProfiles.stream()
-                    .filter(profile -> profile.getName().equals(name))
-                    .findFirst()
-                    .orElse(null);
+        if (name == null) {
+            return null;
         }
+
+        KnockbackProfile profile = knockbackProfiles.get(name.toLowerCase(Locale.ROOT));
+
+        if (profile != null && !ignoreCase && !profile.getName().equals(name)) {
+            return null;
+        }
+
+        return profile;
     }
 
     public void saveKnockbackProfile(KnockbackProfile knockbackProfile) {
@@ -145,8 +162,19 @@ public class KnockbackHandler {
         Bukkit.getLogger().info("Successfully set " + player.getName() + "'s knockback profile to " + profile.getName());
     }
 
-    public Set<KnockbackProfile> getKnockbackProfiles() {
-        return knockbackProfiles;
+    /**
+     * Assigns one profile to a group of players, like everyone in a match, without logging each of them.
+     */
+    public void assignProfileToPlayers(Collection<? extends Player> players, KnockbackProfile profile) {
+        for (Player player : players) {
+            ((CraftPlayer) player).getHandle().knockbackProfile = profile;
+        }
+
+        Bukkit.getLogger().info("Successfully set the knockback profile of " + players.size() + " players to " + profile.getName());
+    }
+
+    public Collection<KnockbackProfile> getKnockbackProfiles() {
+        return Collections.unmodifiableCollection(knockbackProfiles.values());
     }
 
     public Map<String, Class<? extends KnockbackProfile>> getImplementationTypeMap() {
@@ -37,15 +37,60 @@ public class KnockbackModifier<T> {
         }
     }
 
-    public final void setValue(T value) {
+    // Only set through KnockbackProfile#modify, which compiles the profile again afterwards
+    final void setValue(T value) {
         this.value = value;
     }
 
     @SuppressWarnings("unchecked")
-    public void setValueUnsafe(Object value) {
+    void setValueUnsafe(Object value) {
         this.value = (T) value;
     }
 
+    /**
+     * Converts a value read from the config or typed in a command to the type of this modifier.
+     *
+     * @throws IllegalArgumentException if the value can't be converted
+     */
+    Object convert(Object value) {
+        if (value == null)
+            throw new IllegalArgumentException("No value for modifier " + label);
+
+        if (type == boolean.class || type == Boolean.class) {
+            if (value instanceof Boolean)
+                return value;
+
+            if ("true".equalsIgnoreCase(value.toString()) || "false".equalsIgnoreCase(value.toString()))
+                return Boolean.valueOf(value.toString());
+        } else if (type == double.class || type == Double.class) {
+            return toNumber(value).doubleValue();
+        } else if (type == float.class || type == Float.class) {
+            return toNumber(value).floatValue();
+        } else if (type == int.class || type == Integer.class) {
+            return (int) toWholeNumber(value);
+        } else if (type == long.class || type == Long.class) {
+            return toWholeNumber(value);
+        } else if (type.isInstance(value)) {
+            return value;
+        }
+
+        throw new IllegalArgumentException(value + " is not a valid " + type.getSimpleName() + " for modifier " + label);
+    }
+
+    private Number toNumber(Object value) {
+        // NumberFormatException is an IllegalArgumentException
+        return value instanceof Number ? (Number) value : Double.valueOf(value.toString());
+    }
+
+    private long toWholeNumber(Object value) {
+        Number number = toNumber(value);
+
+        if (number.doubleValue() != number.longValue() || (type != long.class && type != Long.class && number.longValue() != number.intValue()))
+            throw new IllegalArgumentException(value + " is not a valid " + type.getSimpleName() + " for modifier " + label);
+
+        return number.longValue();
+    }
+
     public T getValue() {
         return value;
     }
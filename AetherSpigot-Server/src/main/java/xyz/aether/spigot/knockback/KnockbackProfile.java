@@ -4,8 +4,11 @@ import net.minecraft.server.Entity;
 import net.minecraft.server.EntityPlayer;
 import org.bukkit.util.Vector;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public abstract class KnockbackProfile {
@@ -17,15 +20,20 @@ public abstract class KnockbackProfile {
     }
 
     /**
-     * We sort this list alphabetical so that tab completion for commands won't look autistic,
-     * we convert this {@link List} to a {@link CopyOnWriteArrayList} to ensure
-     * the {@link KnockbackProfile#getKnockbackModifier(String, boolean)} is thread safe.
+     * We sort this list alphabetical so that tab completion for commands won't look autistic.
+     * The modifiers of a profile never change, only their values do, so the list is immutable.
      */
-    private final List<KnockbackModifier<?>> modifiers = getDefaultModifiers()
+    private final List<KnockbackModifier<?>> modifiers = Collections.unmodifiableList(getDefaultModifiers()
             .stream()
             .sorted((modifierOne, modifierTwo) ->
                     String.CASE_INSENSITIVE_ORDER.compare(modifierOne.getLabel(), modifierTwo.getLabel()))
-            .collect(Collectors.toCollection(CopyOnWriteArrayList::new));
+            .collect(Collectors.toList()));
+
+    /**
+     * The modifiers by lower case label, so {@link KnockbackProfile#getKnockbackModifier(String, boolean)}
+     * doesn't have to scan the list. Never written after construction, so it is safe to read from any thread.
+     */
+    private final Map<String, KnockbackModifier<?>> modifiersByLabel = index(modifiers);
 
     public abstract List<KnockbackModifier<?>> getDefaultModifiers();
 
@@ -37,6 +45,15 @@ public abstract class KnockbackProfile {
 
     public abstract int getDamageTicks();
 
+    /**
+     * Called whenever a modifier of this profile is changed through {@link KnockbackProfile#modify}, and once
+     * after a profile is loaded.
+     * Implementations read their modifiers into an immutable snapshot here and swap it in with a single
+     * write, so a hit in progress always sees either the old or the new values, never a mix of both.
+     */
+    protected void compile() {
+    }
+
     public double getRodHorizontal() {
         return 0.4;
     }
@@ -83,32 +100,70 @@ public abstract class KnockbackProfile {
 
     @SuppressWarnings("unchecked")
     public <T> KnockbackModifier<T> getKnockbackModifier(String label, boolean ignoreCase) {
-        synchronized (modifiers) {
-            return (KnockbackModifier<T>) modifiers.stream()
-                    .filter(modifier -> (ignoreCase ?
-                            modifier.getLabel().equalsIgnoreCase(label) : modifier.getLabel().equals(label)))
-                    .findFirst()
-                    .orElse(null);
-        }
+        KnockbackModifier<?> modifier = modifiersByLabel.get(label.toLowerCase(Locale.ROOT));
+
+        if (modifier != null && !ignoreCase && !modifier.getLabel().equals(label))
+            return null;
+
+        return (KnockbackModifier<T>) modifier;
+    }
+
+    protected double getDouble(String label) {
+        return ((Number) getKnockbackModifier(label, false).getValue()).doubleValue();
+    }
+
+    protected int getInt(String label) {
+        return ((Number) getKnockbackModifier(label, false).getValue()).intValue();
+    }
+
+    protected boolean getBoolean(String label) {
+        return (boolean) getKnockbackModifier(label, false).getValue();
     }
 
     public String getName() {
         return name;
     }
 
+    /**
+     * @throws IllegalArgumentException if the modifier doesn't exist or the value can't be converted to its type,
+     *                                  in which case the modifier keeps its value
+     */
     public KnockbackProfile modify(String label, Object newValue) {
+        set(label, newValue);
+        compile();
+        return this;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value can't be converted to the type of the modifier, in which case
+     *                                  the modifier keeps its value
+     */
+    public KnockbackProfile modify(KnockbackModifier<?> modifier, Object newValue) {
+        modifier.setValueUnsafe(modifier.convert(newValue));
+        compile();
+        return this;
+    }
+
+    /**
+     * Same as {@link KnockbackProfile#modify(String, Object)} without compiling, for setting many modifiers at once.
+     */
+    void set(String label, Object newValue) {
         KnockbackModifier<?> modifier = getKnockbackModifier(label, true);
 
         if (modifier == null)
             throw new IllegalArgumentException("KnockbackModifier with label " + label + " does not exist!");
 
-        modifier.setValueUnsafe(newValue);
-        return this;
+        modifier.setValueUnsafe(modifier.convert(newValue));
     }
 
-    public KnockbackProfile modify(KnockbackModifier<?> modifier, Object newValue) {
-        modifier.setValueUnsafe(newValue);
-        return this;
+    private static Map<String, KnockbackModifier<?>> index(List<KnockbackModifier<?>> modifiers) {
+        Map<String, KnockbackModifier<?>> index = new HashMap<>();
+
+        for (KnockbackModifier<?> modifier : modifiers) {
+            index.putIfAbsent(modifier.getLabel().toLowerCase(Locale.ROOT), modifier);
+        }
+
+        return index;
     }
 }
 
@@ -16,8 +16,11 @@ import java.util.List;
 
 public class AdvancedKnockbackProfile extends KnockbackProfile {
 
+    private volatile Values values;
+
     public AdvancedKnockbackProfile(String name) {
         super(name);
+        compile();
     }
 
     @Override
@@ -55,6 +58,11 @@ public class AdvancedKnockbackProfile extends KnockbackProfile {
         return "advanced";
     }
 
+    @Override
+    protected void compile() {
+        this.values = new Values(this);
+    }
+
     public double horizontalDistance(EntityPlayer victim, Entity source) {
         double d0 = victim.locX - source.locX;
         double d2 = victim.locZ - source.locZ;
@@ -62,10 +70,10 @@ public class AdvancedKnockbackProfile extends KnockbackProfile {
         return Math.hypot(d0, d2);
     }
 
-    private double friction(double range) {
-        double startRange = (double) this.getKnockbackModifier("start-range", false).getValue();
-        double minFriction = (double) this.getKnockbackModifier("min-friction", false).getValue();
-        double maxFriction = (double) this.getKnockbackModifier("max-friction", false).getValue();
+    private double friction(Values values, double range) {
+        double startRange = values.startRange;
+        double minFriction = values.minFriction;
+        double maxFriction = values.maxFriction;
         double t = (range - startRange) / (maxFriction - startRange);
         t = Math.max(0.0, Math.min(t, 1.0));
 
@@ -84,15 +92,16 @@ public class AdvancedKnockbackProfile extends KnockbackProfile {
 
     @Override
     public void handleEntityLiving(EntityPlayer victim, Entity source, float f, double d0, double d1) {
+        Values values = this.values;
         double magnitude = Math.hypot(d0, d1);
-        double horizontal = (double) this.getKnockbackModifier("horizontal", false).getValue();
-        double vertical = (double) this.getKnockbackModifier("vertical", false).getValue();
-        double verticalLimit = (double) this.getKnockbackModifier("vertical-limit", false).getValue();
-        double verticalMin = (double) this.getKnockbackModifier("vertical-min", false).getValue();
-        double verticalFriction = (double) this.getKnockbackModifier("vertical-friction", false).getValue();
-        double friction = this.friction(horizontalDistance(victim, source));
-
-        if ((boolean) getKnockbackModifier("zero-friction", false).getValue()) {
+        double horizontal = values.horizontal;
+        double vertical = values.vertical;
+        double verticalLimit = values.verticalLimit;
+        double verticalMin = values.verticalMin;
+        double verticalFriction = values.verticalFriction;
+        double friction = this.friction(values, horizontalDistance(victim, source));
+
+        if (values.zeroFriction) {
             victim.motX = 0;
             victim.motY = verticalFriction;
             victim.motZ = 0;
@@ -120,11 +129,12 @@ public class AdvancedKnockbackProfile extends KnockbackProfile {
     @Override
     public void handleEntityHuman(EntityPlayer victim, Entity source, int i, Vector vector) {
         if (i > 0) {
-            double extraHorizontal = (double) this.getKnockbackModifier("extra-horizontal", false).getValue();
-            double extraVertical = (double) this.getKnockbackModifier("extra-vertical", false).getValue();
-            double startRange = (double) this.getKnockbackModifier("start-range", false).getValue();
-            double maxRange = (double) this.getKnockbackModifier("max-range", false).getValue();
-            double rangeFactor = (double) this.getKnockbackModifier("range-factor", false).getValue();
+            Values values = this.values;
+            double extraHorizontal = values.extraHorizontal;
+            double extraVertical = values.extraVertical;
+            double startRange = values.startRange;
+            double maxRange = values.maxRange;
+            double rangeFactor = values.rangeFactor;
             double range = this.horizontalDistance(victim, source);
             double rangeReduction = Math.min(Math.max((range - startRange) *
                     rangeFactor, 0),
@@ -165,56 +175,115 @@ public class AdvancedKnockbackProfile extends KnockbackProfile {
 
     @Override
     public int getDamageTicks() {
-        return (int) getKnockbackModifier("no-damage-ticks", false).getValue();
+        return values.noDamageTicks;
     }
 
     @Override
     public double getArrowHorizontal() {
-        return (double) getKnockbackModifier("arrow-horizontal", false).getValue();
+        return values.arrowHorizontal;
     }
 
     @Override
     public double getArrowVertical() {
-        return (double) getKnockbackModifier("arrow-vertical", false).getValue();
+        return values.arrowVertical;
     }
 
     @Override
     public double getEggHorizontal() {
-        return (double) getKnockbackModifier("egg-horizontal", false).getValue();
+        return values.eggHorizontal;
     }
 
     @Override
     public double getEggVertical() {
-        return (double) getKnockbackModifier("egg-vertical", false).getValue();
+        return values.eggVertical;
     }
 
     @Override
     public double getPearlHorizontal() {
-        return (double) getKnockbackModifier("pearl-horizontal", false).getValue();
+        return values.pearlHorizontal;
     }
 
     @Override
     public double getPearlVertical() {
-        return (double) getKnockbackModifier("pearl-vertical", false).getValue();
+        return values.pearlVertical;
     }
 
     @Override
     public double getRodHorizontal() {
-        return (double) getKnockbackModifier("rod-horizontal", false).getValue();
+        return values.rodHorizontal;
     }
 
     @Override
     public double getRodVertical() {
-        return (double) getKnockbackModifier("rod-vertical", false).getValue();
+        return values.rodVertical;
     }
 
     @Override
     public double getSnowballHorizontal() {
-        return (double) getKnockbackModifier("snowball-horizontal", false).getValue();
+        return values.snowballHorizontal;
     }
 
     @Override
     public double getSnowballVertical() {
-        return (double) getKnockbackModifier("snowball-vertical", false).getValue();
+        return values.snowballVertical;
+    }
+
+    /**
+     * The modifiers of this profile at one point in time, so a hit reads plain fields instead of looking
+     * up each modifier by label.
+     */
+    private static final class Values {
+
+        final double horizontal;
+        final double vertical;
+        final double verticalMin;
+        final double verticalFriction;
+        final double verticalLimit;
+        final double startRange;
+        final boolean zeroFriction;
+        final double maxRange;
+        final double minFriction;
+        final double maxFriction;
+        final double rangeFactor;
+        final int noDamageTicks;
+        final double extraHorizontal;
+        final double extraVertical;
+        final double arrowHorizontal;
+        final double arrowVertical;
+        final double eggHorizontal;
+        final double eggVertical;
+        final double pearlHorizontal;
+        final double pearlVertical;
+        final double snowballHorizontal;
+        final double snowballVertical;
+        final double rodHorizontal;
+        final double rodVertical;
+
+        Values(AdvancedKnockbackProfile profile) {
+            this.horizontal = profile.getDouble("horizontal");
+            this.vertical = profile.getDouble("vertical");
+            this.verticalMin = profile.getDouble("vertical-min");
+            this.verticalFriction = profile.getDouble("vertical-friction");
+            this.verticalLimit = profile.getDouble("vertical-limit");
+            this.startRange = profile.getDouble("start-range");
+            this.zeroFriction = profile.getBoolean("zero-friction");
+            this.maxRange = profile.getDouble("max-range");
+            this.minFriction = profile.getDouble("min-friction");
+            this.maxFriction = profile.getDouble("max-friction");
+            this.rangeFactor = profile.getDouble("range-factor");
+            this.noDamageTicks = profile.getInt("no-damage-ticks");
+            this.extraHorizontal = profile.getDouble("extra-horizontal");
+            this.extraVertical = profile.getDouble("extra-vertical");
+            this.arrowHorizontal = profile.getDouble("arrow-horizontal");
+            this.arrowVertical = profile.getDouble("arrow-vertical");
+            this.eggHorizontal = profile.getDouble("egg-horizontal");
+            this.eggVertical = profile.getDouble("egg-vertical");
+            this.pearlHorizontal = profile.getDouble("pearl-horizontal");
+            this.pearlVertical = profile.getDouble("pearl-vertical");
+            this.snowballHorizontal = profile.getDouble("snowball-horizontal");
+            this.snowballVertical = profile.getDouble("snowball-vertical");
+            this.rodHorizontal = profile.getDouble("rod-horizontal");
+            this.rodVertical = profile.getDouble("rod-vertical");
+        }
     }
 }
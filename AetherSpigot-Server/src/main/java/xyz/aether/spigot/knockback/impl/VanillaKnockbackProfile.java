@@ -16,8 +16,11 @@ import java.util.List;
 
 public class VanillaKnockbackProfile extends KnockbackProfile {
 
+    private volatile Values values;
+
     public VanillaKnockbackProfile(String name) {
         super(name);
+        compile();
     }
 
     @Override
@@ -48,13 +51,19 @@ public class VanillaKnockbackProfile extends KnockbackProfile {
         return "vanilla";
     }
 
+    @Override
+    protected void compile() {
+        this.values = new Values(this);
+    }
+
     @Override
     public void handleEntityLiving(EntityPlayer victim, Entity source, float f, double d0, double d1) {
+        Values values = this.values;
         double magnitude = Math.hypot(d0, d1);
-        double horizontal = (double) this.getKnockbackModifier("horizontal", false).getValue();
-        double vertical = (double) this.getKnockbackModifier("vertical", false).getValue();
-        double verticalLimit = (double) this.getKnockbackModifier("vertical-limit", false).getValue();
-        double friction = (double) this.getKnockbackModifier("friction", false).getValue();
+        double horizontal = values.horizontal;
+        double vertical = values.vertical;
+        double verticalLimit = values.verticalLimit;
+        double friction = values.friction;
 
         victim.motX /= friction;
         victim.motY /= friction;
@@ -78,8 +87,9 @@ public class VanillaKnockbackProfile extends KnockbackProfile {
             ++kbLevel;
 
         if (kbLevel > 0) {
-            double extraHorizontal = (double) this.getKnockbackModifier("extra-horizontal", false).getValue();
-            double extraVertical = (double) this.getKnockbackModifier("extra-vertical", false).getValue();
+            Values values = this.values;
+            double extraHorizontal = values.extraHorizontal;
+            double extraVertical = values.extraVertical;
             source.g(-MathHelper.sin(victim.yaw * (float) Math.PI / 180.0F) * kbLevel * extraHorizontal,
                     extraVertical,
                     MathHelper.cos(victim.yaw * (float) Math.PI / 180.0F) * kbLevel * extraHorizontal);
@@ -114,56 +124,100 @@ public class VanillaKnockbackProfile extends KnockbackProfile {
 
     @Override
     public int getDamageTicks() {
-        return (int) getKnockbackModifier("no-damage-ticks", false).getValue();
+        return values.noDamageTicks;
     }
 
     @Override
     public double getArrowHorizontal() {
-        return (double) getKnockbackModifier("arrow-horizontal", false).getValue();
+        return values.arrowHorizontal;
     }
 
     @Override
     public double getArrowVertical() {
-        return (double) getKnockbackModifier("arrow-vertical", false).getValue();
+        return values.arrowVertical;
     }
 
     @Override
     public double getEggHorizontal() {
-        return (double) getKnockbackModifier("egg-horizontal", false).getValue();
+        return values.eggHorizontal;
     }
 
     @Override
     public double getEggVertical() {
-        return (double) getKnockbackModifier("egg-vertical", false).getValue();
+        return values.eggVertical;
     }
 
     @Override
     public double getPearlHorizontal() {
-        return (double) getKnockbackModifier("pearl-horizontal", false).getValue();
+        return values.pearlHorizontal;
     }
 
     @Override
     public double getPearlVertical() {
-        return (double) getKnockbackModifier("pearl-vertical", false).getValue();
+        return values.pearlVertical;
     }
 
     @Override
     public double getRodHorizontal() {
-        return (double) getKnockbackModifier("rod-horizontal", false).getValue();
+        return values.rodHorizontal;
     }
 
     @Override
     public double getRodVertical() {
-        return (double) getKnockbackModifier("rod-vertical", false).getValue();
+        return values.rodVertical;
     }
 
     @Override
     public double getSnowballHorizontal() {
-        return (double) getKnockbackModifier("snowball-horizontal", false).getValue();
+        return values.snowballHorizontal;
     }
 
     @Override
     public double getSnowballVertical() {
-        return (double) getKnockbackModifier("snowball-vertical", false).getValue();
+        return values.snowballVertical;
+    }
+
+    /**
+     * Typed copy of the modifiers, replaced as a whole by {@link VanillaKnockbackProfile#compile()}.
+     */
+    private static final class Values {
+
+        final double horizontal;
+        final double vertical;
+        final double friction;
+        final int noDamageTicks;
+        final double extraHorizontal;
+        final double extraVertical;
+        final double verticalLimit;
+        final double arrowHorizontal;
+        final double arrowVertical;
+        final double eggHorizontal;
+        final double eggVertical;
+        final double pearlHorizontal;
+        final double pearlVertical;
+        final double snowballHorizontal;
+        final double snowballVertical;
+        final double rodHorizontal;
+        final double rodVertical;
+
+        Values(VanillaKnockbackProfile profile) {
+            this.horizontal = profile.getDouble("horizontal");
+            this.vertical = profile.getDouble("vertical");
+            this.friction = profile.getDouble("friction");
+            this.noDamageTicks = profile.getInt("no-damage-ticks");
+            this.extraHorizontal = profile.getDouble("extra-horizontal");
+            this.extraVertical = profile.getDouble("extra-vertical");
+            this.verticalLimit = profile.getDouble("vertical-limit");
+            this.arrowHorizontal = profile.getDouble("arrow-horizontal");
+            this.arrowVertical = profile.getDouble("arrow-vertical");
+            this.eggHorizontal = profile.getDouble("egg-horizontal");
+            this.eggVertical = profile.getDouble("egg-vertical");
+            this.pearlHorizontal = profile.getDouble("pearl-horizontal");
+            this.pearlVertical = profile.getDouble("pearl-vertical");
+            this.snowballHorizontal = profile.getDouble("snowball-horizontal");
+            this.snowballVertical = profile.getDouble("snowball-vertical");
+            this.rodHorizontal = profile.getDouble("rod-horizontal");
+            this.rodVertical = profile.getDouble("rod-vertical");
+        }
     }
 }